@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares scoring hands one {@link Hand} object at a time with scoring a {@link HandBatch}
+ * with the scalar and the vectorized {@link BatchHandEvaluator}.
+ *
+ * Run with {@code java -jar benchmark/target/benchmarks.jar BatchHandEvaluatorBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@SuppressWarnings("checkstyle:magicnumber")
+public class BatchHandEvaluatorBenchmark {
+
+    /**
+     * The number of hands scored per benchmark invocation.
+     */
+    private static final int HANDS = 4096;
+
+    /**
+     * The hands, as objects.
+     */
+    private Hand[] hands;
+
+    /**
+     * The same hands, as a batch.
+     */
+    private HandBatch batch;
+
+    /**
+     * The evaluator that scores one hand at a time.
+     */
+    private BatchHandEvaluator scalar;
+
+    /**
+     * The fastest evaluator that the JVM supports.
+     */
+    private BatchHandEvaluator fastest;
+
+    /**
+     * Deals the hands.
+     */
+    @Setup
+    public void setUp() {
+        var random = new SplittableRandom(0L);
+        hands = new Hand[HANDS];
+        batch = new HandBatch(HANDS);
+        for (var i = 0; i < HANDS; i++) {
+            var deck = new LazyDeck(RandomSource.of(random));
+            var buffer = new HandBuffer();
+            buffer.add(deck.drawCode());
+            buffer.add(deck.drawCode());
+            while (!buffer.isBust() && buffer.bestScore() < 17) {
+                buffer.add(deck.drawCode());
+            }
+            hands[i] = buffer.toHand();
+            batch.add(buffer);
+        }
+
+        scalar = BatchHandEvaluator.scalar();
+        fastest = BatchHandEvaluator.fastest();
+    }
+
+    /**
+     * Scores every hand object.
+     *
+     * @param blackhole consumes the scores.
+     */
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public void handObjects(Blackhole blackhole) {
+        for (var hand : hands) {
+            blackhole.consume(hand.bestScore());
+            blackhole.consume(hand.isBust());
+            blackhole.consume(hand.isBlackjack());
+        }
+    }
+
+    /**
+     * Scores the batch one hand at a time.
+     *
+     * @return the scored batch.
+     */
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public HandBatch scalarBatch() {
+        scalar.evaluate(batch);
+        return batch;
+    }
+
+    /**
+     * Scores the batch with the fastest evaluator.
+     *
+     * @return the scored batch.
+     */
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public HandBatch vectorBatch() {
+        fastest.evaluate(batch);
+        return batch;
+    }
+}
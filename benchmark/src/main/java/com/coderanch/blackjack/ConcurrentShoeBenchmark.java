@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many cards per second seats draw from a single shared shoe: a lock-free {@link ConcurrentShoe},
+ * or a {@link Shoe} that is guarded by a lock.
+ *
+ * Run with {@code java -jar benchmark/target/benchmarks.jar ConcurrentShoeBenchmark -t <seats>}
+ * for increasing numbers of seat threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@SuppressWarnings("checkstyle:magicnumber")
+public class ConcurrentShoeBenchmark {
+
+    /**
+     * The lock-free shoe that all seats share.
+     */
+    private ConcurrentShoe concurrentShoe;
+
+    /**
+     * The locked shoe that all seats share.
+     */
+    private Shoe lockedShoe;
+
+    /**
+     * Prepares the shoes.
+     */
+    @Setup
+    public void setUp() {
+        concurrentShoe = new ConcurrentShoe(8, 0.75, RandomSource.of(new SplittableRandom(0L)));
+        lockedShoe = new Shoe(8, 0.75, RandomSource.of(new SplittableRandom(0L)));
+    }
+
+    /**
+     * Draws a card from the lock-free shoe.
+     *
+     * @return the code of the card.
+     */
+    @Benchmark
+    public int concurrentShoe() {
+        return concurrentShoe.drawCode();
+    }
+
+    /**
+     * Draws a card from the locked shoe.
+     *
+     * @return the code of the card.
+     */
+    @Benchmark
+    public int lockedShoe() {
+        synchronized (lockedShoe) {
+            return lockedShoe.drawCode();
+        }
+    }
+}
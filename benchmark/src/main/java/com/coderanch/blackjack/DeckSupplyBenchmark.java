@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the latency of starting a game with a shoe taken from a {@link DeckSupply}
+ * with the latency of shuffling a new {@link Shoe}.
+ *
+ * Taking from the supply is only fast while the producer keeps up, so the supply is refilled before every
+ * invocation, and each invocation takes a single shoe. The number of misses is printed after every iteration.
+ *
+ * Run with {@code java -jar benchmark/target/benchmarks.jar DeckSupplyBenchmark}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@SuppressWarnings("checkstyle:magicnumber")
+public class DeckSupplyBenchmark {
+
+    /**
+     * The number of standard decks in every shoe.
+     */
+    private static final int DECKS = 6;
+
+    /**
+     * The supply under test.
+     */
+    private DeckSupply supply;
+
+    /**
+     * The random number generator for shoes that are shuffled on demand.
+     */
+    private SplittableRandom random;
+
+    /**
+     * Starts the supply.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        supply = new DeckSupply(64, DECKS, 0L);
+        random = new SplittableRandom(0L);
+    }
+
+    /**
+     * Waits until the supply has shoes ready, so that invocations measure takes rather than the producer.
+     */
+    @Setup(Level.Invocation)
+    public void awaitShoe() {
+        while (supply.depth() == 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Reports the misses of the supply.
+     */
+    @TearDown(Level.Iteration)
+    public void report() {
+        System.out.printf(" [depth %d, stalls %d, misses %d]%n", supply.depth(), supply.stalls(), supply.misses());
+    }
+
+    /**
+     * Stops the supply.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        supply.close();
+    }
+
+    /**
+     * Takes a shuffled shoe from the supply.
+     *
+     * @return the shoe.
+     */
+    @Benchmark
+    public Shoe takeFromSupply() {
+        return supply.take();
+    }
+
+    /**
+     * Shuffles a new shoe on the calling thread.
+     *
+     * @return the shoe.
+     */
+    @Benchmark
+    public Shoe shuffleNewShoe() {
+        return new Shoe(DECKS, 1.0, RandomSource.of(random));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long the {@link ExpectedValueCalculator} takes to evaluate a hand dealt from full decks,
+ * starting from an empty cache.
+ *
+ * Run with {@code java -jar benchmark/target/benchmarks.jar ExpectedValueBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@SuppressWarnings("checkstyle:magicnumber")
+public class ExpectedValueBenchmark {
+
+    /**
+     * The number of decks the hand is dealt from.
+     */
+    @Param({"1", "8"})
+    private int numberOfDecks;
+
+    /**
+     * The calculator under test.
+     */
+    private ExpectedValueCalculator calculator;
+
+    /**
+     * The cards that can still be dealt.
+     */
+    private Composition remaining;
+
+    /**
+     * Prepares the calculator and the composition of the decks.
+     */
+    @Setup
+    public void setUp() {
+        calculator = new ExpectedValueCalculator();
+        remaining = Composition.ofDecks(numberOfDecks);
+    }
+
+    /**
+     * Evaluates a hand without cards, which explores every reachable hand.
+     *
+     * @return the evaluation.
+     */
+    @Benchmark
+    public ExpectedValueCalculator.Evaluation coldQuery() {
+        calculator.clearCache();
+        return calculator.evaluate(remaining, HandState.EMPTY);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures the throughput and latency of a {@link GameApi} over the loopback interface.
+ *
+ * A number of concurrent clients, each on its own virtual thread, play games for a fixed duration:
+ * every client starts a game, asks a hint, and passes, timing every request.
+ *
+ * Run with {@code java -cp benchmark/target/benchmarks.jar com.coderanch.blackjack.GameApiLoad
+ * [clients] [seconds] [maxSessions]}.
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+public final class GameApiLoad {
+
+    /**
+     * The number of requests that a client can record before its latency buffer grows.
+     */
+    private static final int INITIAL_LATENCIES = 1 << 12;
+
+    private GameApiLoad() { }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args the number of clients, the duration in seconds and the maximum number of games, all optional.
+     * @throws Exception if the load test failed.
+     */
+    public static void main(String[] args) throws Exception {
+        var clients = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        var seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        var maxSessions = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        // Without this, the server's small responses wait for delayed acknowledgements. See GameApi.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+
+        var address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        try (
+            var api = new GameApi(address, 0L, maxSessions, Duration.ofMinutes(1L));
+            var executor = Executors.newVirtualThreadPerTaskExecutor()
+        ) {
+            var base = URI.create("http://" + address.getAddress().getHostAddress() + ":" + api.port());
+            var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build();
+
+            // Warm up the server and the client before measuring.
+            play(client, base, System.nanoTime() + Duration.ofSeconds(1L).toNanos());
+
+            var start = System.nanoTime();
+            var deadline = start + Duration.ofSeconds(seconds).toNanos();
+            var futures = new ArrayList<Future<long[]>>();
+            for (var i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> play(client, base, deadline)));
+            }
+
+            var latencies = new long[0];
+            for (var future : futures) {
+                var measured = future.get();
+                var offset = latencies.length;
+                latencies = Arrays.copyOf(latencies, offset + measured.length);
+                System.arraycopy(measured, 0, latencies, offset, measured.length);
+            }
+            var elapsed = System.nanoTime() - start;
+
+            LatencyReport.print(latencies, elapsed);
+            var sessions = api.sessions();
+            System.out.printf(
+                "%d games in memory, %d evicted because the store was full, %d expired%n",
+                sessions.size(),
+                sessions.overflows(),
+                sessions.expirations());
+        }
+    }
+
+    /**
+     * Plays games until a deadline.
+     *
+     * @param client   the client to send requests with.
+     * @param base     the URI of the API.
+     * @param deadline the value of {@link System#nanoTime()} after which no new games are started.
+     * @return the latency of every request, in nanoseconds.
+     * @throws IOException          if a request failed.
+     * @throws InterruptedException if the thread was interrupted while waiting for a response.
+     */
+    private static long[] play(HttpClient client, URI base, long deadline) throws IOException, InterruptedException {
+        var latencies = new long[INITIAL_LATENCIES];
+        var count = 0;
+        while (System.nanoTime() < deadline) {
+            if (count + 3 > latencies.length) {
+                latencies = Arrays.copyOf(latencies, 2 * latencies.length);
+            }
+
+            var start = System.nanoTime();
+            var created = post(client, base.resolve("/games"));
+            latencies[count++] = System.nanoTime() - start;
+            if (!created.body().contains("\"IN_PROGRESS\"")) {
+                continue;
+            }
+
+            var game = base.resolve(created.headers().firstValue("Location").orElseThrow());
+            for (var decision : new String[] {"/hint", "/pass"}) {
+                start = System.nanoTime();
+                post(client, URI.create(game + decision));
+                latencies[count++] = System.nanoTime() - start;
+            }
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    /**
+     * Sends a {@code POST} request without a body.
+     *
+     * @param client the client to send the request with.
+     * @param uri    the URI to send the request to.
+     * @return the response.
+     * @throws IOException          if the request failed.
+     * @throws InterruptedException if the thread was interrupted while waiting for the response.
+     */
+    private static HttpResponse<String> post(HttpClient client, URI uri) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
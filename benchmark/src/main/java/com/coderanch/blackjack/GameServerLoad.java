@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures the response latency of a {@link GameServer} over the loopback interface
+ * while many sessions are connected at the same time.
+ *
+ * Every client thread owns an equal share of the connections, and asks a hint on each of them in turn,
+ * timing how long the server takes to respond. The first hint of every session is not measured,
+ * because it warms up the session's hint cache. Every session passes at the end.
+ *
+ * Run with {@code java -cp benchmark/target/benchmarks.jar com.coderanch.blackjack.GameServerLoad
+ * [connections] [clientThreads] [rounds] [eventLoops]}.
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+public final class GameServerLoad {
+
+    /**
+     * The size of the character buffer of every connection's reader.
+     */
+    private static final int READER_BUFFER_SIZE = 512;
+
+    /**
+     * The request that is timed.
+     */
+    private static final byte[] HINT = "hint\n".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The request that ends a game.
+     */
+    private static final byte[] PASS = "pass\n".getBytes(StandardCharsets.UTF_8);
+
+    private GameServerLoad() { }
+
+    /**
+     * A client connection to the server.
+     */
+    private static final class Client {
+
+        /**
+         * The socket of the connection.
+         */
+        private final Socket socket;
+
+        /**
+         * Reads the responses of the server.
+         */
+        private final BufferedReader reader;
+
+        /**
+         * Sends requests to the server.
+         */
+        private final OutputStream output;
+
+        /**
+         * Whether the game of the connection is still in progress.
+         */
+        private boolean playing;
+
+        /**
+         * Connects a new client.
+         *
+         * @param port the port of the server.
+         * @throws IOException if the client could not connect.
+         */
+        private Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setTcpNoDelay(true);
+            reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8),
+                READER_BUFFER_SIZE);
+            output = socket.getOutputStream();
+            playing = awaitResponse();
+        }
+
+        /**
+         * Sends a request and waits for the response.
+         *
+         * @param request the request to send.
+         * @return whether the game is still in progress.
+         * @throws IOException if the request could not be sent, or the response could not be read.
+         */
+        private boolean request(byte[] request) throws IOException {
+            output.write(request);
+            output.flush();
+            return awaitResponse();
+        }
+
+        /**
+         * Reads a response, up to and including the prompt, or up to the end of the stream.
+         *
+         * @return {@code true} if the response ended with the prompt; {@code false} otherwise.
+         * @throws IOException if the response could not be read.
+         */
+        private boolean awaitResponse() throws IOException {
+            for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.equals(MiniGame.PROMPT)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args the number of connections, client threads, rounds and event loops, all optional.
+     * @throws Exception if the load test failed.
+     */
+    public static void main(String[] args) throws Exception {
+        var connections = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        var clientThreads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        var rounds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        var eventLoops = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+
+        var address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(clientThreads);
+        try (var server = new GameServer(address, eventLoops, 0L)) {
+            var clients = new ArrayList<Client>();
+            for (var i = 0; i < connections; i++) {
+                clients.add(new Client(server.port()));
+            }
+            System.out.printf("%d sessions connected%n", server.activeConnections());
+
+            for (var client : clients) {
+                if (client.playing) {
+                    client.playing = client.request(HINT);
+                }
+            }
+
+            var start = System.nanoTime();
+            var futures = new ArrayList<Future<long[]>>();
+            for (var t = 0; t < clientThreads; t++) {
+                var share = clients.subList(t * connections / clientThreads, (t + 1) * connections / clientThreads);
+                futures.add(executor.submit(() -> measure(share, rounds)));
+            }
+
+            var latencies = new long[0];
+            for (var future : futures) {
+                var measured = future.get();
+                var offset = latencies.length;
+                latencies = Arrays.copyOf(latencies, offset + measured.length);
+                System.arraycopy(measured, 0, latencies, offset, measured.length);
+            }
+            var elapsed = System.nanoTime() - start;
+
+            for (var client : clients) {
+                if (client.playing) {
+                    client.request(PASS);
+                }
+                client.socket.close();
+            }
+
+            LatencyReport.print(latencies, elapsed);
+            System.out.printf("%d sessions completed%n", server.completedSessions());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Asks hints on a share of the connections, one connection at a time.
+     *
+     * @param clients the connections to ask hints on.
+     * @param rounds  the number of hints to ask on every connection.
+     * @return the latency of every hint, in nanoseconds.
+     * @throws IOException if a hint could not be asked.
+     */
+    private static long[] measure(List<Client> clients, int rounds) throws IOException {
+        var latencies = new long[clients.size() * rounds];
+        var count = 0;
+        for (var round = 0; round < rounds; round++) {
+            for (var client : clients) {
+                if (client.playing) {
+                    var start = System.nanoTime();
+                    client.playing = client.request(HINT);
+                    latencies[count++] = System.nanoTime() - start;
+                }
+            }
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Prints the throughput and latency percentiles of a load test.
+ */
+final class LatencyReport {
+
+    /**
+     * The percentiles that are printed.
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    /**
+     * The number of nanoseconds in a second.
+     */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * The number of nanoseconds in a microsecond.
+     */
+    private static final double NANOS_PER_MICRO = 1e3;
+
+    /**
+     * The factor that converts a percentage to a fraction.
+     */
+    private static final double PERCENT = 100.0;
+
+    private LatencyReport() { }
+
+    /**
+     * Prints the throughput and latency percentiles of the requests of a load test.
+     *
+     * @param latencies    the latency of every request, in nanoseconds. Is sorted by this method.
+     * @param elapsedNanos the time it took to make all requests.
+     */
+    static void print(long[] latencies, long elapsedNanos) {
+        if (latencies.length == 0) {
+            System.out.println("No requests were made.");
+            return;
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf(
+            Locale.ENGLISH,
+            "%d requests, %.0f requests/s%n",
+            latencies.length,
+            latencies.length * NANOS_PER_SECOND / elapsedNanos);
+        for (var percentile : PERCENTILES) {
+            var rank = (int) Math.ceil(percentile / PERCENT * latencies.length) - 1;
+            var latency = latencies[Math.max(0, Math.min(latencies.length - 1, rank))];
+            System.out.printf(Locale.ENGLISH, "p%-5s %8.1f us%n", percentile, latency / NANOS_PER_MICRO);
+        }
+        System.out.printf(Locale.ENGLISH, "max    %8.1f us%n", latencies[latencies.length - 1] / NANOS_PER_MICRO);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of shuffling a standard deck of cards
+ * using {@link Cards#getShuffledStandardDeck(Random)} against {@link Cards#shuffle(byte[], RandomSource)}.
+ *
+ * Run with {@code java -jar benchmark/target/benchmarks.jar ShuffleBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@SuppressWarnings("checkstyle:magicnumber")
+public class ShuffleBenchmark {
+
+    /**
+     * The synchronized generator used by the collection based shuffle.
+     */
+    private Random random;
+
+    /**
+     * A random source backed by the synchronized generator.
+     */
+    private RandomSource randomSource;
+
+    /**
+     * A random source backed by a non-synchronized generator.
+     */
+    private RandomSource splittableRandomSource;
+
+    /**
+     * The reusable buffer of card codes that is shuffled in place.
+     */
+    private byte[] codes;
+
+    /**
+     * Prepares the generators and the card buffer.
+     */
+    @Setup
+    public void setUp() {
+        random = new Random(0L);
+        randomSource = RandomSource.of(random);
+        splittableRandomSource = RandomSource.of(new SplittableRandom(0L));
+        codes = Cards.fillWithStandardDecks(new byte[CardCodes.DECK_SIZE]);
+    }
+
+    /**
+     * Shuffles a deck by copying it into collections.
+     *
+     * @return the shuffled deck.
+     */
+    @Benchmark
+    public Set<Card> shuffledStandardDeck() {
+        return Cards.getShuffledStandardDeck(random);
+    }
+
+    /**
+     * Shuffles a reusable buffer in place using the synchronized generator.
+     *
+     * @return the shuffled buffer.
+     */
+    @Benchmark
+    public byte[] inPlaceWithRandom() {
+        Cards.shuffle(codes, randomSource);
+        return codes;
+    }
+
+    /**
+     * Shuffles a reusable buffer in place using the non-synchronized generator.
+     *
+     * @return the shuffled buffer.
+     */
+    @Benchmark
+    public byte[] inPlaceWithSplittableRandom() {
+        Cards.shuffle(codes, splittableRandomSource);
+        return codes;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many games per second the {@link Simulator} plays on a single thread,
+ * and the {@link ParallelSimulator} plays on all threads of the common pool.
+ *
+ * Run with {@code java -jar benchmark/target/benchmarks.jar SimulatorBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@SuppressWarnings("checkstyle:magicnumber")
+public class SimulatorBenchmark {
+
+    /**
+     * The number of games played per benchmark invocation.
+     */
+    private static final int GAMES = 10_000;
+
+    /**
+     * The number of games played per parallel benchmark invocation, which spans many blocks.
+     */
+    private static final int PARALLEL_GAMES = 1 << 22;
+
+    /**
+     * The simulator under test.
+     */
+    private Simulator simulator;
+
+    /**
+     * The parallel simulator under test.
+     */
+    private ParallelSimulator parallelSimulator;
+
+    /**
+     * Prepares the simulator.
+     */
+    @Setup
+    public void setUp() {
+        simulator = new Simulator(Strategy.passOn(17), RandomSource.of(new SplittableRandom(0L)));
+        parallelSimulator = new ParallelSimulator(Strategy.passOn(17), 0L);
+    }
+
+    /**
+     * Plays a block of games.
+     *
+     * @return the outcomes of the games.
+     */
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public SimulationStatistics games() {
+        return simulator.run(GAMES);
+    }
+
+    /**
+     * Plays many blocks of games on the common pool.
+     *
+     * @return the merged outcomes of the games.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PARALLEL_GAMES)
+    public SimulationStatistics parallelGames() {
+        return parallelSimulator.run(PARALLEL_GAMES);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+/**
+ * Scores all hands of a {@link HandBatch} at once.
+ *
+ * Implementations write the best score, bust flag and blackjack flag of every hand in the batch
+ * to its output arrays, with the same results as {@link Hand#bestScore()}, {@link Hand#isBust()}
+ * and {@link Hand#isBlackjack()}.
+ */
+interface BatchHandEvaluator {
+
+    /**
+     * Scores every hand in a batch.
+     *
+     * @param batch the batch to score.
+     * @throws IllegalArgumentException if {@code batch} is {@code null}.
+     */
+    void evaluate(HandBatch batch);
+
+    /**
+     * Gets an evaluator that scores one hand at a time.
+     *
+     * @return an evaluator that works on every JVM.
+     */
+    static BatchHandEvaluator scalar() {
+        return ScalarBatchHandEvaluator.INSTANCE;
+    }
+
+    /**
+     * Gets the fastest evaluator that the JVM supports. This is an evaluator that scores many hands with a single
+     * instruction if the incubating {@code jdk.incubator.vector} module was added to the JVM,
+     * and the {@linkplain #scalar() scalar} evaluator otherwise.
+     *
+     * @return the fastest available evaluator.
+     */
+    static BatchHandEvaluator fastest() {
+        // The vectorized evaluator can only be loaded if the module is present, so don't refer to it otherwise.
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            ? VectorBatchHandEvaluator.INSTANCE
+            : ScalarBatchHandEvaluator.INSTANCE;
+    }
+}
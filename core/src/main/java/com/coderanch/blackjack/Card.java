@@ -7,10 +7,6 @@
  */
 package com.coderanch.blackjack;
 
-import java.util.*;
-
-import static java.util.Comparator.comparing;
-
 import static com.coderanch.util.require.Require.requireThat;
 
 import static org.hamcrest.Matchers.is;
@@ -18,6 +14,8 @@ import static org.hamcrest.Matchers.notNullValue;
 
 /**
  * A playing card used in a game of Blackjack.
+ *
+ * There is exactly one instance of each distinct card, which can be obtained using {@link #of(Rank, Suit)}.
  */
 final class Card implements Comparable<Card> {
 
@@ -70,6 +68,20 @@ final class Card implements Comparable<Card> {
         SPADES, HEARTS, CLUBS, DIAMONDS
     }
 
+    /**
+     * All distinct cards, indexed by their {@linkplain CardCodes card code}.
+     */
+    private static final Card[] CARDS = new Card[CardCodes.DECK_SIZE];
+
+    static {
+        for (var rank : Rank.values()) {
+            for (var suit : Suit.values()) {
+                var card = new Card(rank, suit);
+                CARDS[card.code] = card;
+            }
+        }
+    }
+
     /**
      * The rank of this card.
      */
@@ -80,17 +92,52 @@ final class Card implements Comparable<Card> {
      */
     private final Suit suit;
 
+    /**
+     * The {@linkplain CardCodes card code} of this card.
+     */
+    private final int code;
+
     /**
      * Constructs a card with a specified rank and suit.
      *
      * @param rank the rank of the new card.
      * @param suit the suit of the new card.
+     */
+    private Card(Rank rank, Suit suit) {
+        this.rank = rank;
+        this.suit = suit;
+        this.code = CardCodes.encode(rank, suit);
+    }
+
+    /**
+     * Gets the card with a specified rank and suit.
+     *
+     * @param rank the rank of the card.
+     * @param suit the suit of the card.
+     *
+     * @return the unique instance of the card with the given rank and suit.
      *
      * @throws IllegalArgumentException if either {@code rank} or {@code suit} is {@code null}.
      */
-    Card(Rank rank, Suit suit) {
-        this.rank = requireThat("rank", rank, is(notNullValue()));
-        this.suit = requireThat("suit", suit, is(notNullValue()));
+    static Card of(Rank rank, Suit suit) {
+        if (rank == null || suit == null) {
+            requireThat("rank", rank, is(notNullValue()));
+            requireThat("suit", suit, is(notNullValue()));
+        }
+        return CARDS[CardCodes.encode(rank, suit)];
+    }
+
+    /**
+     * Gets the card with a specified card code.
+     *
+     * @param code the {@linkplain CardCodes card code} of the card.
+     *
+     * @return the unique instance of the card with the given code.
+     *
+     * @throws IllegalArgumentException if {@code code} is not a valid card code.
+     */
+    static Card fromCode(int code) {
+        return CARDS[CardCodes.requireValid(code)];
     }
 
     /**
@@ -111,6 +158,15 @@ final class Card implements Comparable<Card> {
         return this.suit;
     }
 
+    /**
+     * Gets the primitive code of this card.
+     *
+     * @return the {@linkplain CardCodes card code} of this card.
+     */
+    int code() {
+        return this.code;
+    }
+
     /**
      * Compares this card to another card.
      *
@@ -122,13 +178,14 @@ final class Card implements Comparable<Card> {
      */
     @Override
     public int compareTo(Card other) {
-        return comparing(Card::rank).thenComparing(Card::suit).compare(this, other);
+        return Integer.compare(this.code, other.code);
     }
 
     /**
      * Compares this card to another object for equality.
      *
      * Cards are considered equal if they have the same rank and suit.
+     * Because every distinct card has exactly one instance, this is the same as identity.
      *
      * @param object {@inheritDoc}
      *
@@ -136,7 +193,7 @@ final class Card implements Comparable<Card> {
      */
     @Override
     public boolean equals(Object object) {
-        return object instanceof Card && this.compareTo((Card) object) == 0;
+        return this == object;
     }
 
     /**
@@ -144,7 +201,7 @@ final class Card implements Comparable<Card> {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(rank, suit);
+        return this.code;
     }
 
     /**
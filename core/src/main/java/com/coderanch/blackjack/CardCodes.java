@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import com.coderanch.blackjack.Card.Rank;
+import com.coderanch.blackjack.Card.Suit;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Utility class for encoding playing cards as primitive integers.
+ *
+ * A card code is a number from {@code 0} (inclusive) to {@link #DECK_SIZE} (exclusive),
+ * computed as {@code rank.ordinal() * SUIT_COUNT + suit.ordinal()}.
+ * Card codes therefore sort in the same order as {@linkplain Card#compareTo(Card) cards} do,
+ * and the rank and suit of a code can be extracted using arithmetic alone.
+ */
+final class CardCodes {
+
+    /**
+     * The number of distinct card suits.
+     */
+    static final int SUIT_COUNT = Suit.values().length;
+
+    /**
+     * The number of distinct card ranks.
+     */
+    static final int RANK_COUNT = Rank.values().length;
+
+    /**
+     * The number of distinct cards, which is also the exclusive upper bound of a card code.
+     */
+    static final int DECK_SIZE = RANK_COUNT * SUIT_COUNT;
+
+    /**
+     * All ranks, indexed by their ordinal.
+     */
+    private static final Rank[] RANKS = Rank.values();
+
+    /**
+     * All suits, indexed by their ordinal.
+     */
+    private static final Suit[] SUITS = Suit.values();
+
+    /**
+     * The points of each rank, indexed by the rank's ordinal.
+     */
+    private static final int[] POINTS = new int[RANK_COUNT];
+
+    static {
+        for (var rank : RANKS) {
+            POINTS[rank.ordinal()] = rank.points();
+        }
+    }
+
+    private CardCodes() { }
+
+    /**
+     * Encodes a rank and suit as a card code.
+     *
+     * @param rank the rank of the card.
+     * @param suit the suit of the card.
+     * @return the code of the card with the given rank and suit.
+     * @throws NullPointerException if either {@code rank} or {@code suit} is {@code null}.
+     */
+    static int encode(Rank rank, Suit suit) {
+        return rank.ordinal() * SUIT_COUNT + suit.ordinal();
+    }
+
+    /**
+     * Gets the ordinal of the rank of a card code.
+     *
+     * @param code a valid card code.
+     * @return the ordinal of the rank of the card.
+     */
+    static int rankOrdinal(int code) {
+        return code / SUIT_COUNT;
+    }
+
+    /**
+     * Gets the ordinal of the suit of a card code.
+     *
+     * @param code a valid card code.
+     * @return the ordinal of the suit of the card.
+     */
+    static int suitOrdinal(int code) {
+        return code % SUIT_COUNT;
+    }
+
+    /**
+     * Gets the rank of a card code.
+     *
+     * @param code the card code.
+     * @return the rank of the card; never {@code null}.
+     * @throws IllegalArgumentException if {@code code} is not a valid card code.
+     */
+    static Rank rank(int code) {
+        return RANKS[rankOrdinal(requireValid(code))];
+    }
+
+    /**
+     * Gets the suit of a card code.
+     *
+     * @param code the card code.
+     * @return the suit of the card; never {@code null}.
+     * @throws IllegalArgumentException if {@code code} is not a valid card code.
+     */
+    static Suit suit(int code) {
+        return SUITS[suitOrdinal(requireValid(code))];
+    }
+
+    /**
+     * Gets the points value of a card code.
+     * Aces are worth their large point value.
+     *
+     * @param code a valid card code.
+     * @return the points the rank of the card is worth.
+     */
+    static int points(int code) {
+        return POINTS[rankOrdinal(code)];
+    }
+
+    /**
+     * Gets whether a card code represents an ace.
+     *
+     * @param code a valid card code.
+     * @return {@code true} if the card is an ace; {@code false} otherwise.
+     */
+    static boolean isAce(int code) {
+        return rankOrdinal(code) == Rank.ACE.ordinal();
+    }
+
+    /**
+     * Gets whether an integer is a valid card code.
+     *
+     * @param code the integer to check.
+     * @return {@code true} if {@code code} is between {@code 0} (inclusive) and {@link #DECK_SIZE} (exclusive);
+     *         {@code false} otherwise.
+     */
+    static boolean isValid(int code) {
+        return code >= 0 && code < DECK_SIZE;
+    }
+
+    /**
+     * Converts a card code to a card.
+     *
+     * @param code the card code.
+     * @return the card represented by {@code code}; never {@code null}.
+     * @throws IllegalArgumentException if {@code code} is not a valid card code.
+     */
+    static Card toCard(int code) {
+        return Card.fromCode(code);
+    }
+
+    /**
+     * Requires that an integer is a valid card code.
+     *
+     * @param code the integer to check.
+     * @return {@code code}.
+     * @throws IllegalArgumentException if {@code code} is not a valid card code.
+     */
+    static int requireValid(int code) {
+        if (!isValid(code)) {
+            requireThat("code", code, is(both(greaterThanOrEqualTo(0)).and(lessThan(DECK_SIZE))));
+        }
+        return code;
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.*;
+
+import static java.util.Collections.unmodifiableSet;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * A mutable set of distinct playing cards, stored as a bitmask of {@linkplain CardCodes card codes}.
+ *
+ * All operations on single cards, as well as {@link #size()}, run in constant time.
+ */
+final class CardSet {
+
+    /**
+     * The bitmask that contains every card.
+     */
+    private static final long FULL_DECK_BITS = -1L >>> (Long.SIZE - CardCodes.DECK_SIZE);
+
+    /**
+     * The bitmask of this set. Bit {@code n} is set if the card with code {@code n} is in this set.
+     */
+    private long bits;
+
+    /**
+     * Constructs a card set from a bitmask.
+     *
+     * @param bits the bitmask of the new set.
+     */
+    private CardSet(long bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Creates a new empty card set.
+     *
+     * @return a new set that contains no cards.
+     */
+    static CardSet empty() {
+        return new CardSet(0L);
+    }
+
+    /**
+     * Creates a new card set that contains a standard deck of cards.
+     *
+     * @return a new set that contains every card in {@link Cards#getStandardDeck()}.
+     */
+    static CardSet fullDeck() {
+        return new CardSet(FULL_DECK_BITS);
+    }
+
+    /**
+     * Creates a new card set that contains the given cards.
+     *
+     * @param cards the cards to add to the new set.
+     * @return a new set that contains all distinct cards in {@code cards}.
+     * @throws IllegalArgumentException if {@code cards} is {@code null} or contains {@code null}.
+     */
+    static CardSet of(Collection<Card> cards) {
+        requireThat("cards", cards, is(notNullValue()));
+
+        var cardSet = empty();
+        for (var card : cards) {
+            cardSet.add(card);
+        }
+        return cardSet;
+    }
+
+    /**
+     * Creates a new card set from a bitmask.
+     *
+     * @param bits a bitmask in which bit {@code n} is set if the card with code {@code n} is in the set.
+     * @return a new set that contains the cards encoded in {@code bits}.
+     * @throws IllegalArgumentException if {@code bits} has bits set that don't represent a card code.
+     */
+    static CardSet fromBits(long bits) {
+        requireThat("bits", bits & ~FULL_DECK_BITS, is(0L));
+        return new CardSet(bits);
+    }
+
+    /**
+     * Gets the bitmask of this set.
+     *
+     * @return a bitmask in which bit {@code n} is set if the card with code {@code n} is in this set.
+     */
+    long bits() {
+        return bits;
+    }
+
+    /**
+     * Adds a card to this set.
+     *
+     * @param code the code of the card to add.
+     * @return {@code true} if the card was not already in this set; {@code false} otherwise.
+     * @throws IllegalArgumentException if {@code code} is not a valid card code.
+     */
+    boolean add(int code) {
+        var previous = bits;
+        bits |= 1L << CardCodes.requireValid(code);
+        return bits != previous;
+    }
+
+    /**
+     * Adds a card to this set.
+     *
+     * @param card the card to add.
+     * @return {@code true} if the card was not already in this set; {@code false} otherwise.
+     * @throws IllegalArgumentException if {@code card} is {@code null}.
+     */
+    boolean add(Card card) {
+        return add(requireThat("card", card, is(notNullValue())).code());
+    }
+
+    /**
+     * Removes a card from this set.
+     *
+     * @param code the code of the card to remove.
+     * @return {@code true} if the card was in this set; {@code false} otherwise.
+     * @throws IllegalArgumentException if {@code code} is not a valid card code.
+     */
+    boolean remove(int code) {
+        var previous = bits;
+        bits &= ~(1L << CardCodes.requireValid(code));
+        return bits != previous;
+    }
+
+    /**
+     * Removes a card from this set.
+     *
+     * @param card the card to remove.
+     * @return {@code true} if the card was in this set; {@code false} otherwise.
+     * @throws IllegalArgumentException if {@code card} is {@code null}.
+     */
+    boolean remove(Card card) {
+        return remove(requireThat("card", card, is(notNullValue())).code());
+    }
+
+    /**
+     * Gets whether this set contains a card.
+     *
+     * @param code the code of the card to look for.
+     * @return {@code true} if the card is in this set; {@code false} otherwise.
+     * @throws IllegalArgumentException if {@code code} is not a valid card code.
+     */
+    boolean contains(int code) {
+        return (bits & (1L << CardCodes.requireValid(code))) != 0;
+    }
+
+    /**
+     * Gets whether this set contains a card.
+     *
+     * @param card the card to look for.
+     * @return {@code true} if the card is in this set; {@code false} otherwise.
+     * @throws IllegalArgumentException if {@code card} is {@code null}.
+     */
+    boolean contains(Card card) {
+        return contains(requireThat("card", card, is(notNullValue())).code());
+    }
+
+    /**
+     * Gets the number of cards in this set.
+     *
+     * @return the number of cards in this set.
+     */
+    int size() {
+        return Long.bitCount(bits);
+    }
+
+    /**
+     * Gets whether this set contains no cards.
+     *
+     * @return {@code true} if this set is empty; {@code false} otherwise.
+     */
+    boolean isEmpty() {
+        return bits == 0L;
+    }
+
+    /**
+     * Removes all cards from this set.
+     */
+    void clear() {
+        bits = 0L;
+    }
+
+    /**
+     * Gets the lowest card code in this set that is greater than or equal to a given code.
+     * All codes in this set can be visited with
+     * {@code for (int c = set.nextCode(0); c >= 0; c = set.nextCode(c + 1))}.
+     *
+     * @param fromCode the code to start searching from.
+     * @return the lowest code in this set that is at least {@code fromCode},
+     *         or {@code -1} if there is no such code.
+     */
+    int nextCode(int fromCode) {
+        if (fromCode >= CardCodes.DECK_SIZE) {
+            return -1;
+        }
+        var remaining = bits & (-1L << Math.max(fromCode, 0));
+        return remaining == 0L ? -1 : Long.numberOfTrailingZeros(remaining);
+    }
+
+    /**
+     * Converts this set to a set of cards.
+     *
+     * @return an unmodifiable set containing the cards in this set, ordered by their natural order.
+     */
+    Set<Card> toSet() {
+        var cards = new LinkedHashSet<Card>(size());
+        for (var code = nextCode(0); code >= 0; code = nextCode(code + 1)) {
+            cards.add(CardCodes.toCard(code));
+        }
+        return unmodifiableSet(cards);
+    }
+
+    /**
+     * Compares this card set to another object for equality.
+     *
+     * Card sets are considered equal if they contain the same cards.
+     *
+     * @param object {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof CardSet && ((CardSet) object).bits == this.bits;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(bits);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return toSet().toString();
+    }
+}
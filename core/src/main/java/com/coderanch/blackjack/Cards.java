@@ -15,6 +15,11 @@ import com.coderanch.blackjack.Card.Suit;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.stream.Collectors.toCollection;
 
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
 /**
  * Utility class containing useful operations related to playing cards.
  */
@@ -36,7 +41,7 @@ final class Cards {
     private static final Set<Card> STANDARD_DECK = unmodifiableSet(
         RANKS.stream().flatMap(
             rank -> SUITS.stream().map(
-                suit -> new Card(rank, suit)
+                suit -> Card.of(rank, suit)
             )
         ).collect(toCollection(() -> new LinkedHashSet<>(RANKS.size() * SUITS.size())))
     );
@@ -78,10 +83,73 @@ final class Cards {
      * @return an unmodifiable set containing all distinct cards that can be made
      *         using a combination of a {@link Rank} and a {@link Suit}.
      *         The cards will be shuffled with a distribution that depends on the properties of {@code generator}.
+     * @see #shuffle(byte[], RandomSource)
      */
     static Set<Card> getShuffledStandardDeck(Random generator) {
         var cards = new ArrayList<>(getStandardDeck());
         Collections.shuffle(cards, generator);
         return unmodifiableSet(new LinkedHashSet<>(cards));
     }
+
+    /**
+     * Fills an array with the {@linkplain CardCodes card codes} of as many standard decks as fit in it.
+     * Element {@code i} is set to {@code i % CardCodes.DECK_SIZE}.
+     *
+     * @param codes the array to fill.
+     * @return {@code codes}.
+     * @throws IllegalArgumentException if {@code codes} is {@code null}.
+     */
+    static byte[] fillWithStandardDecks(byte[] codes) {
+        requireThat("codes", codes, is(notNullValue()));
+
+        for (var i = 0; i < codes.length; i++) {
+            codes[i] = (byte) (i % CardCodes.DECK_SIZE);
+        }
+        return codes;
+    }
+
+    /**
+     * Counts the card codes in a range of an array by rank.
+     *
+     * @param codes      the card codes.
+     * @param from       the index of the first card code to count.
+     * @param to         the index after the last card code to count.
+     * @param rankCounts receives the number of card codes of every rank, indexed by the ordinal of the rank.
+     * @throws IllegalArgumentException if {@code codes} or {@code rankCounts} is {@code null},
+     *                                  or if {@code rankCounts} doesn't have an element for every rank.
+     */
+    static void countRanks(byte[] codes, int from, int to, int[] rankCounts) {
+        requireThat("codes", codes, is(notNullValue()));
+        requireThat("rankCounts", rankCounts, is(notNullValue()));
+        requireThat("rankCounts.length", rankCounts.length, is(CardCodes.RANK_COUNT));
+
+        Arrays.fill(rankCounts, 0);
+        for (var i = from; i < to; i++) {
+            rankCounts[CardCodes.rankOrdinal(codes[i])]++;
+        }
+    }
+
+    /**
+     * Shuffles an array of card codes in place, using the Fisher-Yates algorithm.
+     *
+     * Unlike {@link #getShuffledStandardDeck(Random)}, this method doesn't allocate,
+     * so the same array can be reshuffled as often as needed.
+     *
+     * @param codes     the card codes to shuffle.
+     * @param generator a random number generator that is used to shuffle the cards.
+     * @throws IllegalArgumentException if either {@code codes} or {@code generator} is {@code null}.
+     */
+    static void shuffle(byte[] codes, RandomSource generator) {
+        if (codes == null || generator == null) {
+            requireThat("codes", codes, is(notNullValue()));
+            requireThat("generator", generator, is(notNullValue()));
+        }
+
+        for (var i = codes.length - 1; i > 0; i--) {
+            var j = generator.nextInt(i + 1);
+            var code = codes[i];
+            codes[i] = codes[j];
+            codes[j] = code;
+        }
+    }
 }
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Iterates over every subset of a given size of the cards of a standard deck, without allocating.
+ *
+ * Subsets hold {@linkplain CardCodes card codes} in ascending order, and are visited in colexicographic order:
+ * a subset comes before another if its highest card is lower, or if its highest cards are equal and
+ * the rest of the subset comes first. The position of a subset in this order is its <em>rank</em>,
+ * which is the sum of {@code C(code[i], i + 1)}. Because a subset can be computed from its rank,
+ * the iteration can be {@linkplain #split(int) split} into independent ranges, to be consumed in parallel.
+ *
+ * The current subset is kept in a single reusable buffer, so advancing to the next subset doesn't allocate.
+ * Instances are not thread-safe.
+ */
+final class CombinationIterator {
+
+    /**
+     * The binomial coefficients {@code C(n, k)} for every {@code n} and {@code k} up to the size of a deck.
+     */
+    private static final long[][] BINOMIALS = new long[CardCodes.DECK_SIZE + 1][CardCodes.DECK_SIZE + 1];
+
+    static {
+        for (var n = 0; n <= CardCodes.DECK_SIZE; n++) {
+            BINOMIALS[n][0] = 1;
+            for (var k = 1; k <= n; k++) {
+                BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + BINOMIALS[n - 1][k];
+            }
+        }
+    }
+
+    /**
+     * The codes of the current subset, in ascending order.
+     */
+    private final int[] codes;
+
+    /**
+     * The rank of the first subset of the range.
+     */
+    private final long fromRank;
+
+    /**
+     * The rank after the last subset of the range.
+     */
+    private final long toRank;
+
+    /**
+     * The rank of the current subset, or {@code fromRank - 1} before the first call to {@link #next()}.
+     */
+    private long rank;
+
+    /**
+     * Constructs an iterator over every subset of a given size.
+     *
+     * @param size the number of cards in every subset.
+     * @throws IllegalArgumentException if {@code size} is not between 1 and the size of a deck.
+     */
+    CombinationIterator(int size) {
+        this(size, 0, count(size));
+    }
+
+    /**
+     * Constructs an iterator over a range of the subsets of a given size.
+     *
+     * @param size     the number of cards in every subset.
+     * @param fromRank the rank of the first subset to visit.
+     * @param toRank   the rank after the last subset to visit.
+     * @throws IllegalArgumentException if {@code size} is not between 1 and the size of a deck,
+     *                                  or the ranks don't form a range of subsets of that size.
+     */
+    CombinationIterator(int size, long fromRank, long toRank) {
+        requireThat("size", size, is(both(greaterThan(0)).and(lessThanOrEqualTo(CardCodes.DECK_SIZE))));
+        requireThat("fromRank", fromRank, is(greaterThanOrEqualTo(0L)));
+        requireThat("toRank", toRank, is(both(greaterThanOrEqualTo(fromRank)).and(lessThanOrEqualTo(count(size)))));
+
+        this.codes = new int[size];
+        this.fromRank = fromRank;
+        this.toRank = toRank;
+        this.rank = fromRank - 1;
+    }
+
+    /**
+     * Gets the number of subsets of a given size.
+     *
+     * @param size the number of cards in every subset.
+     * @return the number of ways to choose {@code size} cards from a deck.
+     * @throws IllegalArgumentException if {@code size} is not between 0 and the size of a deck.
+     */
+    static long count(int size) {
+        requireThat("size", size, is(both(greaterThanOrEqualTo(0)).and(lessThanOrEqualTo(CardCodes.DECK_SIZE))));
+        return BINOMIALS[CardCodes.DECK_SIZE][size];
+    }
+
+    /**
+     * Gets the rank of a subset.
+     *
+     * @param codes the codes of the subset, in ascending order.
+     * @return the position of the subset in colexicographic order.
+     * @throws IllegalArgumentException if {@code codes} is {@code null}.
+     */
+    static long rankOf(int[] codes) {
+        requireThat("codes", codes, is(notNullValue()));
+
+        var result = 0L;
+        for (var i = 0; i < codes.length; i++) {
+            result += BINOMIALS[codes[i]][i + 1];
+        }
+        return result;
+    }
+
+    /**
+     * Computes the subset with a given rank.
+     *
+     * @param rank  the rank of the subset.
+     * @param codes receives the codes of the subset, in ascending order. Its length is the size of the subset.
+     */
+    private static void unrank(long rank, int[] codes) {
+        var remainder = rank;
+        var code = CardCodes.DECK_SIZE - 1;
+        for (var i = codes.length - 1; i >= 0; i--) {
+            while (BINOMIALS[code][i + 1] > remainder) {
+                code--;
+            }
+            codes[i] = code;
+            remainder -= BINOMIALS[code][i + 1];
+            code--;
+        }
+    }
+
+    /**
+     * Splits the range of this iterator into independent iterators over consecutive ranges.
+     * This iterator is not affected.
+     *
+     * @param parts the number of parts to split into.
+     * @return iterators that together visit the same subsets as this iterator, in the same order.
+     * @throws IllegalArgumentException if {@code parts} is not positive.
+     */
+    List<CombinationIterator> split(int parts) {
+        requireThat("parts", parts, is(greaterThan(0)));
+
+        var result = new ArrayList<CombinationIterator>(parts);
+        var length = toRank - fromRank;
+        for (var part = 0; part < parts; part++) {
+            result.add(new CombinationIterator(
+                codes.length,
+                fromRank + length * part / parts,
+                fromRank + length * (part + 1) / parts));
+        }
+        return result;
+    }
+
+    /**
+     * Advances to the next subset.
+     *
+     * @return {@code true} if there is a current subset; {@code false} if the range is exhausted.
+     */
+    boolean next() {
+        if (rank + 1 >= toRank) {
+            rank = toRank;
+            return false;
+        }
+
+        if (rank < fromRank) {
+            unrank(fromRank, codes);
+        }
+        else {
+            // Increment the lowest code that can be incremented, and reset the codes below it.
+            var i = 0;
+            while (i + 1 < codes.length && codes[i] + 1 == codes[i + 1]) {
+                codes[i] = i;
+                i++;
+            }
+            codes[i]++;
+        }
+        rank++;
+        return true;
+    }
+
+    /**
+     * Gets the number of cards in every subset.
+     *
+     * @return the size of the subsets.
+     */
+    int size() {
+        return codes.length;
+    }
+
+    /**
+     * Gets a card of the current subset.
+     *
+     * @param index the index of the card; the cards are in ascending order of their codes.
+     * @return the {@linkplain CardCodes card code} of the card.
+     */
+    int code(int index) {
+        return codes[index];
+    }
+
+    /**
+     * Gets the rank of the current subset.
+     *
+     * @return the position of the current subset in colexicographic order.
+     */
+    long rank() {
+        return rank;
+    }
+
+    /**
+     * Gets the current subset as a bitmask, as used by {@link CardSet#fromBits(long)}.
+     * Colexicographic order is the same as ascending order of these bitmasks.
+     *
+     * @return a bitmask in which bit {@code n} is set if the card with code {@code n} is in the current subset.
+     */
+    long bits() {
+        var result = 0L;
+        for (var code : codes) {
+            result |= 1L << code;
+        }
+        return result;
+    }
+}
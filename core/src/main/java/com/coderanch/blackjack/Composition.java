@@ -0,0 +1,297 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.Arrays;
+
+import com.coderanch.blackjack.Card.Rank;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * The number of cards of every point value that are left in one or more decks of cards.
+ *
+ * Suits and the ranks of ten-valued cards don't matter for scoring, so cards are counted in {@link #SLOT_COUNT} slots:
+ * one for each rank from ace to nine, and one for all ten-valued ranks. The slot of a rank from ace to ten equals the
+ * ordinal of the rank, so a slot can be passed to {@link HandState#next(int, int)} as a rank ordinal.
+ *
+ * Every composition of up to {@link #MAX_DECKS} decks has a unique {@linkplain #key() key}, which is kept up to date
+ * in constant time as cards are added and removed.
+ */
+final class Composition {
+
+    /**
+     * The number of slots that cards are counted in.
+     */
+    static final int SLOT_COUNT = Rank.TEN.ordinal() + 1;
+
+    /**
+     * The slot of all ten-valued cards.
+     */
+    static final int TEN_SLOT = Rank.TEN.ordinal();
+
+    /**
+     * The highest number of decks whose compositions have unique keys.
+     */
+    static final int MAX_DECKS = 8;
+
+    /**
+     * The number of ten-valued ranks.
+     */
+    private static final int TEN_VALUED_RANKS = CardCodes.RANK_COUNT - TEN_SLOT;
+
+    /**
+     * The weight of every slot in the key. The key is a mixed radix number with one digit per slot,
+     * where the radix of a digit is one more than the highest count of its slot.
+     */
+    private static final long[] WEIGHTS = new long[SLOT_COUNT];
+
+    /**
+     * One more than the highest key of any composition.
+     */
+    static final long KEY_RANGE;
+
+    static {
+        var weight = 1L;
+        for (var slot = SLOT_COUNT - 1; slot >= 0; slot--) {
+            WEIGHTS[slot] = weight;
+            weight *= maxCount(slot, MAX_DECKS) + 1;
+        }
+        KEY_RANGE = weight;
+    }
+
+    /**
+     * The number of cards in every slot.
+     */
+    private final int[] counts;
+
+    /**
+     * The total number of cards.
+     */
+    private int total;
+
+    /**
+     * The key of this composition.
+     */
+    private long key;
+
+    /**
+     * Constructs a composition.
+     *
+     * @param counts the number of cards in every slot.
+     * @param total  the total number of cards.
+     * @param key    the key of the composition.
+     */
+    private Composition(int[] counts, int total, long key) {
+        this.counts = counts;
+        this.total = total;
+        this.key = key;
+    }
+
+    /**
+     * Creates a new composition without cards.
+     *
+     * @return a new empty composition.
+     */
+    static Composition empty() {
+        return new Composition(new int[SLOT_COUNT], 0, 0L);
+    }
+
+    /**
+     * Creates a new composition of full decks of cards.
+     *
+     * @param numberOfDecks the number of standard decks.
+     * @return a new composition that contains every card of {@code numberOfDecks} standard decks.
+     * @throws IllegalArgumentException if {@code numberOfDecks} is not between 1 and {@link #MAX_DECKS}.
+     */
+    static Composition ofDecks(int numberOfDecks) {
+        requireThat("numberOfDecks", numberOfDecks, is(both(greaterThan(0)).and(lessThanOrEqualTo(MAX_DECKS))));
+
+        var composition = empty();
+        for (var slot = 0; slot < SLOT_COUNT; slot++) {
+            var count = maxCount(slot, numberOfDecks);
+            composition.counts[slot] = count;
+            composition.total += count;
+            composition.key += count * WEIGHTS[slot];
+        }
+        return composition;
+    }
+
+    /**
+     * Creates a new composition of cards that were counted by rank.
+     *
+     * @param rankCounts the number of cards of every rank, indexed by the ordinal of the rank.
+     * @return a new composition of the cards, or {@code null} if it would hold more cards of a slot
+     *         than {@link #MAX_DECKS} decks contain.
+     * @throws IllegalArgumentException if {@code rankCounts} is {@code null}, doesn't have an element for every rank,
+     *                                  or holds a negative count.
+     */
+    static Composition ofRankCounts(int[] rankCounts) {
+        requireThat("rankCounts", rankCounts, is(notNullValue()));
+        requireThat("rankCounts.length", rankCounts.length, is(CardCodes.RANK_COUNT));
+
+        var composition = empty();
+        for (var rank = 0; rank < rankCounts.length; rank++) {
+            var count = requireThat("rankCounts[" + rank + "]", rankCounts[rank], is(greaterThanOrEqualTo(0)));
+            var slot = slotOf(rank);
+            composition.counts[slot] += count;
+            composition.total += count;
+            composition.key += count * WEIGHTS[slot];
+        }
+
+        for (var slot = 0; slot < SLOT_COUNT; slot++) {
+            if (composition.counts[slot] > maxCount(slot, MAX_DECKS)) {
+                return null;
+            }
+        }
+        return composition;
+    }
+
+    /**
+     * Gets the highest number of cards in a slot.
+     *
+     * @param slot          the slot.
+     * @param numberOfDecks the number of standard decks.
+     * @return the number of cards of the slot in {@code numberOfDecks} standard decks.
+     */
+    private static int maxCount(int slot, int numberOfDecks) {
+        var ranks = slot == TEN_SLOT ? TEN_VALUED_RANKS : 1;
+        return ranks * CardCodes.SUIT_COUNT * numberOfDecks;
+    }
+
+    /**
+     * Gets the slot that cards of a rank are counted in.
+     *
+     * @param rankOrdinal the ordinal of the rank.
+     * @return the slot of the rank.
+     */
+    static int slotOf(int rankOrdinal) {
+        return Math.min(rankOrdinal, TEN_SLOT);
+    }
+
+    /**
+     * Creates a copy of this composition.
+     *
+     * @return a new composition with the same cards as this composition.
+     */
+    Composition copy() {
+        return new Composition(counts.clone(), total, key);
+    }
+
+    /**
+     * Adds a card.
+     *
+     * @param code the {@linkplain CardCodes card code} of the card.
+     * @throws IllegalArgumentException if {@code code} is not a valid card code.
+     * @throws IllegalStateException    if the composition already holds all cards of the slot of {@code code}
+     *                                  that {@link #MAX_DECKS} decks contain.
+     */
+    void add(int code) {
+        var slot = slotOf(CardCodes.rankOrdinal(CardCodes.requireValid(code)));
+        if (counts[slot] == maxCount(slot, MAX_DECKS)) {
+            throw new IllegalStateException("The composition can't hold more cards of this rank.");
+        }
+        addToSlot(slot);
+    }
+
+    /**
+     * Removes a card.
+     *
+     * @param code the {@linkplain CardCodes card code} of the card.
+     * @throws IllegalArgumentException if {@code code} is not a valid card code.
+     * @throws IllegalStateException    if the composition holds no cards of the slot of {@code code}.
+     */
+    void remove(int code) {
+        var slot = slotOf(CardCodes.rankOrdinal(CardCodes.requireValid(code)));
+        if (counts[slot] == 0) {
+            throw new IllegalStateException("The composition holds no cards of this rank.");
+        }
+        removeFromSlot(slot);
+    }
+
+    /**
+     * Adds a card to a slot, without checking whether the slot can hold it.
+     *
+     * @param slot the slot.
+     */
+    void addToSlot(int slot) {
+        counts[slot]++;
+        total++;
+        key += WEIGHTS[slot];
+    }
+
+    /**
+     * Removes a card from a slot, without checking whether the slot holds any cards.
+     *
+     * @param slot the slot.
+     */
+    void removeFromSlot(int slot) {
+        counts[slot]--;
+        total--;
+        key -= WEIGHTS[slot];
+    }
+
+    /**
+     * Gets the number of cards in a slot.
+     *
+     * @param slot the slot.
+     * @return the number of cards in {@code slot}.
+     */
+    int count(int slot) {
+        return counts[slot];
+    }
+
+    /**
+     * Gets the total number of cards.
+     *
+     * @return the number of cards in all slots.
+     */
+    int total() {
+        return total;
+    }
+
+    /**
+     * Gets the key of this composition, which is different for every composition of up to {@link #MAX_DECKS} decks.
+     *
+     * @return a number between {@code 0} (inclusive) and {@link #KEY_RANGE} (exclusive).
+     */
+    long key() {
+        return key;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof Composition && ((Composition) object).key == this.key;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(counts);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * A thread-safe dealing shoe that many seats can draw from at the same time, without locking.
+ *
+ * The cards of a shuffle are held in an immutable <em>generation</em>, and every draw claims the next card
+ * with a single atomic increment of the generation's cursor, so every card of a generation is dealt exactly once.
+ * The draw that claims the position of the cut card is the only one that reshuffles: it shuffles a copy of the cards
+ * and publishes it as the next generation with a compare-and-set. Draws that arrive while the shoe is being
+ * reshuffled wait for the new generation instead of taking a lock.
+ *
+ * Like {@link Shoe}, the cut card is placed after a configurable fraction of the cards, the <em>penetration</em>.
+ */
+final class ConcurrentShoe implements Deck {
+
+    /**
+     * The cards of the current shuffle.
+     */
+    private final AtomicReference<Generation> current;
+
+    /**
+     * The index of the first card behind the cut card.
+     */
+    private final int cutIndex;
+
+    /**
+     * The random number generator used to shuffle the shoe.
+     * Only the thread that reshuffles the shoe uses it, and the new generation publishes its state to the next one.
+     */
+    private final RandomSource generator;
+
+    /**
+     * Constructs a new shuffled shoe.
+     *
+     * @param numberOfDecks the number of standard decks in the shoe.
+     * @param penetration   the fraction of cards that are dealt before the cut card is reached.
+     * @param generator     the random number generator used to shuffle the shoe. Need not be thread-safe.
+     *
+     * @throws IllegalArgumentException if {@code numberOfDecks} is not positive,
+     *                                  if {@code penetration} is not greater than 0 and at most 1,
+     *                                  or if {@code generator} is {@code null}.
+     */
+    ConcurrentShoe(int numberOfDecks, double penetration, RandomSource generator) {
+        requireThat("numberOfDecks", numberOfDecks, is(greaterThan(0)));
+        requireThat("penetration", penetration, is(both(greaterThan(0.0)).and(lessThanOrEqualTo(1.0))));
+        this.generator = requireThat("generator", generator, is(notNullValue()));
+
+        var cards = Cards.fillWithStandardDecks(new byte[numberOfDecks * CardCodes.DECK_SIZE]);
+        this.cutIndex = Math.max(1, (int) Math.round(cards.length * penetration));
+
+        Cards.shuffle(cards, generator);
+        this.current = new AtomicReference<>(new Generation(cards, 0));
+    }
+
+    /**
+     * Gets the number of cards in the shoe.
+     *
+     * @return the total number of cards in the shoe, dealt or not.
+     */
+    int size() {
+        return current.get().cards.length;
+    }
+
+    /**
+     * Gets the number of times the shoe has been reshuffled since it was constructed.
+     *
+     * @return the number of the current shuffle.
+     */
+    long shuffles() {
+        return current.get().number;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If the cut card has been reached, the shoe is reshuffled first. This method is thread-safe.
+     */
+    @Override
+    public int drawCode() {
+        while (true) {
+            var generation = current.get();
+            var index = generation.cursor.getAndIncrement();
+            if (index < cutIndex) {
+                return generation.cards[index];
+            }
+
+            if (index == cutIndex) {
+                reshuffle(generation);
+            }
+            else {
+                while (current.get() == generation) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The result is only a snapshot when other threads are drawing cards.
+     */
+    @Override
+    public int remaining() {
+        return Math.max(0, cutIndex - current.get().cursor.get());
+    }
+
+    /**
+     * Shuffles all cards into a new generation and publishes it.
+     * Only called by the single thread that claimed the cut card of {@code exhausted}.
+     *
+     * @param exhausted the generation whose cut card was reached.
+     */
+    private void reshuffle(Generation exhausted) {
+        var cards = exhausted.cards.clone();
+        Cards.shuffle(cards, generator);
+
+        var published = current.compareAndSet(exhausted, new Generation(cards, exhausted.number + 1));
+        assert published : "Only the thread that reached the cut card may reshuffle the shoe.";
+    }
+
+    /**
+     * The cards of one shuffle of the shoe, and the position of the next card to deal.
+     */
+    private static final class Generation {
+
+        /**
+         * The card codes, in dealing order. Never modified after construction.
+         */
+        private final byte[] cards;
+
+        /**
+         * The number of the shuffle, counting from 0.
+         */
+        private final long number;
+
+        /**
+         * The index of the next card to deal. Increments past the cut card at most once per waiting thread.
+         */
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        /**
+         * Constructs a new generation.
+         *
+         * @param cards  the shuffled card codes.
+         * @param number the number of the shuffle.
+         */
+        private Generation(byte[] cards, long number) {
+            this.cards = cards;
+            this.number = number;
+        }
+    }
+}
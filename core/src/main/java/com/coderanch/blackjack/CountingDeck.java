@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import com.coderanch.blackjack.Card.Rank;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * A deck that counts how many cards of every rank it hasn't dealt yet, so that questions about its composition
+ * can be answered in constant time.
+ *
+ * The deck deals from another deck, and keeps two histograms in sync with every card it deals: one with a slot per
+ * rank, and a {@link Composition} with all ten-valued ranks collapsed into a single slot. The histograms start out
+ * with the cards that the other deck {@linkplain Deck#countUndealt(int[]) reports} it holds, so the other deck may
+ * already have been partly dealt. Whenever the other deck was shuffled or dealt cards to someone else, which is
+ * noticed because its number of remaining cards didn't drop by exactly one, or when it will be shuffled before its
+ * next card, the cards are counted again.
+ */
+final class CountingDeck implements Deck {
+
+    /**
+     * The deck that cards are dealt from.
+     */
+    private final Deck delegate;
+
+    /**
+     * The number of undealt cards of every rank, indexed by the ordinal of the rank.
+     */
+    private final int[] rankCounts;
+
+    /**
+     * The undealt cards, with all ten-valued ranks in a single slot.
+     */
+    private Composition composition;
+
+    /**
+     * The number of cards the other deck had left after the last card was dealt.
+     */
+    private int lastRemaining;
+
+    /**
+     * Constructs a new counting deck.
+     *
+     * @param delegate    the deck to deal cards from.
+     * @param rankCounts  the number of undealt cards of every rank.
+     * @param composition the undealt cards.
+     */
+    private CountingDeck(Deck delegate, int[] rankCounts, Composition composition) {
+        this.delegate = delegate;
+        this.rankCounts = rankCounts;
+        this.composition = composition;
+        this.lastRemaining = delegate.remaining();
+    }
+
+    /**
+     * Creates a new counting deck, which counts the cards that another deck holds.
+     *
+     * @param delegate the deck to deal cards from.
+     * @return a new counting deck, or {@code null} if {@code delegate} can't tell which cards it holds,
+     *         or holds more cards of a rank than {@link Composition#MAX_DECKS} decks contain.
+     * @throws IllegalArgumentException if {@code delegate} is {@code null}.
+     */
+    static CountingDeck of(Deck delegate) {
+        requireThat("delegate", delegate, is(notNullValue()));
+
+        var rankCounts = new int[CardCodes.RANK_COUNT];
+        if (!delegate.countUndealt(rankCounts)) {
+            return null;
+        }
+        var composition = Composition.ofRankCounts(rankCounts);
+        return composition == null ? null : new CountingDeck(delegate, rankCounts, composition);
+    }
+
+    /**
+     * Counts the cards that the other deck holds again.
+     *
+     * @throws IllegalStateException if the other deck no longer can tell which cards it holds,
+     *                               or holds more cards than a composition can.
+     */
+    private void recount() {
+        if (!delegate.countUndealt(rankCounts)) {
+            throw new IllegalStateException("The deck can no longer tell which cards it holds.");
+        }
+        composition = Composition.ofRankCounts(rankCounts);
+        if (composition == null) {
+            throw new IllegalStateException("The deck holds more cards than can be counted.");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the other deck dealt a card that was already counted as dealt.
+     */
+    @Override
+    public int drawCode() {
+        var code = delegate.drawCode();
+        var remaining = delegate.remaining();
+        if (remaining > 0 && remaining == lastRemaining - 1) {
+            var rank = CardCodes.rankOrdinal(code);
+            if (rankCounts[rank] == 0) {
+                throw new IllegalStateException("The deck dealt a card that was counted as dealt.");
+            }
+            rankCounts[rank]--;
+            composition.removeFromSlot(Composition.slotOf(rank));
+        }
+        else {
+            recount();
+        }
+        lastRemaining = remaining;
+        return code;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int remaining() {
+        return delegate.remaining();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean countUndealt(int[] counts) {
+        return delegate.countUndealt(counts);
+    }
+
+    /**
+     * Gets the number of undealt cards of a rank.
+     *
+     * @param rank the rank.
+     * @return the number of cards of {@code rank} that haven't been dealt since the deck was last shuffled.
+     * @throws IllegalArgumentException if {@code rank} is {@code null}.
+     */
+    int count(Rank rank) {
+        return rankCounts[requireThat("rank", rank, is(notNullValue())).ordinal()];
+    }
+
+    /**
+     * Gets the number of undealt ten-valued cards.
+     *
+     * @return the number of tens, jacks, queens and kings that haven't been dealt since the deck was last shuffled.
+     */
+    int tensLeft() {
+        return composition.count(Composition.TEN_SLOT);
+    }
+
+    /**
+     * Gets the number of undealt cards.
+     *
+     * @return the number of cards that haven't been dealt since the deck was last shuffled,
+     *     including any cards behind a cut card.
+     */
+    int undealt() {
+        return composition.total();
+    }
+
+    /**
+     * Gets the chance that the next card makes a hand go bust,
+     * assuming that every undealt card is equally likely to be dealt next.
+     *
+     * @param handState the {@linkplain HandState state} of the hand.
+     * @return a probability between {@code 0} and {@code 1}.
+     * @throws IllegalArgumentException if {@code handState} is not a valid hand state.
+     */
+    double bustProbability(int handState) {
+        requireThat("handState", handState, is(both(greaterThanOrEqualTo(0)).and(lessThan(HandState.STATE_COUNT))));
+
+        var total = composition.total();
+        if (total == 0) {
+            return 0;
+        }
+
+        var busting = 0;
+        for (var slot = 0; slot < Composition.SLOT_COUNT; slot++) {
+            if (HandState.isBust(HandState.next(handState, slot))) {
+                busting += composition.count(slot);
+            }
+        }
+        return (double) busting / total;
+    }
+
+    /**
+     * Gets a key that is unique for every composition of the undealt cards, suitable for cache lookups.
+     *
+     * @return the {@linkplain Composition#key() key} of the undealt cards.
+     */
+    long compositionKey() {
+        return composition.key();
+    }
+
+    /**
+     * Gets a hash code of the composition of the undealt cards.
+     *
+     * @return the hash code of the undealt cards.
+     */
+    int compositionHash() {
+        return composition.hashCode();
+    }
+
+    /**
+     * Gets the composition of the undealt cards.
+     *
+     * @return a new composition of the cards that haven't been dealt since the deck was last shuffled.
+     */
+    Composition composition() {
+        return composition.copy();
+    }
+}
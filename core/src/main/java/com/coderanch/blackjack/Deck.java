@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+/**
+ * A source of playing cards that are dealt one at a time.
+ */
+interface Deck {
+
+    /**
+     * Deals the next card.
+     *
+     * @return the {@linkplain CardCodes card code} of the dealt card.
+     */
+    int drawCode();
+
+    /**
+     * Deals the next card.
+     *
+     * @return the dealt card; never {@code null}.
+     */
+    default Card draw() {
+        return Card.fromCode(drawCode());
+    }
+
+    /**
+     * Gets the number of cards that can be dealt before the deck needs to be shuffled again.
+     *
+     * @return the number of cards left in the deck.
+     */
+    int remaining();
+
+    /**
+     * Counts the cards that the next card will be dealt from, by rank. If the deck will be shuffled
+     * before the next card is dealt, these are all of its cards.
+     *
+     * Decks that can't tell which cards they hold keep the default implementation, which counts nothing.
+     *
+     * @param rankCounts receives the number of cards of every rank, indexed by the ordinal of the rank.
+     * @return {@code true} if the cards were counted; {@code false} if the deck can't tell which cards it holds.
+     * @throws IllegalArgumentException if {@code rankCounts} is {@code null},
+     *                                  or doesn't have an element for every rank.
+     */
+    default boolean countUndealt(int[] rankCounts) {
+        return false;
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Keeps a pool of shuffled shoes ready, so that a new game can take one without waiting for a shuffle.
+ *
+ * A single producer thread shuffles shoes into a bounded ring, from which any number of threads can
+ * {@linkplain #take() take} them. Taking a shoe is a single compare-and-set. When the ring is full, the producer
+ * <em>stalls</em>: it parks until half of the ring has been taken and then refills it in one go, so an idle supply
+ * costs no CPU time, and consumers rarely need to wake the producer.
+ * When the ring is empty, the taking thread shuffles a shoe itself, which is counted as a <em>miss</em>.
+ * The depth of the ring, the stalls and the misses tell whether the ring is sized well for its load.
+ *
+ * The shoes are shuffled from the {@linkplain RandomStreams random streams} of a master seed,
+ * so the sequence of shoes that the producer makes is reproducible, although the order in which threads
+ * take them is not.
+ */
+final class DeckSupply implements AutoCloseable {
+
+    /**
+     * The largest capacity of a supply, which is the largest power of two that fits in an {@code int}.
+     */
+    static final int MAX_CAPACITY = 1 << (Integer.SIZE - 2);
+
+    /**
+     * The longest time the producer parks before it checks the ring again, in nanoseconds.
+     */
+    private static final long MAX_PARK_NANOS = 1_000_000L;
+
+    /**
+     * The ring of shuffled shoes. A slot holds a shoe that can be taken if its sequence number
+     * is at least {@link #head} and less than {@link #tail}.
+     */
+    private final AtomicReferenceArray<Shoe> ring;
+
+    /**
+     * The mask that maps a sequence number to its slot in the ring.
+     */
+    private final int mask;
+
+    /**
+     * The depth at which a stalled producer is woken up to refill the ring.
+     */
+    private final int lowWater;
+
+    /**
+     * The number of standard decks in every shoe.
+     */
+    private final int numberOfDecks;
+
+    /**
+     * The streams that the producer shuffles its shoes from.
+     */
+    private final RandomStreams producerStreams;
+
+    /**
+     * The streams that consumers shuffle shoes from when the ring is empty.
+     */
+    private final RandomStreams missStreams;
+
+    /**
+     * The sequence number of the next shoe to take. Advanced by consumers.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * The sequence number of the next shoe to put in the ring. Only advanced by the producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * The number of times the producer found the ring full.
+     */
+    private final AtomicLong stalls = new AtomicLong();
+
+    /**
+     * The number of times a consumer found the ring empty.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * The thread that shuffles shoes into the ring.
+     */
+    private final Thread producer;
+
+    /**
+     * Whether the producer is parked, or about to park, because the ring is full.
+     */
+    private volatile boolean producerWaiting;
+
+    /**
+     * Whether the supply has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new supply, and starts shuffling shoes in the background.
+     *
+     * @param capacity      the maximum number of shuffled shoes to keep ready. Rounded up to a power of two.
+     * @param numberOfDecks the number of standard decks in every shoe.
+     * @param masterSeed    the seed that the shoes are shuffled from.
+     * @throws IllegalArgumentException if {@code capacity} or {@code numberOfDecks} is not positive,
+     *                                  or if {@code capacity} is greater than {@link #MAX_CAPACITY}.
+     */
+    DeckSupply(int capacity, int numberOfDecks, long masterSeed) {
+        requireThat("capacity", capacity, is(both(greaterThan(0)).and(lessThanOrEqualTo(MAX_CAPACITY))));
+        this.numberOfDecks = requireThat("numberOfDecks", numberOfDecks, is(greaterThan(0)));
+
+        var ringSize = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(ringSize);
+        this.mask = ringSize - 1;
+        this.lowWater = ringSize / 2;
+
+        var streams = new RandomStreams(masterSeed);
+        this.producerStreams = streams.worker(0);
+        this.missStreams = streams.worker(1);
+
+        this.producer = new Thread(this::produce, "deck-supply");
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    /**
+     * Takes a shuffled shoe. If none is ready, a new shoe is shuffled on the calling thread.
+     * This method is thread-safe.
+     *
+     * @return a shuffled shoe that deals every card once per deck before its cut card,
+     *         which is placed behind the last card.
+     */
+    Shoe take() {
+        while (true) {
+            var sequence = head.get();
+            if (sequence == tail.get()) {
+                return newShoe(missStreams, misses.getAndIncrement());
+            }
+
+            // The producer can't reuse the slot until the head has moved past it, so it still holds this shoe.
+            var shoe = ring.get((int) sequence & mask);
+            if (head.compareAndSet(sequence, sequence + 1)) {
+                if (producerWaiting && tail.get() - sequence - 1 <= lowWater) {
+                    LockSupport.unpark(producer);
+                }
+                return shoe;
+            }
+        }
+    }
+
+    /**
+     * Gets the maximum number of shuffled shoes that the supply keeps ready.
+     *
+     * @return the capacity of the ring.
+     */
+    int capacity() {
+        return ring.length();
+    }
+
+    /**
+     * Gets the number of shuffled shoes that are ready to be taken.
+     *
+     * @return a snapshot of the depth of the ring.
+     */
+    int depth() {
+        var sequence = head.get();
+        return (int) Math.max(0, tail.get() - sequence);
+    }
+
+    /**
+     * Gets the number of times the producer found the ring full and had to wait for a shoe to be taken.
+     * A high number relative to the number of taken shoes means that the ring is larger than it needs to be.
+     *
+     * @return the number of stalls.
+     */
+    long stalls() {
+        return stalls.get();
+    }
+
+    /**
+     * Gets the number of times a shoe was taken from an empty ring, and had to be shuffled on the taking thread.
+     * Any misses under a steady load mean that the ring is too small, or that a single producer can't keep up.
+     *
+     * @return the number of misses.
+     */
+    long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of shoes that the producer has shuffled into the ring.
+     *
+     * @return the number of produced shoes.
+     */
+    long produced() {
+        return tail.get();
+    }
+
+    /**
+     * Stops the producer, and waits for it to finish. Shoes that are still in the ring can be taken,
+     * after which every take is a miss.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(producer);
+
+        var interrupted = false;
+        while (producer.isAlive()) {
+            try {
+                producer.join();
+            }
+            catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Shuffles shoes into the ring until the supply is closed.
+     */
+    private void produce() {
+        var sequence = 0L;
+        while (!closed) {
+            if (sequence - head.get() == ring.length()) {
+                awaitFreeSlot(sequence);
+                continue;
+            }
+
+            ring.set((int) sequence & mask, newShoe(producerStreams, sequence));
+            tail.set(++sequence);
+        }
+    }
+
+    /**
+     * Parks the producer until consumers have taken the ring down to its low-water mark,
+     * or until the supply is closed.
+     *
+     * @param sequence the sequence number of the next shoe to put in the ring.
+     */
+    private void awaitFreeSlot(long sequence) {
+        stalls.incrementAndGet();
+        producerWaiting = true;
+        try {
+            // Checking the head after announcing that the producer waits ensures that a take can't go unnoticed.
+            while (!closed && sequence - head.get() > lowWater) {
+                LockSupport.parkNanos(this, MAX_PARK_NANOS);
+            }
+        }
+        finally {
+            producerWaiting = false;
+        }
+    }
+
+    /**
+     * Shuffles a new shoe.
+     *
+     * @param streams the streams to shuffle the shoe from.
+     * @param index   the index of the shoe's session in {@code streams}.
+     * @return a new shuffled shoe.
+     */
+    private Shoe newShoe(RandomStreams streams, long index) {
+        return new Shoe(numberOfDecks, 1.0, streams.session(index));
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.Arrays;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Calculates the exact chances of winning and losing a {@link MiniGame} when the player hits or passes.
+ *
+ * Under the rules of the mini game, a hand wins when it reaches blackjack, loses when it goes bust,
+ * and neither wins nor loses when the player passes. The expected value of a decision is the chance of winning
+ * minus the chance of losing, so passing is always worth {@code 0}. After hitting, the player keeps playing
+ * optimally: hitting again whenever that is worth more than passing.
+ *
+ * The calculator recurses over the {@linkplain Composition composition} of the remaining cards rather than over
+ * their orderings, and memoizes the optimal outcome of every combination of a composition and a hand state.
+ * The memo is kept between queries, so later queries about the same deck mostly hit the cache.
+ *
+ * Instances are not thread-safe.
+ */
+final class ExpectedValueCalculator {
+
+    /**
+     * The memoized optimal outcomes.
+     */
+    private final OutcomeTable memo = new OutcomeTable();
+
+    /**
+     * The chance of winning that was last computed by {@link #computeHit(Composition, int)}
+     * or {@link #computeOptimal(Composition, int)}.
+     */
+    private double resultWin;
+
+    /**
+     * The chance of losing that was last computed by {@link #computeHit(Composition, int)}
+     * or {@link #computeOptimal(Composition, int)}.
+     */
+    private double resultLoss;
+
+    /**
+     * Evaluates the player's options.
+     *
+     * @param remaining the cards that can still be dealt.
+     * @param handState the {@linkplain HandState state} of the player's hand.
+     * @return the chances of winning and losing when the player hits.
+     * @throws IllegalArgumentException if {@code remaining} is {@code null},
+     *                                  or {@code handState} is not a valid hand state.
+     */
+    Evaluation evaluate(Composition remaining, int handState) {
+        requireThat("remaining", remaining, is(notNullValue()));
+        requireThat("handState", handState, is(both(greaterThanOrEqualTo(0)).and(lessThan(HandState.STATE_COUNT))));
+
+        if (HandState.isBlackjack(handState) || HandState.isBust(handState)) {
+            return new Evaluation(0, 0);
+        }
+        computeHit(remaining.copy(), handState);
+        return new Evaluation(resultWin, resultLoss);
+    }
+
+    /**
+     * Gets the number of memoized outcomes.
+     *
+     * @return the number of combinations of a composition and a hand state whose optimal outcome is known.
+     */
+    int cacheSize() {
+        return memo.size();
+    }
+
+    /**
+     * Forgets all memoized outcomes.
+     */
+    void clearCache() {
+        memo.clear();
+    }
+
+    /**
+     * Computes the chances of winning and losing when the player hits once, and then plays optimally.
+     * Stores the result in {@link #resultWin} and {@link #resultLoss}.
+     *
+     * @param remaining the cards that can still be dealt. Is modified, but restored before returning.
+     * @param handState the state of a hand that is neither blackjack nor bust.
+     */
+    private void computeHit(Composition remaining, int handState) {
+        var win = 0.0;
+        var loss = 0.0;
+        var total = remaining.total();
+
+        for (var slot = 0; slot < Composition.SLOT_COUNT; slot++) {
+            var count = remaining.count(slot);
+            if (count == 0) {
+                continue;
+            }
+
+            var probability = (double) count / total;
+            var next = HandState.next(handState, slot);
+            if (HandState.isBlackjack(next)) {
+                win += probability;
+            }
+            else if (HandState.isBust(next)) {
+                loss += probability;
+            }
+            else {
+                remaining.removeFromSlot(slot);
+                computeOptimal(remaining, next);
+                remaining.addToSlot(slot);
+                win += probability * resultWin;
+                loss += probability * resultLoss;
+            }
+        }
+
+        resultWin = win;
+        resultLoss = loss;
+    }
+
+    /**
+     * Computes the chances of winning and losing when the player makes the best decision.
+     * Stores the result in {@link #resultWin} and {@link #resultLoss}.
+     *
+     * @param remaining the cards that can still be dealt. Is modified, but restored before returning.
+     * @param handState the state of a hand that is neither blackjack nor bust.
+     */
+    private void computeOptimal(Composition remaining, int handState) {
+        // A composition of up to MAX_DECKS decks may run out of cards before the hand goes bust, for example near
+        // the end of a partly dealt shoe. Without cards to hit, passing is the only choice.
+        if (remaining.total() == 0) {
+            resultWin = 0;
+            resultLoss = 0;
+            return;
+        }
+
+        var key = remaining.key() * HandState.STATE_COUNT + handState;
+        var index = memo.indexOf(key);
+        if (index >= 0) {
+            resultWin = memo.win(index);
+            resultLoss = memo.loss(index);
+            return;
+        }
+
+        computeHit(remaining, handState);
+        if (resultWin <= resultLoss) {
+            resultWin = 0;
+            resultLoss = 0;
+        }
+        memo.put(key, resultWin, resultLoss);
+    }
+
+    /**
+     * The chances of winning and losing a game.
+     */
+    static final class Evaluation {
+
+        /**
+         * The chance of winning when the player hits, and then plays optimally.
+         */
+        private final double hitWinProbability;
+
+        /**
+         * The chance of losing when the player hits, and then plays optimally.
+         */
+        private final double hitLossProbability;
+
+        /**
+         * Constructs a new evaluation.
+         *
+         * @param hitWinProbability  the chance of winning when the player hits.
+         * @param hitLossProbability the chance of losing when the player hits.
+         */
+        Evaluation(double hitWinProbability, double hitLossProbability) {
+            this.hitWinProbability = hitWinProbability;
+            this.hitLossProbability = hitLossProbability;
+        }
+
+        /**
+         * Gets the chance of winning when the player hits, and then plays optimally.
+         *
+         * @return a probability between {@code 0} and {@code 1}.
+         */
+        double hitWinProbability() {
+            return hitWinProbability;
+        }
+
+        /**
+         * Gets the chance of losing when the player hits, and then plays optimally.
+         *
+         * @return a probability between {@code 0} and {@code 1}.
+         */
+        double hitLossProbability() {
+            return hitLossProbability;
+        }
+
+        /**
+         * Gets the expected value of hitting.
+         *
+         * @return the chance of winning minus the chance of losing when the player hits.
+         */
+        double hitExpectedValue() {
+            return hitWinProbability - hitLossProbability;
+        }
+
+        /**
+         * Gets the expected value of passing, which ends the game without winning or losing.
+         *
+         * @return {@code 0}.
+         */
+        double passExpectedValue() {
+            return 0;
+        }
+
+        /**
+         * Gets whether hitting is worth more than passing.
+         *
+         * @return {@code true} if the player should hit; {@code false} if the player should pass.
+         */
+        boolean shouldHit() {
+            return hitExpectedValue() > passExpectedValue();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return String.format(
+                "hitWinProbability=%.6f, hitLossProbability=%.6f, hitExpectedValue=%.6f",
+                hitWinProbability, hitLossProbability, hitExpectedValue());
+        }
+    }
+
+    /**
+     * An open-addressing hash table from non-negative {@code long} keys to pairs of probabilities,
+     * which avoids boxing keys and values.
+     */
+    private static final class OutcomeTable {
+
+        /**
+         * The initial number of buckets, which must be a power of two.
+         */
+        @SuppressWarnings("checkstyle:magicnumber")
+        private static final int INITIAL_CAPACITY = 1 << 10;
+
+        /**
+         * The key of an empty bucket.
+         */
+        private static final long EMPTY = -1L;
+
+        /**
+         * The odd constant that keys are multiplied with to spread them over the buckets, taken from SplitMix64.
+         */
+        private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+        /**
+         * The key of every bucket.
+         */
+        private long[] keys;
+
+        /**
+         * The chance of winning of every bucket.
+         */
+        private double[] wins;
+
+        /**
+         * The chance of losing of every bucket.
+         */
+        private double[] losses;
+
+        /**
+         * The number of occupied buckets.
+         */
+        private int size;
+
+        /**
+         * Constructs an empty table.
+         */
+        OutcomeTable() {
+            allocate(INITIAL_CAPACITY);
+        }
+
+        /**
+         * Replaces the buckets with new, empty buckets.
+         *
+         * @param capacity the number of buckets.
+         */
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            wins = new double[capacity];
+            losses = new double[capacity];
+            size = 0;
+        }
+
+        /**
+         * Gets the bucket that the search for a key starts at.
+         *
+         * @param key the key.
+         * @return the index of the first bucket to probe.
+         */
+        private int home(long key) {
+            return (int) ((key * GOLDEN_GAMMA) >>> (Long.SIZE - Integer.numberOfTrailingZeros(keys.length)));
+        }
+
+        /**
+         * Finds the bucket of a key.
+         *
+         * @param key the key.
+         * @return the index of the bucket of {@code key}, or a negative number if the table doesn't contain it.
+         */
+        int indexOf(long key) {
+            var mask = keys.length - 1;
+            for (var index = home(key); keys[index] != EMPTY; index = (index + 1) & mask) {
+                if (keys[index] == key) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Adds a key that the table doesn't contain yet.
+         *
+         * @param key  the key.
+         * @param win  the chance of winning.
+         * @param loss the chance of losing.
+         */
+        void put(long key, double win, double loss) {
+            if (2 * (size + 1) > keys.length) {
+                grow();
+            }
+
+            var mask = keys.length - 1;
+            var index = home(key);
+            while (keys[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            wins[index] = win;
+            losses[index] = loss;
+            size++;
+        }
+
+        /**
+         * Doubles the number of buckets.
+         */
+        private void grow() {
+            var oldKeys = keys;
+            var oldWins = wins;
+            var oldLosses = losses;
+
+            allocate(oldKeys.length * 2);
+            for (var index = 0; index < oldKeys.length; index++) {
+                if (oldKeys[index] != EMPTY) {
+                    put(oldKeys[index], oldWins[index], oldLosses[index]);
+                }
+            }
+        }
+
+        /**
+         * Gets the chance of winning of a bucket.
+         *
+         * @param index the index of the bucket.
+         * @return the chance of winning.
+         */
+        double win(int index) {
+            return wins[index];
+        }
+
+        /**
+         * Gets the chance of losing of a bucket.
+         *
+         * @param index the index of the bucket.
+         * @return the chance of losing.
+         */
+        double loss(int index) {
+            return losses[index];
+        }
+
+        /**
+         * Gets the number of keys in the table.
+         *
+         * @return the number of occupied buckets.
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * Removes all keys from the table.
+         */
+        void clear() {
+            allocate(INITIAL_CAPACITY);
+        }
+    }
+}
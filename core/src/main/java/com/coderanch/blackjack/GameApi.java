@@ -0,0 +1,417 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import com.coderanch.blackjack.MiniGame.Choice;
+import com.coderanch.blackjack.MiniGame.Event;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * An HTTP API that serves games of {@link MiniGame} as JSON, using the HTTP server that is built into the JDK.
+ *
+ * <ul>
+ *   <li>{@code POST /games} starts a new game, and responds with {@code 201 Created} and the state of the game.</li>
+ *   <li>{@code GET /games/<id>} responds with the state of a game.</li>
+ *   <li>{@code POST /games/<id>/hit}, {@code /pass} and {@code /hint} make a decision, and respond with the state
+ *       of the game and the events that the decision caused, or with {@code 409 Conflict} if the game is over.</li>
+ * </ul>
+ * Every request is handled on its own virtual thread. Games live in a {@link SessionStore}, so games that
+ * are abandoned expire, and the number of games in memory is bounded. Expired games are reported as
+ * {@code 404 Not Found}. The id of a game is its session index, so any game can be replayed from the master seed.
+ *
+ * The built-in server leaves Nagle's algorithm on, which delays every small response by tens of milliseconds when it
+ * interacts with delayed acknowledgements. Launch the JVM with {@code -Dsun.net.httpserver.nodelay=true} to turn it
+ * off; the property is read once, when the first server is created.
+ */
+final class GameApi implements AutoCloseable {
+
+    /**
+     * The path under which games are served.
+     */
+    static final String GAMES_PATH = "/games";
+
+    /**
+     * The maximum number of pending connections that haven't been accepted yet.
+     */
+    private static final int BACKLOG = 1024;
+
+    /**
+     * The HTTP status code of a successful request.
+     */
+    private static final int OK = 200;
+
+    /**
+     * The HTTP status code of a request that created a game.
+     */
+    private static final int CREATED = 201;
+
+    /**
+     * The HTTP status code of a request for a path that doesn't exist.
+     */
+    private static final int NOT_FOUND = 404;
+
+    /**
+     * The HTTP status code of a request with a method that the path doesn't support.
+     */
+    private static final int METHOD_NOT_ALLOWED = 405;
+
+    /**
+     * The HTTP status code of a decision for a game that is over.
+     */
+    private static final int CONFLICT = 409;
+
+    /**
+     * The HTTP status code of a request that failed unexpectedly.
+     */
+    private static final int INTERNAL_SERVER_ERROR = 500;
+
+    /**
+     * The HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * The executor that handles every request on a new virtual thread.
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * The executor that periodically evicts expired games.
+     */
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("session-evictor").daemon().factory());
+
+    /**
+     * The games that are being played.
+     */
+    private final SessionStore sessions;
+
+    /**
+     * The random streams that the games are dealt from.
+     */
+    private final RandomStreams streams;
+
+    /**
+     * The index of the next session.
+     */
+    private final AtomicLong nextSessionIndex = new AtomicLong();
+
+    /**
+     * Constructs a new API, and starts serving requests.
+     *
+     * @param address     the address to listen on. Port {@code 0} picks a free port.
+     * @param masterSeed  the seed that the random streams of all games are derived from.
+     * @param maxSessions the maximum number of games in memory.
+     * @param timeToLive  the time after its last request that a game expires.
+     * @throws IllegalArgumentException if {@code address} or {@code timeToLive} is {@code null},
+     *                                  or if {@code maxSessions} or {@code timeToLive} is not positive.
+     * @throws IOException              if the server could not listen on {@code address}.
+     */
+    GameApi(InetSocketAddress address, long masterSeed, int maxSessions, Duration timeToLive) throws IOException {
+        requireThat("address", address, is(notNullValue()));
+        this.sessions = new SessionStore(maxSessions, timeToLive);
+        this.streams = new RandomStreams(masterSeed);
+
+        this.server = HttpServer.create(address, BACKLOG);
+        server.setExecutor(executor);
+        server.createContext(GAMES_PATH, this::handle);
+        server.start();
+
+        var evictionPeriod = Math.max(1L, timeToLive.toMillis() / 2);
+        evictor.scheduleWithFixedDelay(sessions::evictExpired, evictionPeriod, evictionPeriod, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the port that the API listens on.
+     *
+     * @return the local port of the server.
+     */
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the store of the games that are being played.
+     *
+     * @return the session store.
+     */
+    SessionStore sessions() {
+        return sessions;
+    }
+
+    /**
+     * Stops serving requests, and waits for the requests that are being handled to complete.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        evictor.shutdownNow();
+        executor.close();
+    }
+
+    /**
+     * Handles a request for a path under {@link #GAMES_PATH}.
+     *
+     * @param exchange the request and its response.
+     * @throws IOException if the response could not be sent.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            exchange.getRequestBody().readAllBytes();
+
+            var path = exchange.getRequestURI().getPath().substring(GAMES_PATH.length());
+            var method = exchange.getRequestMethod();
+            if (path.isEmpty() || "/".equals(path)) {
+                if (!"POST".equals(method)) {
+                    respondWithError(exchange, METHOD_NOT_ALLOWED, "Games can only be started with POST.");
+                    return;
+                }
+                startGame(exchange);
+                return;
+            }
+
+            // The remaining path is either "/<id>" or "/<id>/<decision>".
+            var segments = path.substring(1).split("/", -1);
+            var sessionIndex = path.charAt(0) == '/' ? parseSessionIndex(segments[0]) : -1L;
+            var game = sessionIndex >= 0 && segments.length <= 2 ? sessions.get(sessionIndex) : null;
+            if (game == null) {
+                respondWithError(exchange, NOT_FOUND, "There is no such game.");
+                return;
+            }
+
+            if (segments.length == 1) {
+                if (!"GET".equals(method)) {
+                    respondWithError(exchange, METHOD_NOT_ALLOWED, "The state of a game can only be read with GET.");
+                    return;
+                }
+                String json;
+                synchronized (game) {
+                    json = toJson(sessionIndex, game, List.of());
+                }
+                respond(exchange, OK, json);
+                return;
+            }
+
+            var choice = parseChoice(segments[1]);
+            if (choice == null) {
+                respondWithError(exchange, NOT_FOUND, "There is no such decision.");
+                return;
+            }
+            if (!"POST".equals(method)) {
+                respondWithError(exchange, METHOD_NOT_ALLOWED, "Decisions can only be made with POST.");
+                return;
+            }
+            decide(exchange, sessionIndex, game, choice);
+        }
+        catch (RuntimeException e) {
+            respondWithError(exchange, INTERNAL_SERVER_ERROR, "The request failed.");
+        }
+        finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Starts a new game.
+     *
+     * @param exchange the request and its response.
+     * @throws IOException if the response could not be sent.
+     */
+    private void startGame(HttpExchange exchange) throws IOException {
+        var sessionIndex = nextSessionIndex.getAndIncrement();
+        var game = new MiniGame(new LazyDeck(streams.session(sessionIndex)));
+        String json;
+        synchronized (game) {
+            var events = game.start();
+            sessions.add(sessionIndex, game);
+            json = toJson(sessionIndex, game, events);
+        }
+
+        exchange.getResponseHeaders().set("Location", GAMES_PATH + "/" + sessionIndex);
+        respond(exchange, CREATED, json);
+    }
+
+    /**
+     * Makes a decision in a game.
+     *
+     * @param exchange     the request and its response.
+     * @param sessionIndex the id of the game.
+     * @param game         the game.
+     * @param choice       the decision.
+     * @throws IOException if the response could not be sent.
+     */
+    private void decide(HttpExchange exchange, long sessionIndex, MiniGame game, Choice choice) throws IOException {
+        String json;
+        synchronized (game) {
+            if (game.isOver()) {
+                json = null;
+            }
+            else {
+                json = toJson(sessionIndex, game, game.onDecision(choice));
+            }
+        }
+
+        if (json == null) {
+            respondWithError(exchange, CONFLICT, "The game is over.");
+        }
+        else {
+            respond(exchange, OK, json);
+        }
+    }
+
+    /**
+     * Parses the id of a game.
+     *
+     * @param segment the path segment that holds the id.
+     * @return the id, or {@code -1} if the segment is not a valid id.
+     */
+    private static long parseSessionIndex(String segment) {
+        try {
+            return Long.parseLong(segment);
+        }
+        catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Parses a decision.
+     *
+     * @param segment the path segment that holds the decision.
+     * @return the decision, or {@code null} if the segment is not a decision.
+     */
+    private static Choice parseChoice(String segment) {
+        for (var choice : Choice.values()) {
+            if (choice.name().toLowerCase(Locale.ENGLISH).equals(segment)) {
+                return choice;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sends a JSON response.
+     *
+     * @param exchange the request and its response.
+     * @param status   the HTTP status code.
+     * @param json     the body of the response.
+     * @throws IOException if the response could not be sent.
+     */
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        var body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    /**
+     * Sends a JSON error response.
+     *
+     * @param exchange the request and its response.
+     * @param status   the HTTP status code.
+     * @param message  the description of the error.
+     * @throws IOException if the response could not be sent.
+     */
+    private static void respondWithError(HttpExchange exchange, int status, String message) throws IOException {
+        var json = new StringBuilder("{\"error\":");
+        appendString(json, message);
+        respond(exchange, status, json.append('}').toString());
+    }
+
+    /**
+     * Converts the state of a game to JSON. Must be called while holding the lock of the game.
+     *
+     * @param sessionIndex the id of the game.
+     * @param game         the game.
+     * @param events       the events to include.
+     * @return a JSON object that describes the game.
+     */
+    private static String toJson(long sessionIndex, MiniGame game, List<Event> events) {
+        var hand = game.hand();
+        var json = new StringBuilder();
+        json.append("{\"id\":").append(sessionIndex).append(",\"cards\":[");
+        var cards = hand.cards();
+        for (var i = 0; i < cards.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendString(json, cards.get(i).toString());
+        }
+        json.append("],\"score\":").append(hand.bestScore())
+            .append(",\"soft\":").append(hand.isSoft())
+            .append(",\"status\":\"").append(game.status()).append("\",\"events\":[");
+        for (var i = 0; i < events.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendEvent(json, events.get(i));
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Appends an event as a JSON object.
+     *
+     * @param json  the JSON to append to.
+     * @param event the event.
+     */
+    private static void appendEvent(StringBuilder json, Event event) {
+        json.append("{\"kind\":\"").append(event.kind()).append('"');
+        if (event.card() != null) {
+            json.append(",\"card\":");
+            appendString(json, event.card().toString());
+        }
+        if (event.hint() != null) {
+            json.append(",\"advice\":\"").append(event.hint().shouldHit() ? "hit" : "pass")
+                .append("\",\"hitWinProbability\":").append(event.hint().hitWinProbability())
+                .append(",\"hitLossProbability\":").append(event.hint().hitLossProbability());
+        }
+        json.append('}');
+    }
+
+    /**
+     * Appends a string as a JSON string literal.
+     *
+     * @param json  the JSON to append to.
+     * @param value the string.
+     */
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            }
+            else if (c < ' ') {
+                json.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
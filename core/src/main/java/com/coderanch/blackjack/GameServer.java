@@ -0,0 +1,715 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * A line-oriented TCP server that hosts a {@link GameSession} for every connection.
+ *
+ * A small, fixed number of event loops multiplex all connections with non-blocking channels, so an idle player
+ * costs no thread, only the session and two direct buffers that are reused for the lifetime of the connection.
+ * The first event loop also accepts new connections, and hands them out to the event loops in turn.
+ *
+ * When a player connects, the server sends a line {@code Game <masterSeed> <sessionIndex>}, followed by the player's
+ * first cards and the prompt. Lines are encoded in UTF-8 in both directions; bytes that aren't valid UTF-8 are read as
+ * replacement characters. Every line that the player sends is answered by the session. Lines may be sent
+ * before earlier ones were answered; the server stops reading while responses are waiting to be written.
+ * The server closes the connection once the game is over, or when the player sends a line that is too long.
+ *
+ * If an event loop fails to wait for its connections, the server stops: it closes all connections, stops accepting
+ * new ones, and reports the error through {@link #failure()}. It must still be closed to release its resources.
+ */
+final class GameServer implements AutoCloseable {
+
+    /**
+     * The maximum number of pending connections that haven't been accepted yet.
+     */
+    private static final int BACKLOG = 1024;
+
+    /**
+     * The size of the buffer that every connection reads from.
+     */
+    private static final int READ_BUFFER_SIZE = 256;
+
+    /**
+     * The size of the buffer that every connection writes to, which holds at least one full response.
+     */
+    private static final int WRITE_BUFFER_SIZE = 2048;
+
+    /**
+     * How long the server stops accepting connections after accepting one failed, in milliseconds.
+     */
+    private static final long ACCEPT_BACKOFF_MILLIS = 100L;
+
+    /**
+     * The maximum length of a line that the player sends, in characters.
+     */
+    static final int MAX_LINE_LENGTH = 128;
+
+    /**
+     * The channel that accepts new connections.
+     */
+    private final ServerSocketChannel serverChannel;
+
+    /**
+     * The event loops that serve the connections.
+     */
+    private final EventLoop[] eventLoops;
+
+    /**
+     * The random streams that the sessions are dealt from.
+     */
+    private final RandomStreams streams;
+
+    /**
+     * The index of the next session.
+     */
+    private final AtomicLong nextSessionIndex = new AtomicLong();
+
+    /**
+     * The number of open connections.
+     */
+    private final AtomicInteger activeConnections = new AtomicInteger();
+
+    /**
+     * The number of sessions that ended with a finished game.
+     */
+    private final AtomicLong completedSessions = new AtomicLong();
+
+    /**
+     * The index of the event loop that serves the next accepted connection. Only used by the first event loop.
+     */
+    private int nextEventLoop;
+
+    /**
+     * Whether the server has been closed or has failed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * The error that stopped the server, or {@code null}.
+     */
+    private volatile IOException failure;
+
+    /**
+     * Constructs a new server, and starts accepting connections.
+     *
+     * @param address    the address to listen on. Port {@code 0} picks a free port.
+     * @param eventLoops the number of threads that serve connections.
+     * @param masterSeed the seed that the random streams of all sessions are derived from.
+     * @throws IllegalArgumentException if {@code address} is {@code null}, or {@code eventLoops} is not positive.
+     * @throws IOException              if the server could not listen on {@code address}.
+     */
+    GameServer(InetSocketAddress address, int eventLoops, long masterSeed) throws IOException {
+        requireThat("address", address, is(notNullValue()));
+        requireThat("eventLoops", eventLoops, is(greaterThan(0)));
+        this.streams = new RandomStreams(masterSeed);
+
+        this.serverChannel = ServerSocketChannel.open();
+        this.eventLoops = new EventLoop[eventLoops];
+        try {
+            serverChannel.bind(address, BACKLOG);
+            serverChannel.configureBlocking(false);
+            for (var i = 0; i < eventLoops; i++) {
+                this.eventLoops[i] = new EventLoop(i);
+            }
+            serverChannel.register(this.eventLoops[0].selector, SelectionKey.OP_ACCEPT);
+        }
+        catch (IOException | RuntimeException e) {
+            closeResources();
+            throw e;
+        }
+
+        for (var eventLoop : this.eventLoops) {
+            eventLoop.thread.start();
+        }
+    }
+
+    /**
+     * Gets the port that the server listens on.
+     *
+     * @return the local port of the server.
+     */
+    int port() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Gets the number of open connections.
+     *
+     * @return the number of active connections.
+     */
+    int activeConnections() {
+        return activeConnections.get();
+    }
+
+    /**
+     * Gets the number of sessions that ended with a finished game.
+     *
+     * @return the number of completed sessions.
+     */
+    long completedSessions() {
+        return completedSessions.get();
+    }
+
+    /**
+     * Gets the error that stopped the server.
+     *
+     * @return the error that made an event loop fail, or {@code null} if the server didn't fail.
+     */
+    IOException failure() {
+        return failure;
+    }
+
+    /**
+     * Stops accepting connections, closes all open connections, and waits for the event loops to end.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (var eventLoop : eventLoops) {
+            eventLoop.selector.wakeup();
+        }
+
+        var interrupted = false;
+        for (var eventLoop : eventLoops) {
+            while (eventLoop.thread.isAlive()) {
+                try {
+                    eventLoop.thread.join();
+                }
+                catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        for (var eventLoop : eventLoops) {
+            // The first event loop may have handed out a connection after the receiving loop had ended.
+            eventLoop.closePending();
+        }
+        closeResources();
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Closes the server channel and the selectors of the event loops, ignoring failures.
+     */
+    private void closeResources() {
+        closeQuietly(serverChannel);
+        for (var eventLoop : eventLoops) {
+            if (eventLoop != null) {
+                closeQuietly(eventLoop.selector);
+            }
+        }
+    }
+
+    /**
+     * Stops the server after an event loop failed. The other event loops are woken up, so they see that the server
+     * is closed and close their connections.
+     *
+     * @param e the error that made the event loop fail.
+     */
+    private void fail(IOException e) {
+        if (failure == null) {
+            failure = e;
+        }
+        closed = true;
+        closeQuietly(serverChannel);
+        for (var eventLoop : eventLoops) {
+            eventLoop.selector.wakeup();
+        }
+    }
+
+    /**
+     * Closes a resource, ignoring failures.
+     *
+     * @param closeable the resource to close.
+     */
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        }
+        catch (IOException e) {
+            // There is nothing left to do with the resource.
+        }
+    }
+
+    /**
+     * Accepts all pending connections, and hands them out to the event loops.
+     *
+     * @throws IOException if a connection could not be accepted.
+     */
+    private void acceptConnections() throws IOException {
+        for (var channel = serverChannel.accept(); channel != null; channel = serverChannel.accept()) {
+            activeConnections.incrementAndGet();
+            eventLoops[nextEventLoop].hand(channel);
+            nextEventLoop = (nextEventLoop + 1) % eventLoops.length;
+        }
+    }
+
+    /**
+     * A thread that serves its connections by waiting for them to become ready with a selector.
+     */
+    private final class EventLoop {
+
+        /**
+         * The selector that the connections of this event loop are registered with.
+         */
+        private final Selector selector;
+
+        /**
+         * The accepted connections that haven't been registered with the selector yet.
+         */
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+
+        /**
+         * The thread that runs the event loop.
+         */
+        private final Thread thread;
+
+        /**
+         * The key of the server channel while accepting connections is paused, or {@code null}.
+         */
+        private SelectionKey pausedAcceptKey;
+
+        /**
+         * The {@link System#nanoTime()} at which accepting connections resumes.
+         */
+        private long acceptResumeTime;
+
+        /**
+         * Constructs a new event loop. The thread of the event loop is not started.
+         *
+         * @param index the index of the event loop.
+         * @throws IOException if the selector could not be opened.
+         */
+        private EventLoop(int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this::run, "game-server-" + index);
+        }
+
+        /**
+         * Hands an accepted connection to this event loop.
+         *
+         * @param channel the channel of the connection.
+         */
+        private void hand(SocketChannel channel) {
+            pending.add(channel);
+            if (Thread.currentThread() != thread) {
+                selector.wakeup();
+            }
+        }
+
+        /**
+         * Serves connections until the server is closed, or stops the server if waiting for the connections fails.
+         */
+        private void run() {
+            try {
+                while (!closed) {
+                    // Connections that this loop accepted for itself are registered before it blocks again.
+                    registerPending();
+                    selector.select(resumeAccepting());
+
+                    var selectedKeys = selector.selectedKeys();
+                    for (var key : selectedKeys) {
+                        handle(key);
+                    }
+                    selectedKeys.clear();
+                }
+            }
+            catch (IOException e) {
+                fail(e);
+            }
+            finally {
+                for (var key : selector.keys()) {
+                    if (key.attachment() instanceof Connection) {
+                        ((Connection) key.attachment()).close();
+                    }
+                }
+                closePending();
+            }
+        }
+
+        /**
+         * Closes the connections that were handed to this event loop, but haven't been registered.
+         */
+        private void closePending() {
+            for (SocketChannel channel = pending.poll(); channel != null; channel = pending.poll()) {
+                closeQuietly(channel);
+                activeConnections.decrementAndGet();
+            }
+        }
+
+        /**
+         * Registers the connections that were handed to this event loop, and starts their sessions.
+         */
+        private void registerPending() {
+            for (var channel = pending.poll(); channel != null; channel = pending.poll()) {
+                var connection = new Connection(channel);
+                try {
+                    channel.configureBlocking(false);
+                    connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                    connection.start();
+                }
+                catch (IOException | RuntimeException e) {
+                    connection.close();
+                }
+            }
+        }
+
+        /**
+         * Accepts connections again once the pause after a failed accept is over.
+         *
+         * @return the number of milliseconds until accepting resumes, or {@code 0} if connections are accepted.
+         */
+        private long resumeAccepting() {
+            if (pausedAcceptKey == null) {
+                return 0L;
+            }
+
+            var wait = TimeUnit.NANOSECONDS.toMillis(acceptResumeTime - System.nanoTime());
+            if (wait > 0) {
+                return wait;
+            }
+            if (pausedAcceptKey.isValid()) {
+                pausedAcceptKey.interestOps(SelectionKey.OP_ACCEPT);
+            }
+            pausedAcceptKey = null;
+            return 0L;
+        }
+
+        /**
+         * Handles a key that is ready. A failure only affects the connection of the key.
+         *
+         * @param key the selected key.
+         */
+        private void handle(SelectionKey key) {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                try {
+                    acceptConnections();
+                }
+                catch (IOException e) {
+                    // Typically the process ran out of file descriptors. Retrying right away would spin on the error,
+                    // so accepting pauses to give open connections a chance to end.
+                    key.interestOps(0);
+                    pausedAcceptKey = key;
+                    acceptResumeTime = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ACCEPT_BACKOFF_MILLIS);
+                }
+                return;
+            }
+
+            var connection = (Connection) key.attachment();
+            try {
+                if (key.isWritable()) {
+                    connection.flush();
+                }
+                else if (key.isReadable()) {
+                    connection.read();
+                }
+            }
+            catch (IOException | RuntimeException e) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * The state of a single connection: its session, its buffers, and the line that is being received.
+     */
+    private final class Connection {
+
+        /**
+         * The channel of the connection.
+         */
+        private final SocketChannel channel;
+
+        /**
+         * The buffer that the channel is read into.
+         */
+        private final ByteBuffer input = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+        /**
+         * The buffer of responses that haven't been written to the channel yet.
+         */
+        private final ByteBuffer output = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+
+        /**
+         * Decodes the input buffer into the decoded buffer.
+         */
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        /**
+         * The characters that were decoded from the input buffer, but haven't been added to the line yet.
+         */
+        private final CharBuffer decoded = CharBuffer.allocate(READ_BUFFER_SIZE).flip();
+
+        /**
+         * Encodes responses into the output buffer.
+         */
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+        /**
+         * The characters of the line that is being received.
+         */
+        private final StringBuilder line = new StringBuilder();
+
+        /**
+         * The rest of a response that didn't fit in the output buffer, or {@code null}.
+         * While it is set, no more lines are answered.
+         */
+        private CharBuffer pendingResponse;
+
+        /**
+         * Whether answering lines stopped before all input was consumed.
+         */
+        private boolean hasUnansweredInput;
+
+        /**
+         * The game that is played over the connection.
+         */
+        private final GameSession session;
+
+        /**
+         * The index of the session.
+         */
+        private final long sessionIndex;
+
+        /**
+         * The key of the channel, or {@code null} if the channel hasn't been registered yet.
+         */
+        private SelectionKey key;
+
+        /**
+         * Whether the connection is closed once the output buffer has been written.
+         */
+        private boolean closing;
+
+        /**
+         * Whether the connection has been closed.
+         */
+        private boolean closed;
+
+        /**
+         * Constructs a new connection.
+         *
+         * @param channel the channel of the connection.
+         */
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+            this.sessionIndex = nextSessionIndex.getAndIncrement();
+            this.session = new GameSession(new LazyDeck(streams.session(sessionIndex)));
+        }
+
+        /**
+         * Sends the game header and the player's first cards.
+         *
+         * @throws IOException if the response could not be written.
+         */
+        private void start() throws IOException {
+            write("Game " + streams.masterSeed() + " " + sessionIndex + "\n" + session.start());
+            flush();
+        }
+
+        /**
+         * Reads from the channel, and answers every complete line.
+         *
+         * @throws IOException if the channel could not be read or written.
+         */
+        private void read() throws IOException {
+            if (channel.read(input) < 0) {
+                close();
+                return;
+            }
+
+            answerLines();
+            if (!closed) {
+                flush();
+            }
+        }
+
+        /**
+         * Answers the complete lines in the input buffer, until the buffer is empty, the game is over,
+         * or a response doesn't fit in the output buffer. The bytes that weren't decoded, such as the start of
+         * an incomplete character, are kept in the input buffer.
+         *
+         * @throws IOException if a response could not be encoded.
+         */
+        private void answerLines() throws IOException {
+            input.flip();
+            try {
+                hasUnansweredInput = true;
+                while (!closing && pendingResponse == null) {
+                    if (!decoded.hasRemaining() && !decodeInput()) {
+                        hasUnansweredInput = false;
+                        return;
+                    }
+
+                    var c = decoded.get();
+                    if (c == '\n') {
+                        onLine();
+                    }
+                    else if (line.length() == MAX_LINE_LENGTH) {
+                        close();
+                        return;
+                    }
+                    else {
+                        line.append(c);
+                    }
+                }
+            }
+            finally {
+                input.compact();
+            }
+        }
+
+        /**
+         * Decodes as much of the input buffer as possible into the empty decoded buffer.
+         *
+         * @return {@code true} if any characters were decoded.
+         */
+        private boolean decodeInput() {
+            decoded.clear();
+            decoder.decode(input, decoded, false);
+            decoded.flip();
+            return decoded.hasRemaining();
+        }
+
+        /**
+         * Answers the line that has been received.
+         *
+         * @throws IOException if the response could not be encoded.
+         */
+        private void onLine() throws IOException {
+            var length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(length - 1);
+            }
+
+            write(session.onLine(line.toString()));
+            line.setLength(0);
+        }
+
+        /**
+         * Encodes a response into the output buffer. What doesn't fit is kept as the pending response.
+         * If the game is over, the connection is closed once the response has been written.
+         *
+         * @param response the response to write.
+         * @throws IOException if the response could not be encoded.
+         */
+        private void write(String response) throws IOException {
+            encoder.reset();
+            pendingResponse = CharBuffer.wrap(response);
+            encodePending();
+            if (session.isOver() && !closing) {
+                closing = true;
+                completedSessions.incrementAndGet();
+            }
+        }
+
+        /**
+         * Encodes as much of the pending response into the output buffer as fits.
+         *
+         * @throws IOException if the response could not be encoded.
+         */
+        private void encodePending() throws IOException {
+            var result = encoder.encode(pendingResponse, output, true);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (!pendingResponse.hasRemaining()) {
+                pendingResponse = null;
+            }
+        }
+
+        /**
+         * Writes as much output to the channel as the channel accepts, and waits for the channel to become writable
+         * if any output is left. Once all output has been written, the lines that were received in the meantime
+         * are answered. Reading is suspended while output is pending.
+         *
+         * @throws IOException if the channel could not be written.
+         */
+        private void flush() throws IOException {
+            while (true) {
+                output.flip();
+                channel.write(output);
+                output.compact();
+
+                if (output.position() > 0) {
+                    key.interestOps(SelectionKey.OP_WRITE);
+                    return;
+                }
+                if (pendingResponse != null) {
+                    encodePending();
+                }
+                else if (hasUnansweredInput && !closing) {
+                    answerLines();
+                    if (closed) {
+                        return;
+                    }
+                }
+                else {
+                    break;
+                }
+            }
+
+            if (closing) {
+                close();
+            }
+            else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        /**
+         * Closes the connection.
+         */
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+
+            if (key != null) {
+                key.cancel();
+            }
+            closeQuietly(channel);
+            activeConnections.decrementAndGet();
+        }
+    }
+}
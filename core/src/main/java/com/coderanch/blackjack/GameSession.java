@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import com.coderanch.blackjack.MiniGame.Choice;
+import com.coderanch.blackjack.MiniGame.Event;
+
+import java.util.List;
+import java.util.Locale;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * A {@link MiniGame} that is played one line of text at a time, for hosts that can't block on input.
+ *
+ * Instead of reading decisions from a stream, the session is fed the lines that the player sends,
+ * and returns the text to send back. Every response ends with the prompt for the next decision,
+ * unless the game is over.
+ *
+ * Instances are not thread-safe, but need not be confined to one thread as long as calls are ordered.
+ */
+final class GameSession {
+
+    /**
+     * The game that is played.
+     */
+    private final MiniGame game;
+
+    /**
+     * Constructs a new session.
+     *
+     * @param deck used for dealing cards. Must consist of at most {@link Composition#MAX_DECKS} full decks.
+     * @throws IllegalArgumentException if {@code deck} is {@code null}.
+     */
+    GameSession(Deck deck) {
+        this.game = new MiniGame(requireThat("deck", deck, is(notNullValue())));
+    }
+
+    /**
+     * Deals the player's first two cards.
+     *
+     * @return the status of the game, followed by the prompt if the game isn't over.
+     * @throws IllegalStateException if the game has already started.
+     */
+    String start() {
+        return respond(game.start(), new StringBuilder());
+    }
+
+    /**
+     * Handles a line of input from the player.
+     *
+     * @param line the line, without line terminators.
+     * @return the response to the line, followed by the prompt if the game isn't over.
+     * @throws IllegalArgumentException if {@code line} is {@code null}.
+     * @throws IllegalStateException    if the game hasn't started or is already over.
+     */
+    String onLine(String line) {
+        requireThat("line", line, is(notNullValue()));
+        if (!game.hasStarted() || game.isOver()) {
+            throw new IllegalStateException("The game is not in progress.");
+        }
+
+        var choice = parse(line);
+        if (choice == null) {
+            return respond(List.of(), new StringBuilder("Invalid input.\n"));
+        }
+        return respond(game.onDecision(choice), new StringBuilder());
+    }
+
+    /**
+     * Gets whether the game is over.
+     *
+     * @return {@code true} if the player has won, lost or passed; {@code false} otherwise.
+     */
+    boolean isOver() {
+        return game.isOver();
+    }
+
+    /**
+     * Parses a decision, ignoring case and surrounding white space.
+     *
+     * @param line the line to parse.
+     * @return the decision, or {@code null} if the line is not a decision.
+     */
+    private static Choice parse(String line) {
+        var name = line.strip().toUpperCase(Locale.ENGLISH);
+        for (var choice : Choice.values()) {
+            if (choice.name().equals(name)) {
+                return choice;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Describes events, followed by the prompt for the next decision unless the game is over.
+     *
+     * @param events   the events to describe.
+     * @param response the response to append to.
+     * @return the complete response.
+     */
+    private String respond(List<Event> events, StringBuilder response) {
+        events.forEach(event -> event.describeTo(response));
+        if (!game.isOver()) {
+            response.append(MiniGame.PROMPT).append('\n');
+        }
+        return response.toString();
+    }
+}
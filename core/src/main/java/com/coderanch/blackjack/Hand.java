@@ -7,12 +7,8 @@
  */
 package com.coderanch.blackjack;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
-import static java.util.function.Predicate.not;
-
 import static com.coderanch.blackjack.Card.Rank.ACE;
 import static com.coderanch.util.require.Require.requireThat;
 
@@ -21,18 +17,50 @@ import static org.hamcrest.Matchers.notNullValue;
 
 /**
  * A hand in a game of Blackjack.
+ *
+ * The hand keeps track of its total and number of aces as cards are added,
+ * so all scoring methods run in constant time.
+ *
+ * Hands are immutable. The cards are stored in a persistent linked list, so a hand created by
+ * {@link #withAdditionalCard(Card)} shares all cards of the original hand and takes constant time to create.
  */
 final class Hand {
 
     /**
      * Highest score in Blackjack.
      */
-    private static final int MAX_LEGAL_SCORE = 21;
+    static final int MAX_LEGAL_SCORE = 21;
+
+    /**
+     * The number of points an ace is worth in addition to its smallest point value, when counted as big.
+     */
+    static final int BIG_ACE_BONUS = ACE.points() - 1;
+
+    /**
+     * The node holding the card that was dealt last.
+     */
+    private final Node lastNode;
+
+    /**
+     * The number of cards in the hand.
+     */
+    private final int size;
 
     /**
-     * The cards in the hand.
+     * The score of the hand when all aces are counted as 1 point.
      */
-    private final List<Card> cards;
+    private final int hardTotal;
+
+    /**
+     * The number of aces in the hand.
+     */
+    private final int aceCount;
+
+    /**
+     * The cards in the hand, in the order they were dealt, or {@code null} if they haven't been listed yet.
+     * Computing the list more than once is harmless, because the list is immutable.
+     */
+    private List<Card> cards;
 
     /**
      * Creates a new hand.
@@ -42,19 +70,50 @@ final class Hand {
      * @throws IllegalArgumentException if either {@code firstCard} or {@code secondCard} is {@code null}.
      */
     Hand(Card firstCard, Card secondCard) {
-        this(List.of(
-            requireThat("firstCard", firstCard, is(notNullValue())),
-            requireThat("secondCard", secondCard, is(notNullValue()))
-        ));
+        this(
+            new Node(
+                requireThat("secondCard", secondCard, is(notNullValue())),
+                new Node(requireThat("firstCard", firstCard, is(notNullValue())), null)
+            ),
+            2,
+            hardPoints(firstCard) + hardPoints(secondCard),
+            aces(firstCard) + aces(secondCard)
+        );
     }
 
     /**
      * Constructs a new hand with the given cards.
      *
-     * @param cards the cards in the hand.
+     * @param lastNode  the node holding the card that was dealt last.
+     * @param size      the number of cards in the hand.
+     * @param hardTotal the score of the cards when all aces are counted as 1 point.
+     * @param aceCount  the number of aces among the cards.
+     */
+    private Hand(Node lastNode, int size, int hardTotal, int aceCount) {
+        this.lastNode = lastNode;
+        this.size = size;
+        this.hardTotal = hardTotal;
+        this.aceCount = aceCount;
+    }
+
+    /**
+     * Gets the points of a card when aces are counted as 1 point.
+     *
+     * @param card the card to score.
+     * @return the smallest point value of the card.
+     */
+    private static int hardPoints(Card card) {
+        return card.rank() == ACE ? 1 : card.rank().points();
+    }
+
+    /**
+     * Counts a card if it is an ace.
+     *
+     * @param card the card to count.
+     * @return {@code 1} if the card is an ace; {@code 0} otherwise.
      */
-    private Hand(List<Card> cards) {
-        this.cards = cards;
+    private static int aces(Card card) {
+        return card.rank() == ACE ? 1 : 0;
     }
 
     /**
@@ -67,9 +126,7 @@ final class Hand {
     Hand withAdditionalCard(Card card) {
         requireThat("card", card, is(notNullValue()));
 
-        var newCards = new ArrayList<Card>(this.cards);
-        newCards.add(card);
-        return new Hand(newCards);
+        return new Hand(new Node(card, lastNode), size + 1, hardTotal + hardPoints(card), aceCount + aces(card));
     }
 
     /**
@@ -79,29 +136,29 @@ final class Hand {
      *     without the hand going bust, or the lowest score if the hand is bust.
      */
     int bestScore() {
-        var minimumScore = cards.stream()
-            .map(Card::rank)
-            .filter(not(ACE::equals))
-            .mapToInt(Card.Rank::points)
-            .sum();
-
-        var numberOfFreeAces = (int) cards.stream()
-            .map(Card::rank)
-            .filter(ACE::equals)
-            .count();
-
-        return calculateBestScore(minimumScore, numberOfFreeAces);
+        return isSoft() ? hardTotal + BIG_ACE_BONUS : hardTotal;
     }
 
-    private static int calculateBestScore(int minimumScore, int numberOfFreeAces) {
-        if (numberOfFreeAces == 0) {
-            return minimumScore;
-        }
-        var bestScoreWithBigAce = calculateBestScore(minimumScore + ACE.points(), numberOfFreeAces - 1);
+    /**
+     * Gets whether the hand is soft or not.
+     * A soft hand contains an ace that can be counted as a large point value without the hand going bust.
+     * Because at most one ace can ever be counted as big, the best score of a soft hand is 10 points
+     * higher than its score with all aces counted as 1 point.
+     *
+     * @return {@code true} if {@link #bestScore()} counts an ace as a large point value;
+     *     {@code false} otherwise.
+     */
+    boolean isSoft() {
+        return aceCount > 0 && hardTotal + BIG_ACE_BONUS <= MAX_LEGAL_SCORE;
+    }
 
-        return bestScoreWithBigAce > MAX_LEGAL_SCORE
-            ? calculateBestScore(minimumScore + 1, numberOfFreeAces - 1)
-            : bestScoreWithBigAce;
+    /**
+     * Gets the compact state of the hand, which can be advanced using {@link HandState#next(int, int)}.
+     *
+     * @return the {@linkplain HandState hand state} of this hand.
+     */
+    int state() {
+        return HandState.of(hardTotal, aceCount);
     }
 
     /**
@@ -130,9 +187,57 @@ final class Hand {
     /**
      * Gets the cards of the hand.
      *
-     * @return an unmodifiable list of cards.
+     * @return an unmodifiable list of cards, in the order they were dealt.
      */
     List<Card> cards() {
-        return Collections.unmodifiableList(cards);
+        var result = cards;
+        if (result == null) {
+            var array = new Card[size];
+            var node = lastNode;
+            for (var i = size - 1; i >= 0; i--) {
+                array[i] = node.card;
+                node = node.previous;
+            }
+            result = List.of(array);
+            cards = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of cards in the hand.
+     *
+     * @return the number of cards in the hand.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * A node of the persistent list of cards in a hand.
+     * Nodes are shared by every hand that was created from the same original hand.
+     */
+    private static final class Node {
+
+        /**
+         * The card held by this node.
+         */
+        private final Card card;
+
+        /**
+         * The node holding the card that was dealt before this one, or {@code null} if this is the first card.
+         */
+        private final Node previous;
+
+        /**
+         * Constructs a new node.
+         *
+         * @param card     the card held by the node.
+         * @param previous the node holding the card that was dealt before, or {@code null}.
+         */
+        private Node(Card card, Node previous) {
+            this.card = card;
+            this.previous = previous;
+        }
     }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * A batch of hands stored as a structure of arrays, to be scored all at once by a {@link BatchHandEvaluator}.
+ *
+ * Every hand occupies the same index in a number of parallel primitive arrays: the inputs describe its cards,
+ * and the outputs receive its score. Laying hands out like this lets an evaluator process many hands
+ * with a single instruction, instead of calling {@link Hand#bestScore()} one object at a time.
+ *
+ * Instances are not thread-safe.
+ */
+final class HandBatch {
+
+    /**
+     * The score of every hand when all aces are counted as 1 point.
+     */
+    private final int[] hardTotals;
+
+    /**
+     * The number of aces in every hand.
+     */
+    private final int[] aceCounts;
+
+    /**
+     * Receives the best score of every hand, like {@link Hand#bestScore()}.
+     */
+    private final int[] bestScores;
+
+    /**
+     * Receives whether every hand is bust, like {@link Hand#isBust()}.
+     */
+    private final boolean[] busts;
+
+    /**
+     * Receives whether every hand is blackjack, like {@link Hand#isBlackjack()}.
+     */
+    private final boolean[] blackjacks;
+
+    /**
+     * The number of hands in the batch.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty batch.
+     *
+     * @param capacity the maximum number of hands the batch can hold.
+     * @throws IllegalArgumentException if {@code capacity} is not positive.
+     */
+    HandBatch(int capacity) {
+        requireThat("capacity", capacity, is(greaterThan(0)));
+
+        hardTotals = new int[capacity];
+        aceCounts = new int[capacity];
+        bestScores = new int[capacity];
+        busts = new boolean[capacity];
+        blackjacks = new boolean[capacity];
+    }
+
+    /**
+     * Adds a hand to the batch.
+     *
+     * @param hardTotal the score of the hand when all aces are counted as 1 point.
+     * @param aceCount  the number of aces in the hand.
+     * @return the index of the hand in the batch.
+     * @throws IllegalArgumentException if either of the arguments is negative.
+     * @throws IllegalStateException    if the batch is full.
+     */
+    int add(int hardTotal, int aceCount) {
+        if (hardTotal < 0 || aceCount < 0) {
+            requireThat("hardTotal", hardTotal, is(greaterThanOrEqualTo(0)));
+            requireThat("aceCount", aceCount, is(greaterThanOrEqualTo(0)));
+        }
+        if (size == hardTotals.length) {
+            throw new IllegalStateException("The hand batch is full.");
+        }
+
+        hardTotals[size] = hardTotal;
+        aceCounts[size] = aceCount;
+        return size++;
+    }
+
+    /**
+     * Adds the cards in a hand buffer to the batch.
+     *
+     * @param hand the hand to add.
+     * @return the index of the hand in the batch.
+     * @throws IllegalArgumentException if {@code hand} is {@code null}.
+     * @throws IllegalStateException    if the batch is full.
+     */
+    int add(HandBuffer hand) {
+        requireThat("hand", hand, is(notNullValue()));
+
+        var hardTotal = 0;
+        var aceCount = 0;
+        for (var i = 0; i < hand.size(); i++) {
+            var code = hand.codeAt(i);
+            if (CardCodes.isAce(code)) {
+                hardTotal++;
+                aceCount++;
+            }
+            else {
+                hardTotal += CardCodes.points(code);
+            }
+        }
+        return add(hardTotal, aceCount);
+    }
+
+    /**
+     * Removes all hands from the batch.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Gets the number of hands in the batch.
+     *
+     * @return the number of hands.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of hands the batch can hold.
+     *
+     * @return the capacity of the batch.
+     */
+    int capacity() {
+        return hardTotals.length;
+    }
+
+    /**
+     * Gets the score of every hand when all aces are counted as 1 point.
+     *
+     * @return the backing array, which holds {@link #size()} valid elements.
+     */
+    int[] hardTotals() {
+        return hardTotals;
+    }
+
+    /**
+     * Gets the number of aces in every hand.
+     *
+     * @return the backing array, which holds {@link #size()} valid elements.
+     */
+    int[] aceCounts() {
+        return aceCounts;
+    }
+
+    /**
+     * Gets the best score of every hand, as computed by the last evaluation.
+     *
+     * @return the backing array, which holds {@link #size()} valid elements once the batch has been evaluated.
+     */
+    int[] bestScores() {
+        return bestScores;
+    }
+
+    /**
+     * Gets whether every hand is bust, as computed by the last evaluation.
+     *
+     * @return the backing array, which holds {@link #size()} valid elements once the batch has been evaluated.
+     */
+    boolean[] busts() {
+        return busts;
+    }
+
+    /**
+     * Gets whether every hand is blackjack, as computed by the last evaluation.
+     *
+     * @return the backing array, which holds {@link #size()} valid elements once the batch has been evaluated.
+     */
+    boolean[] blackjacks() {
+        return blackjacks;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import static com.coderanch.util.require.Require.requireThat;
+import static com.coderanch.util.require.Require.requireThatIndex;
+
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * A mutable, reusable companion to {@link Hand}, intended for simulations that deal very many hands.
+ *
+ * The buffer holds {@linkplain CardCodes card codes} in a fixed-capacity array and scores them exactly like
+ * {@link Hand} does. Adding cards and {@linkplain #reset() resetting} the buffer never allocates.
+ */
+final class HandBuffer {
+
+    /**
+     * The default capacity, which is enough for any hand that stops receiving cards once it is bust:
+     * even a hand of only aces goes bust on its 22nd card.
+     */
+    static final int DEFAULT_CAPACITY = Hand.MAX_LEGAL_SCORE + 1;
+
+    /**
+     * The codes of the cards in the buffer.
+     */
+    private final byte[] codes;
+
+    /**
+     * The number of cards in the buffer.
+     */
+    private int size;
+
+    /**
+     * The score of the cards when all aces are counted as 1 point.
+     */
+    private int hardTotal;
+
+    /**
+     * The number of aces in the buffer.
+     */
+    private int aceCount;
+
+    /**
+     * Constructs an empty hand buffer with the {@linkplain #DEFAULT_CAPACITY default capacity}.
+     */
+    HandBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty hand buffer.
+     *
+     * @param capacity the maximum number of cards the buffer can hold.
+     * @throws IllegalArgumentException if {@code capacity} is not positive.
+     */
+    HandBuffer(int capacity) {
+        this.codes = new byte[requireThat("capacity", capacity, is(greaterThan(0)))];
+    }
+
+    /**
+     * Removes all cards from the buffer.
+     */
+    void reset() {
+        size = 0;
+        hardTotal = 0;
+        aceCount = 0;
+    }
+
+    /**
+     * Adds a card to the buffer.
+     *
+     * @param code the {@linkplain CardCodes card code} of the card to add.
+     * @throws IllegalArgumentException if {@code code} is not a valid card code.
+     * @throws IllegalStateException    if the buffer is full.
+     */
+    void add(int code) {
+        CardCodes.requireValid(code);
+        if (size == codes.length) {
+            throw new IllegalStateException("The hand buffer is full.");
+        }
+
+        codes[size++] = (byte) code;
+        if (CardCodes.isAce(code)) {
+            hardTotal += 1;
+            aceCount++;
+        }
+        else {
+            hardTotal += CardCodes.points(code);
+        }
+    }
+
+    /**
+     * Adds a card to the buffer.
+     *
+     * @param card the card to add.
+     * @throws IllegalArgumentException if {@code card} is {@code null}.
+     * @throws IllegalStateException    if the buffer is full.
+     */
+    void add(Card card) {
+        add(requireThat("card", card, is(notNullValue())).code());
+    }
+
+    /**
+     * Gets the number of cards in the buffer.
+     *
+     * @return the number of cards in the buffer.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of cards the buffer can hold.
+     *
+     * @return the capacity of the buffer.
+     */
+    int capacity() {
+        return codes.length;
+    }
+
+    /**
+     * Gets a card in the buffer.
+     *
+     * @param index the index of the card, in the order the cards were added.
+     * @return the {@linkplain CardCodes card code} of the card.
+     * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}.
+     */
+    int codeAt(int index) {
+        requireThatIndex("index", index, is(both(greaterThanOrEqualTo(0)).and(lessThan(size))));
+        return codes[index];
+    }
+
+    /**
+     * Gets the best score, like {@link Hand#bestScore()}.
+     *
+     * @return the highest score that can be made by using a large point value for aces
+     *     without the hand going bust, or the lowest score if the hand is bust.
+     */
+    int bestScore() {
+        var state = state();
+        return HandState.isSoft(state) ? HandState.bestScore(state) : hardTotal;
+    }
+
+    /**
+     * Gets the compact state of the buffer, like {@link Hand#state()}.
+     *
+     * @return the {@linkplain HandState hand state} of the cards in the buffer.
+     */
+    int state() {
+        return HandState.of(hardTotal, aceCount);
+    }
+
+    /**
+     * Gets whether the hand is soft, like {@link Hand#isSoft()}.
+     *
+     * @return {@code true} if {@link #bestScore()} counts an ace as a large point value; {@code false} otherwise.
+     */
+    boolean isSoft() {
+        return HandState.isSoft(state());
+    }
+
+    /**
+     * Gets whether the hand is bust, like {@link Hand#isBust()}.
+     *
+     * @return {@code true} if {@link #bestScore()} is greater than the maximum legal score; {@code false} otherwise.
+     */
+    boolean isBust() {
+        return hardTotal > Hand.MAX_LEGAL_SCORE;
+    }
+
+    /**
+     * Gets whether the hand is blackjack, like {@link Hand#isBlackjack()}.
+     *
+     * @return {@code true} if {@link #bestScore()} is equal to the maximum legal score; {@code false} otherwise.
+     */
+    boolean isBlackjack() {
+        return bestScore() == Hand.MAX_LEGAL_SCORE;
+    }
+
+    /**
+     * Takes an immutable snapshot of the buffer.
+     *
+     * @return a new hand with the same cards as the buffer.
+     * @throws IllegalStateException if the buffer holds fewer than two cards.
+     */
+    Hand toHand() {
+        if (size < 2) {
+            throw new IllegalStateException("A hand needs at least two cards.");
+        }
+
+        var hand = new Hand(Card.fromCode(codes[0]), Card.fromCode(codes[1]));
+        for (var i = 2; i < size; i++) {
+            hand = hand.withAdditionalCard(Card.fromCode(codes[i]));
+        }
+        return hand;
+    }
+}
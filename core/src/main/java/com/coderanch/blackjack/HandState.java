@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import com.coderanch.blackjack.Card.Rank;
+
+/**
+ * Utility class for the compact states of a Blackjack hand.
+ *
+ * For scoring purposes, every hand collapses into one of {@link #STATE_COUNT} states, each of which fits in a byte:
+ * <ul>
+ *   <li>a hard total from {@code 0} to {@code 21}, encoded as the total itself;</li>
+ *   <li>a soft total from {@code 11} to {@code 21}, encoded as {@code 22} to {@code 32};</li>
+ *   <li>{@link #BUST}, encoded as {@code 33}.</li>
+ * </ul>
+ * A precomputed transition table advances a state by one card with a single array lookup.
+ */
+final class HandState {
+
+    /**
+     * The state of a hand without cards.
+     */
+    static final int EMPTY = 0;
+
+    /**
+     * The lowest total of a soft hand, which is a single ace.
+     */
+    static final int MIN_SOFT_TOTAL = 11;
+
+    /**
+     * The state of the soft hand with the lowest total.
+     */
+    private static final int FIRST_SOFT_STATE = Hand.MAX_LEGAL_SCORE + 1;
+
+    /**
+     * The state of a bust hand.
+     */
+    static final int BUST = FIRST_SOFT_STATE + Hand.MAX_LEGAL_SCORE - MIN_SOFT_TOTAL + 1;
+
+    /**
+     * The number of distinct hand states.
+     */
+    static final int STATE_COUNT = BUST + 1;
+
+    /**
+     * The next state for every combination of a state and a rank, indexed by
+     * {@code state * CardCodes.RANK_COUNT + rank.ordinal()}.
+     */
+    private static final byte[] TRANSITIONS = new byte[STATE_COUNT * CardCodes.RANK_COUNT];
+
+    static {
+        for (var state = 0; state < STATE_COUNT; state++) {
+            for (var rank : Rank.values()) {
+                TRANSITIONS[state * CardCodes.RANK_COUNT + rank.ordinal()] = (byte) computeNext(state, rank);
+            }
+        }
+    }
+
+    private HandState() { }
+
+    /**
+     * Gets the state of a hand.
+     *
+     * @param hardTotal the score of the hand when all aces are counted as 1 point.
+     * @param aceCount  the number of aces in the hand.
+     * @return the state of the hand.
+     */
+    static int of(int hardTotal, int aceCount) {
+        if (hardTotal > Hand.MAX_LEGAL_SCORE) {
+            return BUST;
+        }
+        if (aceCount > 0 && hardTotal + Hand.BIG_ACE_BONUS <= Hand.MAX_LEGAL_SCORE) {
+            return FIRST_SOFT_STATE + hardTotal + Hand.BIG_ACE_BONUS - MIN_SOFT_TOTAL;
+        }
+        return hardTotal;
+    }
+
+    /**
+     * Gets the state of a hand after a card of a given rank is added.
+     *
+     * @param state       the state of the hand.
+     * @param rankOrdinal the ordinal of the rank of the added card.
+     * @return the state of the hand with the extra card.
+     */
+    static int next(int state, int rankOrdinal) {
+        return TRANSITIONS[state * CardCodes.RANK_COUNT + rankOrdinal];
+    }
+
+    /**
+     * Gets the state of a hand after a card is added.
+     *
+     * @param state the state of the hand.
+     * @param code  the {@linkplain CardCodes card code} of the added card.
+     * @return the state of the hand with the extra card.
+     */
+    static int nextWithCode(int state, int code) {
+        return next(state, CardCodes.rankOrdinal(code));
+    }
+
+    /**
+     * Gets the best score of a hand state.
+     *
+     * @param state the state of the hand.
+     * @return the best score of the hand, or a score greater than {@link Hand#MAX_LEGAL_SCORE} if the hand is bust.
+     */
+    static int bestScore(int state) {
+        return state >= FIRST_SOFT_STATE && state < BUST ? state - FIRST_SOFT_STATE + MIN_SOFT_TOTAL : state;
+    }
+
+    /**
+     * Gets whether a hand state is soft.
+     *
+     * @param state the state of the hand.
+     * @return {@code true} if the hand counts an ace as a large point value; {@code false} otherwise.
+     */
+    static boolean isSoft(int state) {
+        return state >= FIRST_SOFT_STATE && state < BUST;
+    }
+
+    /**
+     * Gets whether a hand state is bust.
+     *
+     * @param state the state of the hand.
+     * @return {@code true} if the hand is bust; {@code false} otherwise.
+     */
+    static boolean isBust(int state) {
+        return state == BUST;
+    }
+
+    /**
+     * Gets whether a hand state is blackjack.
+     *
+     * @param state the state of the hand.
+     * @return {@code true} if the best score of the hand equals the maximum legal score; {@code false} otherwise.
+     */
+    static boolean isBlackjack(int state) {
+        return bestScore(state) == Hand.MAX_LEGAL_SCORE;
+    }
+
+    /**
+     * Gets the score of a hand state when all aces are counted as 1 point.
+     *
+     * @param state a state that is not bust.
+     * @return the hard total of the hand.
+     */
+    private static int hardTotal(int state) {
+        return isSoft(state) ? bestScore(state) - Hand.BIG_ACE_BONUS : state;
+    }
+
+    /**
+     * Computes an entry of the transition table.
+     *
+     * @param state the state of the hand.
+     * @param rank  the rank of the added card.
+     * @return the state of the hand with the extra card.
+     */
+    private static int computeNext(int state, Rank rank) {
+        if (state == BUST) {
+            return BUST;
+        }
+
+        var isAce = rank == Rank.ACE;
+        var hardTotal = hardTotal(state) + (isAce ? 1 : rank.points());
+
+        // A hard state can only hold aces once counting one as big would exceed the maximum legal score,
+        // so only soft states and the added card can contribute a big ace.
+        return of(hardTotal, isSoft(state) || isAce ? 1 : 0);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * A standard deck of cards that is shuffled one card at a time, as cards are dealt.
+ *
+ * Every card is drawn uniformly from the cards that haven't been dealt yet, by performing a single step
+ * of the Fisher-Yates algorithm. Given the same random numbers, the deck deals exactly the cards that
+ * {@link Cards#shuffle(byte[], RandomSource)} would have placed at the end of the array, in reverse order,
+ * but the cost of shuffling only grows with the number of cards actually dealt.
+ */
+final class LazyDeck implements Deck {
+
+    /**
+     * The card codes in the deck. The undealt cards are stored before index {@link #remaining}.
+     */
+    private final byte[] cards = Cards.fillWithStandardDecks(new byte[CardCodes.DECK_SIZE]);
+
+    /**
+     * The random number generator used to pick cards.
+     */
+    private final RandomSource generator;
+
+    /**
+     * The number of cards that haven't been dealt yet.
+     */
+    private int remaining = cards.length;
+
+    /**
+     * Constructs a new lazily shuffled deck.
+     *
+     * @param generator the random number generator used to pick cards.
+     * @throws IllegalArgumentException if {@code generator} is {@code null}.
+     */
+    LazyDeck(RandomSource generator) {
+        this.generator = requireThat("generator", generator, is(notNullValue()));
+    }
+
+    /**
+     * Returns all dealt cards to the deck. This takes constant time.
+     */
+    void reset() {
+        remaining = cards.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If all cards have been dealt, the deck is {@linkplain #reset() reset} first.
+     */
+    @Override
+    public int drawCode() {
+        if (remaining == 0) {
+            reset();
+        }
+
+        var last = --remaining;
+        if (last > 0) {
+            var picked = generator.nextInt(last + 1);
+            var card = cards[picked];
+            cards[picked] = cards[last];
+            cards[last] = card;
+        }
+        return cards[last];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int remaining() {
+        return remaining;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean countUndealt(int[] rankCounts) {
+        Cards.countRanks(cards, 0, remaining == 0 ? cards.length : remaining, rankCounts);
+        return true;
+    }
+}
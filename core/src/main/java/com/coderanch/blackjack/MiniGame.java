@@ -7,15 +7,16 @@
  */
 package com.coderanch.blackjack;
 
+import com.coderanch.blackjack.ExpectedValueCalculator.Evaluation;
 import com.coderanch.util.cli.InputUtility;
 
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.List;
 import java.util.Locale;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 import static com.coderanch.util.cli.InputUtility.oneOfTheseIgnoringCase;
 import static com.coderanch.util.require.Require.requireThat;
@@ -24,32 +25,72 @@ import static org.hamcrest.Matchers.notNullValue;
 
 /**
  * Mini game of Blackjack.
+ *
+ * The game is a state machine that never blocks: it is {@linkplain #start() started}, and then advanced by feeding it
+ * the player's decisions with {@link #onDecision(Choice)}, which returns the events that the decision caused.
+ * This lets a single thread advance any number of games. {@link #run()} plays a game on a console
+ * by reading decisions from an {@link InputUtility} and printing the events.
  */
 final class MiniGame {
 
     /**
      * The possible choices the player can make.
      */
-    private enum Choice {
-        HIT, PASS
+    enum Choice {
+        HIT, PASS, HINT
+    }
+
+    /**
+     * The stages of a game that has started.
+     */
+    enum Status {
+        IN_PROGRESS, WON, LOST, PASSED
     }
 
     /**
-     * The player's current hand.
+     * The prompt for the player's next decision.
+     */
+    static final String PROMPT = "hit, pass or hint?";
+
+    /**
+     * The factor that converts a probability to a percentage.
+     */
+    private static final double PERCENT = 100.0;
+
+    /**
+     * The player's current hand, or {@code null} if the game hasn't started.
      */
     private Hand hand;
 
     /**
      * The deck of cards used in the game.
      */
-    private final Deque<Card> deck;
+    private final Deck deck;
+
+    /**
+     * The view of {@link #deck} that keeps track of the cards that can still be dealt, or {@code null}
+     * until the first hint. Once it exists, all cards are dealt through it.
+     */
+    private CountingDeck countingDeck;
+
+    /**
+     * Represents whether the deck turned out not to tell which cards it holds, so that no hints can be given.
+     */
+    private boolean isDeckUncountable;
+
+    /**
+     * Calculates hints, or {@code null} until the first hint. The cache is kept for the whole game,
+     * so hints after the first one are mostly cache hits.
+     */
+    private ExpectedValueCalculator calculator;
+
     /**
-     * The input utility used for getting answers.
+     * The input utility used for getting answers, or {@code null} if the game is not played on a console.
      */
     private final InputUtility inputUtility;
 
     /**
-     * The print writer used for sending text to the player.
+     * The print writer used for sending text to the player, or {@code null} if the game is not played on a console.
      */
     private final PrintWriter printWriter;
 
@@ -63,113 +104,431 @@ final class MiniGame {
      *
      * @param inputUtility used for player input.
      * @param printWriter  used for printing text output.
-     * @param generator    used for creating a shuffled deck.
+     * @param generator    used for shuffling the deck as cards are dealt.
      */
     MiniGame(InputUtility inputUtility, PrintWriter printWriter, Random generator) {
+        this(inputUtility, printWriter, new LazyDeck(RandomSource.of(generator)));
+    }
+
+    /**
+     * Constructs new mini game of Blackjack that deals from the given deck.
+     *
+     * @param inputUtility used for player input.
+     * @param printWriter  used for printing text output.
+     * @param deck         used for dealing cards.
+     */
+    MiniGame(InputUtility inputUtility, PrintWriter printWriter, Deck deck) {
         this.inputUtility = requireThat("inputUtility", inputUtility, is(notNullValue()));
         this.printWriter = requireThat("printWriter", printWriter, is(notNullValue()));
+        this.deck = requireThat("deck", deck, is(notNullValue()));
+    }
 
-        requireThat("generator", generator, is(notNullValue()));
+    /**
+     * Constructs new mini game of Blackjack that is advanced by {@link #onDecision(Choice)}, without a console.
+     *
+     * @param deck used for dealing cards.
+     */
+    MiniGame(Deck deck) {
+        this.inputUtility = null;
+        this.printWriter = null;
+        this.deck = requireThat("deck", deck, is(notNullValue()));
+    }
 
-        this.deck = new ArrayDeque<>(Cards.getShuffledStandardDeck(generator));
+    /**
+     * Constructs new mini game of Blackjack that is advanced by {@link #onDecision(Choice)}, without a console,
+     * and that calculates hints with a calculator that may be shared with other games on the same thread.
+     * Sharing a calculator lets games reuse each other's cached outcomes.
+     *
+     * @param deck       used for dealing cards.
+     * @param calculator used for calculating hints.
+     */
+    MiniGame(Deck deck, ExpectedValueCalculator calculator) {
+        this(deck);
+        this.calculator = requireThat("calculator", calculator, is(notNullValue()));
     }
 
     /**
-     * Run the mini game.
-     * Will start a game of Blackjack.
-     * Will ask the player to hit or pass until he wins, loses, or passes.
+     * Deals the player's first two cards.
      *
-     * @throws IOException if an I/O exception occurred while prompting the player for an action.
+     * @return the events of the deal: {@link Event.Kind#HAND_DEALT}, followed by {@link Event.Kind#WON}
+     *         if the player was dealt blackjack.
+     * @throws IllegalStateException if the game has already started.
      */
-    public void run() throws IOException {
-        hand = new Hand(deck.remove(), deck.remove());
-        displayStatus();
-
-        while (!isGameOver()) {
-            var choice = getPlayerChoice();
-            switch (choice) {
-                case HIT:
-                    dealCard();
-                    displayStatus();
-                    break;
+    List<Event> start() {
+        if (hasStarted()) {
+            throw new IllegalStateException("The game has already started.");
+        }
 
-                case PASS:
-                    pass();
-                    printWriter.println("You passed. Game over.");
-                    break;
+        hand = new Hand(deck.draw(), deck.draw());
+        var dealt = new Event(Event.Kind.HAND_DEALT, hand, null, null);
+        return hand.isBlackjack() ? List.of(dealt, new Event(Event.Kind.WON, hand, null, null)) : List.of(dealt);
+    }
 
-                default:
-                    throw new AssertionError("Unexpected choice.");
-            }
+    /**
+     * Advances the game by one decision of the player.
+     *
+     * @param choice the player's decision.
+     * @return the events that the decision caused.
+     * @throws IllegalArgumentException if {@code choice} is {@code null}.
+     * @throws IllegalStateException    if the game hasn't started or is already over.
+     */
+    List<Event> onDecision(Choice choice) {
+        requireThat("choice", choice, is(notNullValue()));
+        if (!hasStarted() || isOver()) {
+            throw new IllegalStateException("The game is not in progress.");
+        }
+
+        switch (choice) {
+            case HIT:
+                var newCard = countingDeck == null ? deck.draw() : countingDeck.draw();
+                hand = hand.withAdditionalCard(newCard);
+                var dealt = new Event(Event.Kind.CARD_DEALT, hand, newCard, null);
+                if (hand.isBlackjack()) {
+                    return List.of(dealt, new Event(Event.Kind.WON, hand, null, null));
+                }
+                if (hand.isBust()) {
+                    return List.of(dealt, new Event(Event.Kind.LOST, hand, null, null));
+                }
+                return List.of(dealt);
+
+            case PASS:
+                hasPlayerPassed = true;
+                return List.of(new Event(Event.Kind.PASSED, hand, null, null));
+
+            case HINT:
+                var counted = countingDeck();
+                if (counted == null) {
+                    return List.of(new Event(Event.Kind.HINT, hand, null, null));
+                }
+                if (calculator == null) {
+                    calculator = new ExpectedValueCalculator();
+                }
+                var hint = calculator.evaluate(counted.composition(), hand.state());
+                return List.of(new Event(Event.Kind.HINT, hand, null, hint));
+
+            default:
+                throw new AssertionError("Unexpected choice.");
         }
     }
 
     /**
-     * Get the player's next choice.
+     * Gets the view of the deck that keeps track of the cards that can still be dealt, creating it if needed.
      *
-     * @return the player's choice.
-     * @throws IOException if there's a problem with the underlying stream.
+     * @return the counting deck, or {@code null} if the deck can't tell which cards it holds.
      */
-    private Choice getPlayerChoice() throws IOException {
-        var result = inputUtility.nextString("hit or pass?", oneOfTheseIgnoringCase("hit", "pass"));
-        return Choice.valueOf(result.trim().toUpperCase(Locale.ENGLISH));
+    private CountingDeck countingDeck() {
+        if (countingDeck == null && !isDeckUncountable) {
+            countingDeck = CountingDeck.of(deck);
+            isDeckUncountable = countingDeck == null;
+        }
+        return countingDeck;
     }
 
     /**
-     * Remember that the player has passed.
+     * Gets the player's current hand.
+     *
+     * @return the player's hand, or {@code null} if the game hasn't started.
      */
-    private void pass() {
-        hasPlayerPassed = true;
+    Hand hand() {
+        return hand;
     }
 
     /**
-     * Display the status of the game.
+     * Gets the stage of the game.
+     *
+     * @return the status of the game.
+     * @throws IllegalStateException if the game hasn't started.
      */
-    private void displayStatus() {
-        printWriter.println("Your cards are: ");
-        hand.cards().forEach(printWriter::println);
-        printWriter.printf("Your score is: %d", hand.bestScore());
-
+    Status status() {
+        if (!hasStarted()) {
+            throw new IllegalStateException("The game hasn't started.");
+        }
         if (hand.isBlackjack()) {
-            printWriter.println("You win. Game over.");
+            return Status.WON;
         }
         if (hand.isBust()) {
-            printWriter.println("You lose. Game over.");
+            return Status.LOST;
         }
+        return hasPlayerPassed ? Status.PASSED : Status.IN_PROGRESS;
+    }
+
+    /**
+     * Checks to see if the player's first cards have been dealt.
+     *
+     * @return {@code true} if the game has been {@linkplain #start() started}; {@code false} otherwise.
+     */
+    boolean hasStarted() {
+        return hand != null;
     }
 
     /**
      * Checks to see if the game is over.
      *
-     * @return if the game is over or not.
+     * @return {@code true} if the player has won, lost or passed; {@code false} otherwise.
+     */
+    boolean isOver() {
+        return hand != null && (hand.isBlackjack() || hand.isBust() || hasPlayerPassed);
+    }
+
+    /**
+     * Run the mini game.
+     * Will start a game of Blackjack.
+     * Will ask the player to hit or pass until they win, lose, or pass.
+     * The player can also ask for a hint, which tells them which choice has the best expected value.
+     *
+     * @throws IOException           if an I/O exception occurred while prompting the player for an action.
+     * @throws IllegalStateException if the game was constructed without a console.
      */
-    private boolean isGameOver() {
-        return hand.isBlackjack() || hand.isBust() || hasPlayerPassed;
+    public void run() throws IOException {
+        if (inputUtility == null) {
+            throw new IllegalStateException("The game has no console.");
+        }
+
+        display(start());
+        while (!isOver()) {
+            display(onDecision(getPlayerChoice()));
+        }
     }
 
     /**
-     * Deals another card to the player.
+     * Get the player's next choice.
+     *
+     * @return the player's choice.
+     * @throws IOException if there's a problem with the underlying stream.
      */
-    private void dealCard() {
-        printWriter.println("You hit.");
-        var newCard = deck.removeLast();
-        hand = hand.withAdditionalCard(newCard);
-        printWriter.println();
-        printWriter.printf("Your card was: %s", newCard);
+    private Choice getPlayerChoice() throws IOException {
+        var result = inputUtility.nextString(PROMPT, oneOfTheseIgnoringCase("hit", "pass", "hint"));
+        return Choice.valueOf(result.trim().toUpperCase(Locale.ENGLISH));
     }
 
+    /**
+     * Displays events on the console. The descriptions of the events separate lines with {@code '\n'};
+     * every line is printed with the line separator of the platform.
+     *
+     * @param events the events to display.
+     */
+    private void display(List<Event> events) {
+        var text = new StringBuilder();
+        events.forEach(event -> event.describeTo(text));
+
+        var start = 0;
+        for (var end = text.indexOf("\n"); end >= 0; end = text.indexOf("\n", start)) {
+            printWriter.println(text.substring(start, end));
+            start = end + 1;
+        }
+        printWriter.print(text.substring(start));
+        printWriter.flush();
+    }
+
+    /**
+     * Something that happened in a game, which the player should be told about.
+     */
+    static final class Event {
+
+        /**
+         * The kinds of events.
+         */
+        enum Kind {
+
+            /**
+             * The player was dealt their first two cards.
+             */
+            HAND_DEALT,
+
+            /**
+             * The player hit, and was dealt a card.
+             */
+            CARD_DEALT,
+
+            /**
+             * The player asked for a hint.
+             */
+            HINT,
+
+            /**
+             * The player passed, which ends the game.
+             */
+            PASSED,
+
+            /**
+             * The player has blackjack, which ends the game.
+             */
+            WON,
+
+            /**
+             * The player went bust, which ends the game.
+             */
+            LOST
+        }
+
+        /**
+         * The kind of the event.
+         */
+        private final Kind kind;
+
+        /**
+         * The player's hand after the event.
+         */
+        private final Hand hand;
+
+        /**
+         * The card that was dealt, or {@code null} if this is not a {@link Kind#CARD_DEALT} event.
+         */
+        private final Card card;
+
+        /**
+         * The hint, or {@code null} if this is not a {@link Kind#HINT} event or no hint is available for the deck.
+         */
+        private final Evaluation hint;
+
+        /**
+         * Constructs a new event.
+         *
+         * @param kind the kind of the event.
+         * @param hand the player's hand after the event.
+         * @param card the card that was dealt, if any.
+         * @param hint the hint, if any.
+         */
+        private Event(Kind kind, Hand hand, Card card, Evaluation hint) {
+            this.kind = kind;
+            this.hand = hand;
+            this.card = card;
+            this.hint = hint;
+        }
+
+        /**
+         * Gets the kind of the event.
+         *
+         * @return the kind of the event.
+         */
+        Kind kind() {
+            return kind;
+        }
+
+        /**
+         * Gets the player's hand after the event.
+         *
+         * @return the player's hand.
+         */
+        Hand hand() {
+            return hand;
+        }
+
+        /**
+         * Gets the card that was dealt.
+         *
+         * @return the card, or {@code null} if this is not a {@link Kind#CARD_DEALT} event.
+         */
+        Card card() {
+            return card;
+        }
+
+        /**
+         * Gets the hint that the player asked for.
+         *
+         * @return the hint, or {@code null} if this is not a {@link Kind#HINT} event
+         *         or no hint is available for the deck.
+         */
+        Evaluation hint() {
+            return hint;
+        }
+
+        /**
+         * Appends the text that tells the player about the event. Every line ends with a line feed.
+         *
+         * @param text the text to append to.
+         */
+        void describeTo(StringBuilder text) {
+            switch (kind) {
+                case CARD_DEALT:
+                    text.append("You hit.\n\nYour card was: ").append(card).append('\n');
+                    appendStatus(text);
+                    break;
+
+                case HAND_DEALT:
+                    appendStatus(text);
+                    break;
+
+                case HINT:
+                    if (hint == null) {
+                        text.append("No hint is available for this deck.\n");
+                        break;
+                    }
+                    text.append(String.format(
+                        Locale.ENGLISH,
+                        "Hint: %s. If you hit, you win %.1f%% and lose %.1f%% of the time.\n",
+                        hint.shouldHit() ? "hit" : "pass",
+                        PERCENT * hint.hitWinProbability(),
+                        PERCENT * hint.hitLossProbability()));
+                    break;
+
+                case PASSED:
+                    text.append("You passed. Game over.\n");
+                    break;
+
+                case WON:
+                    text.append("You win. Game over.\n");
+                    break;
+
+                case LOST:
+                    text.append("You lose. Game over.\n");
+                    break;
+
+                default:
+                    throw new AssertionError("Unexpected event.");
+            }
+        }
+
+        /**
+         * Appends the player's cards and score.
+         *
+         * @param text the text to append to.
+         */
+        private void appendStatus(StringBuilder text) {
+            text.append("Your cards are: \n");
+            hand.cards().forEach(c -> text.append(c).append('\n'));
+            text.append("Your score is: ").append(hand.bestScore()).append('\n');
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            var text = new StringBuilder();
+            describeTo(text);
+            return text.toString();
+        }
+    }
 
     /**
      * Play basic game of Blackjack through the console.
      *
-     * @param args main arguments
+     * A game can be replayed by passing the master seed and session index that were printed when it started.
+     *
+     * @param args optionally, the master seed followed by an optional session index.
      */
     public static void main(String[] args) throws IOException {
+        long masterSeed;
+        long sessionIndex;
+        try {
+            masterSeed = args.length > 0 ? Long.parseLong(args[0]) : new SplittableRandom().nextLong();
+            sessionIndex = args.length > 1 ? Long.parseLong(args[1]) : 0L;
+        }
+        catch (NumberFormatException e) {
+            System.err.println("Usage: MiniGame [masterSeed [sessionIndex]]");
+            return;
+        }
+        var streams = new RandomStreams(masterSeed);
+
         try (var inputUtility = new InputUtility()) {
+            var printWriter = new PrintWriter(System.out, true, StandardCharsets.UTF_8);
+            printWriter.printf("Game %d %d%n", masterSeed, sessionIndex);
+
             var miniGame = new MiniGame(
                 inputUtility,
-                new PrintWriter(System.out, true, StandardCharsets.UTF_8),
-                new Random());
+                printWriter,
+                new LazyDeck(streams.session(sessionIndex)));
             miniGame.run();
         }
     }
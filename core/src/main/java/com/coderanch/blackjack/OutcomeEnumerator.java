@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.coderanch.blackjack.Card.Rank;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Computes the exact outcomes of {@link MiniGame} for every starting hand dealt from a fresh standard deck,
+ * by enumerating every way the game can go rather than by simulating it.
+ *
+ * Suits and the ranks of ten-valued cards don't affect the game, so cards are only told apart by their
+ * {@linkplain Composition slot}. Instead of the orderings of 52 cards, the enumerator walks the sequences of slots
+ * that can be dealt, and weighs each step by the number of cards left in the dealt slot. The 1326 distinct starting
+ * hands collapse into 55 pairs of slots, which are enumerated in parallel.
+ */
+final class OutcomeEnumerator {
+
+    /**
+     * The totals that are accumulated while walking the games.
+     */
+    private enum Total {
+        WIN, BUST, PASS, SCORE
+    }
+
+    /**
+     * The strategy that decides whether to hit or pass.
+     */
+    private final Strategy strategy;
+
+    /**
+     * Constructs a new enumerator.
+     *
+     * @param strategy decides whether to hit or pass. Is called from multiple threads at once.
+     * @throws IllegalArgumentException if {@code strategy} is {@code null}.
+     */
+    OutcomeEnumerator(Strategy strategy) {
+        this.strategy = requireThat("strategy", strategy, is(notNullValue()));
+    }
+
+    /**
+     * Computes the outcome of every starting hand.
+     *
+     * @return the outcomes of all pairs of ranks, ordered by the first rank and then the second rank.
+     */
+    List<StartingHandOutcome> enumerate() {
+        var pairs = new ArrayList<int[]>();
+        for (var first = 0; first < Composition.SLOT_COUNT; first++) {
+            for (var second = first; second < Composition.SLOT_COUNT; second++) {
+                pairs.add(new int[] {first, second});
+            }
+        }
+
+        return pairs.parallelStream()
+            .map(pair -> enumerate(pair[0], pair[1]))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Computes the outcome of the starting hands with a pair of slots.
+     *
+     * @param firstSlot  the slot of the first card.
+     * @param secondSlot the slot of the second card, which may not be lower than {@code firstSlot}.
+     * @return the outcome of the starting hands.
+     */
+    private StartingHandOutcome enumerate(int firstSlot, int secondSlot) {
+        var remaining = Composition.ofDecks(1);
+        var firstCount = remaining.count(firstSlot);
+        remaining.removeFromSlot(firstSlot);
+        var secondCount = remaining.count(secondSlot);
+        remaining.removeFromSlot(secondSlot);
+
+        // Ordered pairs of distinct cards are counted twice, unless both cards come from the same slot.
+        var weight = firstSlot == secondSlot ? (long) firstCount * secondCount / 2 : (long) firstCount * secondCount;
+
+        var totals = new double[Total.values().length];
+        var state = HandState.next(HandState.next(HandState.EMPTY, firstSlot), secondSlot);
+        walk(remaining, state, hardPoints(firstSlot) + hardPoints(secondSlot), 1.0, totals);
+
+        return new StartingHandOutcome(
+            Rank.values()[firstSlot],
+            Rank.values()[secondSlot],
+            weight,
+            totals[Total.WIN.ordinal()],
+            totals[Total.BUST.ordinal()],
+            totals[Total.PASS.ordinal()],
+            totals[Total.SCORE.ordinal()]);
+    }
+
+    /**
+     * Walks every way a game can continue, and adds the weighted outcomes to the totals.
+     *
+     * @param remaining   the cards that can still be dealt. Is modified, but restored before returning.
+     * @param handState   the {@linkplain HandState state} of the hand.
+     * @param hardTotal   the score of the hand when all aces are counted as 1 point.
+     * @param probability the chance of reaching this hand.
+     * @param totals      the weighted totals, indexed by the ordinals of {@link Total}.
+     */
+    private void walk(Composition remaining, int handState, int hardTotal, double probability, double[] totals) {
+        if (HandState.isBlackjack(handState)) {
+            totals[Total.WIN.ordinal()] += probability;
+            totals[Total.SCORE.ordinal()] += probability * Hand.MAX_LEGAL_SCORE;
+            return;
+        }
+        if (HandState.isBust(handState)) {
+            totals[Total.BUST.ordinal()] += probability;
+            totals[Total.SCORE.ordinal()] += probability * hardTotal;
+            return;
+        }
+        if (!strategy.shouldHit(handState)) {
+            totals[Total.PASS.ordinal()] += probability;
+            totals[Total.SCORE.ordinal()] += probability * HandState.bestScore(handState);
+            return;
+        }
+
+        var total = remaining.total();
+        for (var slot = 0; slot < Composition.SLOT_COUNT; slot++) {
+            var count = remaining.count(slot);
+            if (count == 0) {
+                continue;
+            }
+
+            remaining.removeFromSlot(slot);
+            walk(
+                remaining,
+                HandState.next(handState, slot),
+                hardTotal + hardPoints(slot),
+                probability * count / total,
+                totals);
+            remaining.addToSlot(slot);
+        }
+    }
+
+    /**
+     * Gets the points of the cards in a slot when aces are counted as 1 point.
+     *
+     * @param slot the slot.
+     * @return the points of a card in the slot.
+     */
+    private static int hardPoints(int slot) {
+        return slot + 1;
+    }
+
+    /**
+     * Prints the outcome table of a strategy that hits until the hand reaches a minimum score.
+     *
+     * @param args optionally, the lowest score to pass on, which defaults to 17.
+     */
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static void main(String[] args) {
+        var passScore = args.length > 0 ? Integer.parseInt(args[0]) : 17;
+        var printWriter = new PrintWriter(System.out, true, StandardCharsets.UTF_8);
+
+        printWriter.println("first second weight win bust pass score");
+        new OutcomeEnumerator(Strategy.passOn(passScore)).enumerate().forEach(printWriter::println);
+    }
+}
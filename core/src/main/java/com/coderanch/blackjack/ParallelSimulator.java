@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Plays games of {@link MiniGame} on all threads of a {@link ForkJoinPool}.
+ *
+ * Games are split into fixed-size blocks, and each block is dealt from its own {@linkplain RandomStreams#session(long)
+ * random stream}. Each task records into its own {@link SimulationStatistics}, which are merged once the tasks are
+ * done. Because neither the games of a block nor the merged result depend on which thread played the block,
+ * a parallel run records exactly the same outcomes as a {@linkplain #runSequentially(long) sequential} one.
+ */
+final class ParallelSimulator {
+
+    /**
+     * The number of games played from a single random stream.
+     */
+    static final int BLOCK_SIZE = 4096;
+
+    /**
+     * The strategy that decides whether to hit or pass.
+     */
+    private final Strategy strategy;
+
+    /**
+     * The random streams that the blocks are dealt from.
+     */
+    private final RandomStreams streams;
+
+    /**
+     * Constructs a new parallel simulator.
+     *
+     * @param strategy   decides whether to hit or pass. Is called from multiple threads at once.
+     * @param masterSeed the seed that the random streams of all blocks are derived from.
+     * @throws IllegalArgumentException if {@code strategy} is {@code null}.
+     */
+    ParallelSimulator(Strategy strategy, long masterSeed) {
+        this.strategy = requireThat("strategy", strategy, is(notNullValue()));
+        this.streams = new RandomStreams(masterSeed);
+    }
+
+    /**
+     * Plays a number of games on the {@linkplain ForkJoinPool#commonPool() common pool}.
+     *
+     * @param games the number of games to play.
+     * @return the outcomes of the games.
+     * @throws IllegalArgumentException if {@code games} is negative.
+     */
+    SimulationStatistics run(long games) {
+        return run(games, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Plays a number of games on a pool of threads.
+     *
+     * @param games the number of games to play.
+     * @param pool  the pool to play the games on.
+     * @return the outcomes of the games.
+     * @throws IllegalArgumentException if {@code games} is negative or {@code pool} is {@code null}.
+     */
+    SimulationStatistics run(long games, ForkJoinPool pool) {
+        requireThat("games", games, is(greaterThanOrEqualTo(0L)));
+        requireThat("pool", pool, is(notNullValue()));
+
+        return pool.invoke(new BlockTask(games, 0, blockCount(games)));
+    }
+
+    /**
+     * Plays a number of games on the current thread, dealing the same cards as {@link #run(long)}.
+     *
+     * @param games the number of games to play.
+     * @return the outcomes of the games.
+     * @throws IllegalArgumentException if {@code games} is negative.
+     */
+    SimulationStatistics runSequentially(long games) {
+        requireThat("games", games, is(greaterThanOrEqualTo(0L)));
+
+        var statistics = new SimulationStatistics();
+        for (var block = 0L; block < blockCount(games); block++) {
+            playBlock(games, block, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * Gets the number of blocks that a number of games is split into.
+     *
+     * @param games the number of games.
+     * @return the number of blocks.
+     */
+    private static long blockCount(long games) {
+        return (games + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    /**
+     * Plays the games of a single block.
+     *
+     * @param games      the total number of games, which determines the size of the last block.
+     * @param block      the index of the block.
+     * @param statistics the statistics to record the outcomes in.
+     */
+    private void playBlock(long games, long block, SimulationStatistics statistics) {
+        var simulator = new Simulator(strategy, streams.session(block));
+        simulator.run(Math.min(BLOCK_SIZE, games - block * BLOCK_SIZE), statistics);
+    }
+
+    /**
+     * Plays a range of blocks, splitting the range in halves until a single block is left.
+     */
+    private final class BlockTask extends RecursiveTask<SimulationStatistics> {
+
+        /**
+         * Serial version UID.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The total number of games.
+         */
+        private final long games;
+
+        /**
+         * The index of the first block to play.
+         */
+        private final long fromBlock;
+
+        /**
+         * The index after the last block to play.
+         */
+        private final long toBlock;
+
+        /**
+         * Constructs a new task.
+         *
+         * @param games     the total number of games.
+         * @param fromBlock the index of the first block to play.
+         * @param toBlock   the index after the last block to play.
+         */
+        BlockTask(long games, long fromBlock, long toBlock) {
+            this.games = games;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected SimulationStatistics compute() {
+            if (toBlock - fromBlock <= 1) {
+                var statistics = new SimulationStatistics();
+                for (var block = fromBlock; block < toBlock; block++) {
+                    playBlock(games, block, statistics);
+                }
+                return statistics;
+            }
+
+            var middle = (fromBlock + toBlock) >>> 1;
+            var left = new BlockTask(games, fromBlock, middle);
+            left.fork();
+            var right = new BlockTask(games, middle, toBlock).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * A source of uniformly distributed random integers, used for shuffling and dealing cards.
+ *
+ * Implementations need not be thread-safe.
+ */
+@FunctionalInterface
+interface RandomSource {
+
+    /**
+     * Gets a random integer.
+     *
+     * @param bound the exclusive upper bound of the integer. Must be positive.
+     * @return a uniformly distributed integer between {@code 0} (inclusive) and {@code bound} (exclusive).
+     */
+    int nextInt(int bound);
+
+    /**
+     * Gets a random source that draws its integers from a {@link Random}.
+     * Note that {@code Random} is thread-safe, and pays for it on every call.
+     *
+     * @param generator the generator to draw integers from.
+     * @return a random source backed by {@code generator}.
+     * @throws IllegalArgumentException if {@code generator} is {@code null}.
+     */
+    static RandomSource of(Random generator) {
+        return requireThat("generator", generator, is(notNullValue()))::nextInt;
+    }
+
+    /**
+     * Gets a random source that draws its integers from a {@link SplittableRandom}.
+     *
+     * @param generator the generator to draw integers from.
+     * @return a random source backed by {@code generator}.
+     * @throws IllegalArgumentException if {@code generator} is {@code null}.
+     */
+    static RandomSource of(SplittableRandom generator) {
+        return requireThat("generator", generator, is(notNullValue()))::nextInt;
+    }
+}
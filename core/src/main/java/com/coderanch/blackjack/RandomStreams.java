@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.SplittableRandom;
+
+/**
+ * Derives independent, reproducible streams of random numbers from a single master seed.
+ *
+ * The stream of a session only depends on the master seed and the index of the session,
+ * so a game can be replayed exactly from {@code (masterSeed, sessionIndex)},
+ * no matter which thread played it or how many other sessions were played before it.
+ * Streams don't share any state, so every thread can deal from its own streams without contention.
+ */
+final class RandomStreams {
+
+    /**
+     * The odd constant that session indices are scaled with, taken from SplitMix64.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * The first multiplier of the SplitMix64 finalizer.
+     */
+    private static final long MIX_MULTIPLIER_1 = 0xbf58476d1ce4e5b9L;
+
+    /**
+     * The second multiplier of the SplitMix64 finalizer.
+     */
+    private static final long MIX_MULTIPLIER_2 = 0x94d049bb133111ebL;
+
+    /**
+     * The first shift of the SplitMix64 finalizer.
+     */
+    private static final int MIX_SHIFT_1 = 30;
+
+    /**
+     * The second shift of the SplitMix64 finalizer.
+     */
+    private static final int MIX_SHIFT_2 = 27;
+
+    /**
+     * The third shift of the SplitMix64 finalizer.
+     */
+    private static final int MIX_SHIFT_3 = 31;
+
+    /**
+     * The seed that all streams are derived from.
+     */
+    private final long masterSeed;
+
+    /**
+     * Constructs a new source of random streams.
+     *
+     * @param masterSeed the seed that all streams are derived from.
+     */
+    RandomStreams(long masterSeed) {
+        this.masterSeed = masterSeed;
+    }
+
+    /**
+     * Gets the seed that all streams are derived from.
+     *
+     * @return the master seed.
+     */
+    long masterSeed() {
+        return masterSeed;
+    }
+
+    /**
+     * Gets the seed of a session's stream.
+     *
+     * @param sessionIndex the index of the session.
+     * @return a seed that is different for every session index.
+     */
+    long sessionSeed(long sessionIndex) {
+        return mix(masterSeed + (sessionIndex + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Creates a new generator for a session.
+     * Generators created for the same session produce the same numbers.
+     *
+     * @param sessionIndex the index of the session.
+     * @return a new generator that is independent of the generators of other sessions.
+     */
+    SplittableRandom sessionGenerator(long sessionIndex) {
+        return new SplittableRandom(sessionSeed(sessionIndex));
+    }
+
+    /**
+     * Creates a new random source for a session.
+     *
+     * @param sessionIndex the index of the session.
+     * @return a new random source that is independent of the random sources of other sessions.
+     */
+    RandomSource session(long sessionIndex) {
+        return RandomSource.of(sessionGenerator(sessionIndex));
+    }
+
+    /**
+     * Derives the random streams of a worker.
+     * A worker can derive streams for its own sessions without coordinating with other workers.
+     *
+     * @param workerIndex the index of the worker.
+     * @return the random streams of the worker, with a master seed that depends on this master seed.
+     */
+    RandomStreams worker(long workerIndex) {
+        return new RandomStreams(mix(sessionSeed(workerIndex) ^ GOLDEN_GAMMA));
+    }
+
+    /**
+     * Scrambles the bits of a number using the SplitMix64 finalizer, which is a bijection.
+     *
+     * @param value the number to scramble.
+     * @return the scrambled number.
+     */
+    private static long mix(long value) {
+        var z = (value ^ (value >>> MIX_SHIFT_1)) * MIX_MULTIPLIER_1;
+        z = (z ^ (z >>> MIX_SHIFT_2)) * MIX_MULTIPLIER_2;
+        return z ^ (z >>> MIX_SHIFT_3);
+    }
+}
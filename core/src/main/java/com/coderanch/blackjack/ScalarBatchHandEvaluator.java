@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Scores the hands of a batch one at a time.
+ */
+final class ScalarBatchHandEvaluator implements BatchHandEvaluator {
+
+    /**
+     * The only instance of this stateless evaluator.
+     */
+    static final ScalarBatchHandEvaluator INSTANCE = new ScalarBatchHandEvaluator();
+
+    /**
+     * The highest hard total that can count an ace as big without going bust.
+     */
+    static final int MAX_SOFT_HARD_TOTAL = Hand.MAX_LEGAL_SCORE - Hand.BIG_ACE_BONUS;
+
+    private ScalarBatchHandEvaluator() { }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void evaluate(HandBatch batch) {
+        requireThat("batch", batch, is(notNullValue()));
+        evaluate(batch, 0);
+    }
+
+    /**
+     * Scores the hands of a batch from a given index on.
+     *
+     * @param batch the batch to score.
+     * @param from  the index of the first hand to score.
+     */
+    static void evaluate(HandBatch batch, int from) {
+        var hardTotals = batch.hardTotals();
+        var aceCounts = batch.aceCounts();
+        var bestScores = batch.bestScores();
+        var busts = batch.busts();
+        var blackjacks = batch.blackjacks();
+
+        for (var i = from; i < batch.size(); i++) {
+            var hardTotal = hardTotals[i];
+            var isSoft = aceCounts[i] > 0 && hardTotal <= MAX_SOFT_HARD_TOTAL;
+            var bestScore = isSoft ? hardTotal + Hand.BIG_ACE_BONUS : hardTotal;
+            bestScores[i] = bestScore;
+            busts[i] = hardTotal > Hand.MAX_LEGAL_SCORE;
+            blackjacks[i] = bestScore == Hand.MAX_LEGAL_SCORE;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import com.coderanch.blackjack.MiniGame.Choice;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Replays scripted games of {@link MiniGame} in bulk, without a console.
+ *
+ * A script holds one record per line: the master seed of a game, followed by the player's decisions,
+ * separated by white space. Blank lines and lines that start with {@code #} are skipped. For example:
+ * <pre>
+ * # seed decisions...
+ * 1 hint hit pass
+ * -42 pass
+ * </pre>
+ * Every game is dealt like {@code MiniGame.main} deals a game with the same master seed and session index {@code 0},
+ * so any record can be replayed on the console. For every record, one result line is written:
+ * the master seed, the {@linkplain MiniGame.Status status} of the game after the last decision, the score,
+ * and the player's cards as rank and suit letters, such as {@code 1 PASSED 12 7H,AC,4C}.
+ *
+ * All games share one hint calculator, so hints are mostly cache hits once many games have been played.
+ * Instances are not thread-safe.
+ */
+final class ScriptRunner {
+
+    /**
+     * The letters of the ranks, by ordinal.
+     */
+    private static final String RANK_LETTERS = "A23456789TJQK";
+
+    /**
+     * The letters of the suits, by ordinal.
+     */
+    private static final String SUIT_LETTERS = "SHCD";
+
+    /**
+     * The number of cached outcomes above which the hint cache is cleared, to bound its memory.
+     */
+    private static final int MAX_CACHE_SIZE = 1_048_576;
+
+    /**
+     * The size of the buffers of the script and the results.
+     */
+    private static final int BUFFER_SIZE = 65_536;
+
+    /**
+     * The number of nanoseconds in a second.
+     */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /**
+     * The hint calculator that all games share.
+     */
+    private final ExpectedValueCalculator calculator = new ExpectedValueCalculator();
+
+    /**
+     * Reuses the characters of a result line.
+     */
+    private final StringBuilder result = new StringBuilder();
+
+    /**
+     * Plays every record of a script, and writes a result line for each of them.
+     *
+     * @param script  the script to read the records from.
+     * @param results the writer to write the results to. Should be buffered; it is not flushed.
+     * @return the number of games that were played.
+     * @throws IllegalArgumentException if {@code script} or {@code results} is {@code null},
+     *                                  or if a record is invalid. The message holds the number of the line.
+     * @throws IOException              if the script could not be read, or the results could not be written.
+     */
+    long run(BufferedReader script, Writer results) throws IOException {
+        requireThat("script", script, is(notNullValue()));
+        requireThat("results", results, is(notNullValue()));
+
+        var games = 0L;
+        var lineNumber = 0L;
+        for (var line = script.readLine(); line != null; line = script.readLine()) {
+            lineNumber++;
+            var start = skipWhitespace(line, 0);
+            if (start == line.length() || line.charAt(start) == '#') {
+                continue;
+            }
+
+            try {
+                play(line, start);
+            }
+            catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+            results.append(result).append('\n');
+            games++;
+
+            if (calculator.cacheSize() > MAX_CACHE_SIZE) {
+                calculator.clearCache();
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Plays a single record, and leaves its result line in {@link #result}.
+     *
+     * @param line  the record.
+     * @param start the index of the first character of the record.
+     * @throws IllegalArgumentException if the record is invalid.
+     */
+    private void play(String line, int start) {
+        var end = skipToken(line, start);
+        var seedToken = line.substring(start, end);
+        long masterSeed;
+        try {
+            masterSeed = Long.parseLong(seedToken);
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + seedToken + "' is not a seed.", e);
+        }
+
+        var game = new MiniGame(new LazyDeck(new RandomStreams(masterSeed).session(0)), calculator);
+        game.start();
+
+        var decisions = 0;
+        for (var i = skipWhitespace(line, end); i < line.length(); i = skipWhitespace(line, end)) {
+            end = skipToken(line, i);
+            var choice = parseChoice(line, i, end);
+            if (game.isOver()) {
+                throw new IllegalArgumentException("The game is over after " + decisions + " decisions.");
+            }
+            game.onDecision(choice);
+            decisions++;
+        }
+
+        appendResult(masterSeed, game);
+    }
+
+    /**
+     * Writes the result line of a game to {@link #result}.
+     *
+     * @param masterSeed the master seed of the game.
+     * @param game       the game after its last decision.
+     */
+    private void appendResult(long masterSeed, MiniGame game) {
+        var hand = game.hand();
+        result.setLength(0);
+        result.append(masterSeed).append(' ').append(game.status()).append(' ').append(hand.bestScore()).append(' ');
+
+        var cards = hand.cards();
+        for (var i = 0; i < cards.size(); i++) {
+            if (i > 0) {
+                result.append(',');
+            }
+            var card = cards.get(i);
+            result.append(RANK_LETTERS.charAt(card.rank().ordinal()))
+                  .append(SUIT_LETTERS.charAt(card.suit().ordinal()));
+        }
+    }
+
+    /**
+     * Parses a decision, ignoring case.
+     *
+     * @param line  the line that holds the decision.
+     * @param start the index of the first character of the decision.
+     * @param end   the index after the last character of the decision.
+     * @return the decision.
+     * @throws IllegalArgumentException if the characters are not a decision.
+     */
+    private static Choice parseChoice(String line, int start, int end) {
+        for (var choice : Choice.values()) {
+            var name = choice.name();
+            if (name.length() == end - start && line.regionMatches(true, start, name, 0, name.length())) {
+                return choice;
+            }
+        }
+        throw new IllegalArgumentException("'" + line.substring(start, end) + "' is not a decision.");
+    }
+
+    /**
+     * Finds the first character that is not white space.
+     *
+     * @param line the line to search.
+     * @param from the index to start searching at.
+     * @return the index of the first character at or after {@code from} that is not white space,
+     *         or the length of the line if there is none.
+     */
+    private static int skipWhitespace(String line, int from) {
+        var i = from;
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Finds the end of a token.
+     *
+     * @param line the line to search.
+     * @param from the index of the first character of the token.
+     * @return the index of the first white space character after {@code from}, or the length of the line.
+     */
+    private static int skipToken(String line, int from) {
+        var i = from;
+        while (i < line.length() && !Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Replays a script, and writes the results to the standard output.
+     * A summary of the run is written to the standard error.
+     *
+     * @param args the path of the script, or {@code -} to read the script from the standard input.
+     * @throws IOException if the script could not be read, or the results could not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: ScriptRunner <script | ->");
+            return;
+        }
+
+        var script = "-".equals(args[0])
+            ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BUFFER_SIZE)
+            : Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8);
+        var results = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        try (script) {
+            var start = System.nanoTime();
+            var games = new ScriptRunner().run(script, results);
+            results.flush();
+
+            var seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+            System.err.printf(Locale.ENGLISH, "%d games in %.2f s (%.0f games/s)%n", games, seconds, games / seconds);
+        }
+    }
+}
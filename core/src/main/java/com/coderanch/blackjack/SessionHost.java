@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import com.coderanch.util.cli.InputUtility;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Hosts many concurrent sessions of {@link MiniGame}, each on its own virtual thread.
+ *
+ * A session blocks its virtual thread while it waits for the player's next decision, just like a console game does.
+ * A blocked virtual thread only holds on to its stack and its session's buffers, so many thousands of idle sessions
+ * fit in a modest heap. The streams of a session must not block by holding a monitor, because that would pin
+ * the carrier thread that runs the virtual thread.
+ *
+ * The cards of every session are dealt from the {@linkplain RandomStreams#session(long) random stream} of its
+ * session index, so any session can be replayed from the master seed of the host and its session index.
+ */
+final class SessionHost implements AutoCloseable {
+
+    /**
+     * The random streams that the sessions are dealt from.
+     */
+    private final RandomStreams streams;
+
+    /**
+     * The executor that starts a new virtual thread for every session.
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * The index of the next session.
+     */
+    private final AtomicLong nextSessionIndex = new AtomicLong();
+
+    /**
+     * The number of sessions that have been started, but haven't ended yet.
+     */
+    private final AtomicInteger activeSessions = new AtomicInteger();
+
+    /**
+     * The number of sessions that ended with a finished game.
+     */
+    private final AtomicLong completedSessions = new AtomicLong();
+
+    /**
+     * The number of sessions that ended because of an error, such as the player disconnecting.
+     */
+    private final AtomicLong failedSessions = new AtomicLong();
+
+    /**
+     * Constructs a new session host.
+     *
+     * @param masterSeed the seed that the random streams of all sessions are derived from.
+     */
+    SessionHost(long masterSeed) {
+        this.streams = new RandomStreams(masterSeed);
+    }
+
+    /**
+     * Starts a new session that plays a single game.
+     * The session takes ownership of the streams, and closes them when the game ends.
+     *
+     * @param input  the stream to read the player's decisions from.
+     * @param output the stream to write the status of the game to.
+     * @return the index of the new session.
+     * @throws IllegalArgumentException if {@code input} or {@code output} is {@code null}.
+     * @throws java.util.concurrent.RejectedExecutionException if the host has been closed.
+     */
+    long start(InputStream input, OutputStream output) {
+        requireThat("input", input, is(notNullValue()));
+        requireThat("output", output, is(notNullValue()));
+
+        var sessionIndex = nextSessionIndex.getAndIncrement();
+        activeSessions.incrementAndGet();
+        try {
+            executor.execute(() -> runSession(sessionIndex, input, output));
+        }
+        catch (RuntimeException e) {
+            activeSessions.decrementAndGet();
+            throw e;
+        }
+        return sessionIndex;
+    }
+
+    /**
+     * Plays the game of a session.
+     *
+     * @param sessionIndex the index of the session.
+     * @param input        the stream to read the player's decisions from.
+     * @param output       the stream to write the status of the game to.
+     */
+    private void runSession(long sessionIndex, InputStream input, OutputStream output) {
+        var isCompleted = false;
+        // Writing straight to an OutputStreamWriter skips the default BufferedWriter, saving memory per session.
+        try (
+            var printWriter = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), true);
+            var inputUtility = new InputUtility(input, StandardCharsets.UTF_8, printWriter)
+        ) {
+            new MiniGame(inputUtility, printWriter, new LazyDeck(streams.session(sessionIndex))).run();
+            printWriter.flush();
+            isCompleted = true;
+        }
+        catch (IOException | RuntimeException e) {
+            // The session failed. Counting it is all that can be done, because its stream is gone.
+        }
+        finally {
+            // Errors still propagate, but every session that ends is counted exactly once.
+            if (isCompleted) {
+                completedSessions.incrementAndGet();
+            }
+            else {
+                failedSessions.incrementAndGet();
+            }
+            activeSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the number of sessions that have been started, but haven't ended yet.
+     *
+     * @return the number of active sessions.
+     */
+    int activeSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Gets the number of sessions that ended with a finished game.
+     *
+     * @return the number of completed sessions.
+     */
+    long completedSessions() {
+        return completedSessions.get();
+    }
+
+    /**
+     * Gets the number of sessions that ended because of an error, such as the player disconnecting.
+     *
+     * @return the number of failed sessions.
+     */
+    long failedSessions() {
+        return failedSessions.get();
+    }
+
+    /**
+     * Stops accepting new sessions, and waits for all active sessions to end.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * A concurrent store of games by session index, which evicts games that are abandoned.
+ *
+ * A game <em>expires</em> once it hasn't been accessed for the time to live. Expired games are never returned,
+ * and are removed by {@link #evictExpired()}, which the owner of the store should call periodically.
+ * When the store holds more than its maximum number of games, the games that were added first are evicted,
+ * whether they expired or not. Together, both bounds keep abandoned games from leaking memory.
+ *
+ * The store does not synchronize access to the games themselves.
+ */
+final class SessionStore {
+
+    /**
+     * The games by session index.
+     */
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The session indices in the order in which they were added, including those of games that were removed since.
+     */
+    private final Queue<Long> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of session indices in the insertion order, which {@link ConcurrentLinkedQueue#size()} can only
+     * tell by traversing the queue. Indices are only taken out of the queue while holding its lock.
+     */
+    private final AtomicInteger insertionOrderLength = new AtomicInteger();
+
+    /**
+     * The maximum number of games in the store.
+     */
+    private final int maxSessions;
+
+    /**
+     * The time after its last access that a game expires, in nanoseconds.
+     */
+    private final long timeToLiveNanos;
+
+    /**
+     * The clock that access times are read from, in nanoseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The number of games that were evicted because they expired.
+     */
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * The number of games that were evicted because the store was full.
+     */
+    private final AtomicLong overflows = new AtomicLong();
+
+    /**
+     * Constructs a new store that reads access times from {@link System#nanoTime()}.
+     *
+     * @param maxSessions the maximum number of games in the store.
+     * @param timeToLive  the time after its last access that a game expires.
+     * @throws IllegalArgumentException if {@code maxSessions} is not positive,
+     *                                  or if {@code timeToLive} is {@code null} or not positive.
+     */
+    SessionStore(int maxSessions, Duration timeToLive) {
+        this(maxSessions, timeToLive, System::nanoTime);
+    }
+
+    /**
+     * Constructs a new store.
+     *
+     * @param maxSessions the maximum number of games in the store.
+     * @param timeToLive  the time after its last access that a game expires.
+     * @param clock       the clock that access times are read from, in nanoseconds.
+     * @throws IllegalArgumentException if {@code maxSessions} is not positive,
+     *                                  if {@code timeToLive} is {@code null} or not positive,
+     *                                  or if {@code clock} is {@code null}.
+     */
+    SessionStore(int maxSessions, Duration timeToLive, LongSupplier clock) {
+        this.maxSessions = requireThat("maxSessions", maxSessions, is(greaterThan(0)));
+        requireThat("timeToLive", timeToLive, is(notNullValue()));
+        this.timeToLiveNanos = requireThat("timeToLive", timeToLive.toNanos(), is(greaterThan(0L)));
+        this.clock = requireThat("clock", clock, is(notNullValue()));
+    }
+
+    /**
+     * Adds a game to the store, evicting the oldest games if the store is full.
+     *
+     * @param sessionIndex the index of the game's session.
+     * @param game         the game to add.
+     * @throws IllegalArgumentException if {@code game} is {@code null}.
+     * @throws IllegalStateException    if the store already holds a game with the same session index.
+     */
+    void add(long sessionIndex, MiniGame game) {
+        requireThat("game", game, is(notNullValue()));
+
+        if (entries.putIfAbsent(sessionIndex, new Entry(game, clock.getAsLong())) != null) {
+            throw new IllegalStateException("The store already holds session " + sessionIndex + ".");
+        }
+        insertionOrder.add(sessionIndex);
+        insertionOrderLength.incrementAndGet();
+
+        if (entries.size() > maxSessions) {
+            evictOldest();
+        }
+    }
+
+    /**
+     * Evicts the oldest games until the store is within its bound. Concurrent adds take turns, and the size is
+     * checked again after every removal, so games that were added together don't evict more games than necessary.
+     */
+    private void evictOldest() {
+        synchronized (insertionOrder) {
+            while (entries.size() > maxSessions) {
+                var oldest = insertionOrder.poll();
+                if (oldest == null) {
+                    return;
+                }
+                insertionOrderLength.decrementAndGet();
+                if (entries.remove(oldest) != null) {
+                    overflows.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets a game, and marks it as accessed.
+     *
+     * @param sessionIndex the index of the game's session.
+     * @return the game, or {@code null} if the store doesn't hold the game or the game has expired.
+     */
+    MiniGame get(long sessionIndex) {
+        var entry = entries.get(sessionIndex);
+        if (entry == null) {
+            return null;
+        }
+
+        var now = clock.getAsLong();
+        if (entry.isExpired(now)) {
+            if (entries.remove(sessionIndex, entry)) {
+                expirations.incrementAndGet();
+            }
+            return null;
+        }
+        entry.lastAccess = now;
+        return entry.game;
+    }
+
+    /**
+     * Removes all games that have expired.
+     *
+     * @return the number of removed games.
+     */
+    int evictExpired() {
+        var now = clock.getAsLong();
+        var evicted = 0;
+        for (var mapping : entries.entrySet()) {
+            if (mapping.getValue().isExpired(now) && entries.remove(mapping.getKey(), mapping.getValue())) {
+                evicted++;
+            }
+        }
+        expirations.addAndGet(evicted);
+
+        // Drop the session indices of removed games, so the insertion order can't grow without bound.
+        if (insertionOrderLength.get() > 2 * maxSessions) {
+            synchronized (insertionOrder) {
+                insertionOrder.removeIf(sessionIndex -> {
+                    if (entries.containsKey(sessionIndex)) {
+                        return false;
+                    }
+                    insertionOrderLength.decrementAndGet();
+                    return true;
+                });
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Gets the number of games in the store, including those that have expired but haven't been evicted yet.
+     *
+     * @return the size of the store.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of games that were evicted because they expired.
+     *
+     * @return the number of expirations.
+     */
+    long expirations() {
+        return expirations.get();
+    }
+
+    /**
+     * Gets the number of games that were evicted because the store was full.
+     *
+     * @return the number of overflows.
+     */
+    long overflows() {
+        return overflows.get();
+    }
+
+    /**
+     * A game in the store, and the time it was last accessed.
+     */
+    private final class Entry {
+
+        /**
+         * The game.
+         */
+        private final MiniGame game;
+
+        /**
+         * The time that the game was last accessed, in nanoseconds.
+         */
+        private volatile long lastAccess;
+
+        /**
+         * Constructs a new entry.
+         *
+         * @param game       the game.
+         * @param lastAccess the time that the game was added.
+         */
+        private Entry(MiniGame game, long lastAccess) {
+            this.game = game;
+            this.lastAccess = lastAccess;
+        }
+
+        /**
+         * Gets whether the game has expired.
+         *
+         * @param now the current time, in nanoseconds.
+         * @return {@code true} if the game hasn't been accessed for the time to live; {@code false} otherwise.
+         */
+        private boolean isExpired(long now) {
+            return now - lastAccess >= timeToLiveNanos;
+        }
+    }
+}
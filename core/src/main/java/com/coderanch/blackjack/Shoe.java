@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * A dealing shoe that holds one or more standard decks of cards.
+ *
+ * A cut card is placed in the shoe after a configurable fraction of the cards, the <em>penetration</em>.
+ * When the cut card is reached, the shoe is reshuffled before the next card is dealt.
+ * Reshuffling reuses the shoe's buffer, so dealing from a shoe never allocates.
+ */
+final class Shoe implements Deck {
+
+    /**
+     * The card codes in the shoe, in dealing order.
+     */
+    private final byte[] cards;
+
+    /**
+     * The index of the first card behind the cut card.
+     */
+    private final int cutIndex;
+
+    /**
+     * The random number generator used to shuffle the shoe.
+     */
+    private final RandomSource generator;
+
+    /**
+     * The index of the next card to deal.
+     */
+    private int position;
+
+    /**
+     * Constructs a new shuffled shoe.
+     *
+     * @param numberOfDecks the number of standard decks in the shoe.
+     * @param penetration   the fraction of cards that are dealt before the cut card is reached.
+     * @param generator     the random number generator used to shuffle the shoe.
+     *
+     * @throws IllegalArgumentException if {@code numberOfDecks} is not positive,
+     *                                  if {@code penetration} is not greater than 0 and at most 1,
+     *                                  or if {@code generator} is {@code null}.
+     */
+    Shoe(int numberOfDecks, double penetration, RandomSource generator) {
+        requireThat("numberOfDecks", numberOfDecks, is(greaterThan(0)));
+        requireThat("penetration", penetration, is(both(greaterThan(0.0)).and(lessThanOrEqualTo(1.0))));
+        this.generator = requireThat("generator", generator, is(notNullValue()));
+
+        this.cards = Cards.fillWithStandardDecks(new byte[numberOfDecks * CardCodes.DECK_SIZE]);
+        this.cutIndex = Math.max(1, (int) Math.round(cards.length * penetration));
+
+        shuffle();
+    }
+
+    /**
+     * Gets the number of cards in the shoe.
+     *
+     * @return the total number of cards in the shoe, dealt or not.
+     */
+    int size() {
+        return cards.length;
+    }
+
+    /**
+     * Gets whether the cut card has been reached.
+     *
+     * @return {@code true} if the shoe will be reshuffled before the next card is dealt;
+     *         {@code false} otherwise.
+     */
+    boolean isCutCardReached() {
+        return position >= cutIndex;
+    }
+
+    /**
+     * Shuffles all cards back into the shoe.
+     */
+    void shuffle() {
+        Cards.shuffle(cards, generator);
+        position = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If the cut card has been reached, the shoe is reshuffled first.
+     */
+    @Override
+    public int drawCode() {
+        if (isCutCardReached()) {
+            shuffle();
+        }
+        return cards[position++];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int remaining() {
+        return cutIndex - position;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The cards behind the cut card are counted as well, because the next card may be any of them.
+     */
+    @Override
+    public boolean countUndealt(int[] rankCounts) {
+        Cards.countRanks(cards, isCutCardReached() ? 0 : position, cards.length, rankCounts);
+        return true;
+    }
+}
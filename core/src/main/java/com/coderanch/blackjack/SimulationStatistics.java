@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.Objects;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Accumulates the outcomes of simulated games of {@link MiniGame}.
+ *
+ * Under the rules of the mini game, a game is won when the hand reaches blackjack, lost when the hand goes bust,
+ * and neither won nor lost when the player passes. Losses and busts are therefore the same thing.
+ *
+ * Instances are not thread-safe. Concurrent simulations should each record into their own statistics,
+ * and {@linkplain #merge(SimulationStatistics) merge} them when they are done.
+ */
+final class SimulationStatistics {
+
+    /**
+     * The number of games that were won.
+     */
+    private long wins;
+
+    /**
+     * The number of games that were lost because the hand went bust.
+     */
+    private long busts;
+
+    /**
+     * The number of games that ended because the player passed.
+     */
+    private long passes;
+
+    /**
+     * The sum of the final scores of all games.
+     */
+    private long scoreTotal;
+
+    /**
+     * Records a game that was won.
+     *
+     * @param finalScore the final score of the hand.
+     */
+    void recordWin(int finalScore) {
+        wins++;
+        scoreTotal += finalScore;
+    }
+
+    /**
+     * Records a game that was lost because the hand went bust.
+     *
+     * @param finalScore the final score of the hand.
+     */
+    void recordBust(int finalScore) {
+        busts++;
+        scoreTotal += finalScore;
+    }
+
+    /**
+     * Records a game that ended because the player passed.
+     *
+     * @param finalScore the final score of the hand.
+     */
+    void recordPass(int finalScore) {
+        passes++;
+        scoreTotal += finalScore;
+    }
+
+    /**
+     * Adds the outcomes recorded by other statistics to these statistics.
+     * Merging is exact, so the order in which statistics are merged doesn't affect the result.
+     *
+     * @param other the statistics to add.
+     * @return these statistics.
+     * @throws IllegalArgumentException if {@code other} is {@code null}.
+     */
+    SimulationStatistics merge(SimulationStatistics other) {
+        requireThat("other", other, is(notNullValue()));
+
+        wins += other.wins;
+        busts += other.busts;
+        passes += other.passes;
+        scoreTotal += other.scoreTotal;
+        return this;
+    }
+
+    /**
+     * Gets the number of recorded games.
+     *
+     * @return the number of games.
+     */
+    long games() {
+        return wins + busts + passes;
+    }
+
+    /**
+     * Gets the number of games that were won.
+     *
+     * @return the number of wins.
+     */
+    long wins() {
+        return wins;
+    }
+
+    /**
+     * Gets the number of games that were lost.
+     *
+     * @return the number of losses, which equals the number of {@linkplain #busts() busts}.
+     */
+    long losses() {
+        return busts;
+    }
+
+    /**
+     * Gets the number of games that were lost because the hand went bust.
+     *
+     * @return the number of busts.
+     */
+    long busts() {
+        return busts;
+    }
+
+    /**
+     * Gets the number of games that ended because the player passed.
+     *
+     * @return the number of passes.
+     */
+    long passes() {
+        return passes;
+    }
+
+    /**
+     * Gets the average final score of the recorded games.
+     *
+     * @return the average final score, or {@code 0} if no games were recorded.
+     */
+    double averageFinalScore() {
+        var games = games();
+        return games == 0 ? 0 : (double) scoreTotal / games;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof SimulationStatistics)) {
+            return false;
+        }
+
+        var other = (SimulationStatistics) object;
+        return wins == other.wins
+            && busts == other.busts
+            && passes == other.passes
+            && scoreTotal == other.scoreTotal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(wins, busts, passes, scoreTotal);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format(
+            "games=%d, wins=%d, losses=%d, busts=%d, passes=%d, averageFinalScore=%.4f",
+            games(), wins, losses(), busts, passes, averageFinalScore());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Plays games of {@link MiniGame} without any user interaction, to measure how well a {@link Strategy} performs.
+ *
+ * Every game is dealt from a fresh deck, just like the interactive game. The simulation loop works on primitive
+ * {@linkplain CardCodes card codes} and reuses a single deck and hand, so it doesn't allocate or format any text.
+ *
+ * Instances are not thread-safe.
+ */
+final class Simulator {
+
+    /**
+     * The strategy that decides whether to hit or pass.
+     */
+    private final Strategy strategy;
+
+    /**
+     * The deck that all games are dealt from.
+     */
+    private final LazyDeck deck;
+
+    /**
+     * The reusable hand of the player.
+     */
+    private final HandBuffer hand = new HandBuffer();
+
+    /**
+     * Constructs a new simulator.
+     *
+     * @param strategy  decides whether to hit or pass.
+     * @param generator used for shuffling the deck as cards are dealt.
+     * @throws IllegalArgumentException if {@code strategy} or {@code generator} is {@code null}.
+     */
+    Simulator(Strategy strategy, RandomSource generator) {
+        this.strategy = requireThat("strategy", strategy, is(notNullValue()));
+        this.deck = new LazyDeck(requireThat("generator", generator, is(notNullValue())));
+    }
+
+    /**
+     * Plays a number of games.
+     *
+     * @param games the number of games to play.
+     * @return the outcomes of the games.
+     * @throws IllegalArgumentException if {@code games} is negative.
+     */
+    SimulationStatistics run(long games) {
+        var statistics = new SimulationStatistics();
+        run(games, statistics);
+        return statistics;
+    }
+
+    /**
+     * Plays a number of games and records their outcomes.
+     *
+     * @param games      the number of games to play.
+     * @param statistics the statistics to record the outcomes in.
+     * @throws IllegalArgumentException if {@code games} is negative or {@code statistics} is {@code null}.
+     */
+    void run(long games, SimulationStatistics statistics) {
+        requireThat("games", games, is(greaterThanOrEqualTo(0L)));
+        requireThat("statistics", statistics, is(notNullValue()));
+
+        for (var game = 0L; game < games; game++) {
+            playGame(statistics);
+        }
+    }
+
+    /**
+     * Plays a single game from a fresh deck and records its outcome.
+     *
+     * @param statistics the statistics to record the outcome in.
+     */
+    private void playGame(SimulationStatistics statistics) {
+        deck.reset();
+        hand.reset();
+        hand.add(deck.drawCode());
+        hand.add(deck.drawCode());
+
+        while (true) {
+            var state = hand.state();
+            if (HandState.isBlackjack(state)) {
+                statistics.recordWin(Hand.MAX_LEGAL_SCORE);
+                return;
+            }
+            if (HandState.isBust(state)) {
+                statistics.recordBust(hand.bestScore());
+                return;
+            }
+            if (!strategy.shouldHit(state)) {
+                statistics.recordPass(HandState.bestScore(state));
+                return;
+            }
+            hand.add(deck.drawCode());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.Locale;
+
+import com.coderanch.blackjack.Card.Rank;
+
+/**
+ * The exact outcome of every {@link MiniGame} that starts with a given pair of ranks, under a given strategy.
+ *
+ * Ten-valued ranks are indistinguishable for scoring, so all of them are represented by {@link Rank#TEN}.
+ */
+final class StartingHandOutcome {
+
+    /**
+     * The rank of the first card.
+     */
+    private final Rank first;
+
+    /**
+     * The rank of the second card, which is never lower than the rank of the first card.
+     */
+    private final Rank second;
+
+    /**
+     * The number of distinct two-card hands from a standard deck with these ranks.
+     */
+    private final long weight;
+
+    /**
+     * The chance of winning.
+     */
+    private final double winProbability;
+
+    /**
+     * The chance of going bust.
+     */
+    private final double bustProbability;
+
+    /**
+     * The chance of passing.
+     */
+    private final double passProbability;
+
+    /**
+     * The expected final score.
+     */
+    private final double expectedFinalScore;
+
+    /**
+     * Constructs a new outcome.
+     *
+     * @param first              the rank of the first card.
+     * @param second             the rank of the second card.
+     * @param weight             the number of distinct two-card hands from a standard deck with these ranks.
+     * @param winProbability     the chance of winning.
+     * @param bustProbability    the chance of going bust.
+     * @param passProbability    the chance of passing.
+     * @param expectedFinalScore the expected final score.
+     */
+    @SuppressWarnings("checkstyle:parameternumber")
+    StartingHandOutcome(
+        Rank first,
+        Rank second,
+        long weight,
+        double winProbability,
+        double bustProbability,
+        double passProbability,
+        double expectedFinalScore
+    ) {
+        this.first = first;
+        this.second = second;
+        this.weight = weight;
+        this.winProbability = winProbability;
+        this.bustProbability = bustProbability;
+        this.passProbability = passProbability;
+        this.expectedFinalScore = expectedFinalScore;
+    }
+
+    /**
+     * Gets the rank of the first card.
+     *
+     * @return the lower of the two ranks.
+     */
+    Rank first() {
+        return first;
+    }
+
+    /**
+     * Gets the rank of the second card.
+     *
+     * @return the higher of the two ranks.
+     */
+    Rank second() {
+        return second;
+    }
+
+    /**
+     * Gets the number of distinct two-card hands from a standard deck with these ranks,
+     * counting all ten-valued ranks as {@link Rank#TEN}.
+     *
+     * @return the number of starting hands that this outcome applies to.
+     */
+    long weight() {
+        return weight;
+    }
+
+    /**
+     * Gets the chance of winning.
+     *
+     * @return a probability between {@code 0} and {@code 1}.
+     */
+    double winProbability() {
+        return winProbability;
+    }
+
+    /**
+     * Gets the chance of losing, which is the chance of going bust.
+     *
+     * @return a probability between {@code 0} and {@code 1}.
+     */
+    double bustProbability() {
+        return bustProbability;
+    }
+
+    /**
+     * Gets the chance of passing.
+     *
+     * @return a probability between {@code 0} and {@code 1}.
+     */
+    double passProbability() {
+        return passProbability;
+    }
+
+    /**
+     * Gets the expected final score.
+     *
+     * @return the average score of the hand when the game is over.
+     */
+    double expectedFinalScore() {
+        return expectedFinalScore;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format(
+            Locale.ENGLISH,
+            "%-5s %-5s %4d %.9f %.9f %.9f %.6f",
+            first, second, weight, winProbability, bustProbability, passProbability, expectedFinalScore);
+    }
+}
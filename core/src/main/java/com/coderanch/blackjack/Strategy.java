@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+/**
+ * Decides whether the player of a {@link MiniGame} hits or passes, without any user interaction.
+ */
+@FunctionalInterface
+interface Strategy {
+
+    /**
+     * Decides whether to hit.
+     * Only called while the game is not over, so the hand is neither blackjack nor bust.
+     *
+     * @param handState the {@linkplain HandState state} of the player's hand.
+     * @return {@code true} to hit; {@code false} to pass.
+     */
+    boolean shouldHit(int handState);
+
+    /**
+     * Gets a strategy that hits until the hand reaches a minimum score, and then passes.
+     *
+     * @param score the lowest score to pass on.
+     * @return a strategy that hits on scores below {@code score}.
+     */
+    static Strategy passOn(int score) {
+        return handState -> HandState.bestScore(handState) < score;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.coderanch.util.require.Require.requireThat;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Scores the hands of a batch using the incubating Vector API, which processes as many hands per instruction
+ * as the widest vector registers of the CPU can hold. The hands that don't fill a whole vector are scored
+ * by the {@linkplain ScalarBatchHandEvaluator scalar} evaluator.
+ *
+ * This class can only be loaded if the {@code jdk.incubator.vector} module was added to the JVM;
+ * use {@link BatchHandEvaluator#fastest()} to get it when it's available.
+ */
+final class VectorBatchHandEvaluator implements BatchHandEvaluator {
+
+    /**
+     * The only instance of this stateless evaluator.
+     */
+    static final VectorBatchHandEvaluator INSTANCE = new VectorBatchHandEvaluator();
+
+    /**
+     * The widest vector shape of integers that the CPU supports.
+     */
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private VectorBatchHandEvaluator() { }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void evaluate(HandBatch batch) {
+        requireThat("batch", batch, is(notNullValue()));
+
+        var hardTotals = batch.hardTotals();
+        var aceCounts = batch.aceCounts();
+        var bestScores = batch.bestScores();
+        var busts = batch.busts();
+        var blackjacks = batch.blackjacks();
+
+        var bound = SPECIES.loopBound(batch.size());
+        var i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            var hardTotal = IntVector.fromArray(SPECIES, hardTotals, i);
+            var soft = IntVector.fromArray(SPECIES, aceCounts, i).compare(VectorOperators.GT, 0)
+                .and(hardTotal.compare(VectorOperators.LE, ScalarBatchHandEvaluator.MAX_SOFT_HARD_TOTAL));
+            var bestScore = hardTotal.add(Hand.BIG_ACE_BONUS, soft);
+
+            bestScore.intoArray(bestScores, i);
+            hardTotal.compare(VectorOperators.GT, Hand.MAX_LEGAL_SCORE).intoArray(busts, i);
+            bestScore.compare(VectorOperators.EQ, Hand.MAX_LEGAL_SCORE).intoArray(blackjacks, i);
+        }
+        ScalarBatchHandEvaluator.evaluate(batch, i);
+    }
+}
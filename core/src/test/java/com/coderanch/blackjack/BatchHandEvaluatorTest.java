@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.*;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests the implementations of {@link BatchHandEvaluator}.
+ */
+@RunWith(Theories.class)
+public final class BatchHandEvaluatorTest {
+
+    /**
+     * The evaluators under test. The tests run with the {@code jdk.incubator.vector} module,
+     * so the vectorized evaluator is available.
+     */
+    @DataPoints
+    public static final BatchHandEvaluator[] EVALUATORS = {
+        BatchHandEvaluator.scalar(),
+        VectorBatchHandEvaluator.INSTANCE,
+    };
+
+    /**
+     * Batch sizes, some of which don't fill a whole number of vectors.
+     */
+    @DataPoints
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static final int[] BATCH_SIZES = {1, 7, 64, 1_000, 1_003};
+
+    /**
+     * The lowest best score of a hand that keeps drawing cards in {@link #randomBatch(int, List)}.
+     */
+    private static final int STAND_ON = 17;
+
+    /**
+     * Fills a batch with random hands, and remembers the hands in buffers.
+     *
+     * @param size    the number of hands.
+     * @param buffers receives the hands that were added to the batch.
+     * @return a batch that holds the hands.
+     */
+    private static HandBatch randomBatch(int size, List<HandBuffer> buffers) {
+        var random = new SplittableRandom(size);
+        var batch = new HandBatch(size);
+        for (var i = 0; i < size; i++) {
+            var deck = new LazyDeck(RandomSource.of(random));
+            var hand = new HandBuffer();
+            hand.add(deck.drawCode());
+            hand.add(deck.drawCode());
+            while (!hand.isBust() && hand.bestScore() < STAND_ON) {
+                hand.add(deck.drawCode());
+            }
+            batch.add(hand);
+            buffers.add(hand);
+        }
+        return batch;
+    }
+
+    /**
+     * Tests that an evaluator scores every hand like {@link HandBuffer} does.
+     *
+     * @param evaluator the evaluator under test.
+     * @param size      the number of hands in the batch.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void evaluate_withRandomHands_scoresLikeHandBuffer(BatchHandEvaluator evaluator, int size) {
+        var buffers = new ArrayList<HandBuffer>();
+        var batch = randomBatch(size, buffers);
+
+        evaluator.evaluate(batch);
+
+        for (var i = 0; i < size; i++) {
+            var hand = buffers.get(i);
+            assertThat("The best score must match.", batch.bestScores()[i], is(hand.bestScore()));
+            assertThat("The bust flag must match.", batch.busts()[i], is(hand.isBust()));
+            assertThat("The blackjack flag must match.", batch.blackjacks()[i], is(hand.isBlackjack()));
+        }
+    }
+
+    /**
+     * Tests that an evaluator scores every combination of a hard total and a number of aces like {@link HandState}.
+     *
+     * @param evaluator the evaluator under test.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void evaluate_withEveryTotal_scoresLikeHandState(BatchHandEvaluator evaluator) {
+        var maxTotal = Hand.MAX_LEGAL_SCORE + Card.Rank.KING.points();
+        var batch = new HandBatch(maxTotal * 2);
+        for (var hardTotal = 1; hardTotal <= maxTotal; hardTotal++) {
+            batch.add(hardTotal, 0);
+            batch.add(hardTotal, 1);
+        }
+
+        evaluator.evaluate(batch);
+
+        for (var i = 0; i < batch.size(); i++) {
+            var state = HandState.of(batch.hardTotals()[i], batch.aceCounts()[i]);
+            var expectedScore = HandState.isBust(state) ? batch.hardTotals()[i] : HandState.bestScore(state);
+            assertThat("The best score must match.", batch.bestScores()[i], is(expectedScore));
+            assertThat("The bust flag must match.", batch.busts()[i], is(HandState.isBust(state)));
+            assertThat("The blackjack flag must match.", batch.blackjacks()[i], is(HandState.isBlackjack(state)));
+        }
+    }
+
+    /**
+     * Tests that the fastest evaluator is the vectorized one when the Vector API is available.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void fastest_withVectorModule_returnsVectorEvaluator() {
+        assertThat(
+            "The vectorized evaluator must be used.",
+            BatchHandEvaluator.fastest() == VectorBatchHandEvaluator.INSTANCE,
+            is(true)
+        );
+    }
+}
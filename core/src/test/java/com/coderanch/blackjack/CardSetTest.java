@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.*;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Tests the {@link CardSet} class.
+ */
+@RunWith(Theories.class)
+public final class CardSetTest {
+
+    /**
+     * Cards to test.
+     */
+    @DataPoints
+    public static final Set<Card> CARDS = Cards.getStandardDeck();
+
+    /**
+     * Tests that every card survives a round trip through its card code.
+     *
+     * @param card the card to encode.
+     */
+    @Theory(nullsAccepted = false)
+    @SuppressWarnings("checkstyle:methodname")
+    public void toCard_withCodeOfCard_returnsEqualCard(Card card) {
+        var code = card.code();
+
+        assertThat("The rank of a code must match the card.", CardCodes.rank(code), is(card.rank()));
+        assertThat("The suit of a code must match the card.", CardCodes.suit(code), is(card.suit()));
+        assertThat("Decoding a code must return an equal card.", CardCodes.toCard(code), is(equalTo(card)));
+        assertThat("The points of a code must match the card.", CardCodes.points(code), is(card.rank().points()));
+    }
+
+    /**
+     * Tests that card codes are ordered the same way as cards.
+     *
+     * @param first  the first card to compare.
+     * @param second the second card to compare.
+     */
+    @Theory(nullsAccepted = false)
+    @SuppressWarnings("checkstyle:methodname")
+    public void code_isConsistentWithCompareTo(Card first, Card second) {
+        assertThat(
+            "Card codes must be ordered like their cards.",
+            Integer.signum(Integer.compare(first.code(), second.code())),
+            is(Integer.signum(first.compareTo(second)))
+        );
+    }
+
+    /**
+     * Tests that adding, querying and removing a card updates the set accordingly.
+     *
+     * @param card the card to add and remove.
+     */
+    @Theory(nullsAccepted = false)
+    @SuppressWarnings("checkstyle:methodname")
+    public void addAndRemove_withCard_updatesContents(Card card) {
+        var set = CardSet.empty();
+
+        assertThat("Adding a new card must change the set.", set.add(card), is(true));
+        assertThat("Adding a card twice must not change the set.", set.add(card.code()), is(false));
+        assertThat("The set must contain an added card.", set.contains(card), is(true));
+        assertThat("The set must contain exactly one card.", set.size(), is(1));
+        assertThat("Removing a card must change the set.", set.remove(card), is(true));
+        assertThat("The set must be empty after removing the card.", set.isEmpty(), is(true));
+    }
+
+    /**
+     * Tests that converting the standard deck to a card set and back is lossless.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void toSet_withStandardDeck_returnsStandardDeck() {
+        var set = CardSet.of(Cards.getStandardDeck());
+
+        assertThat("A set of the standard deck must equal a full deck.", set, is(equalTo(CardSet.fullDeck())));
+        assertThat("A full deck must contain every card.", set.size(), is(CardCodes.DECK_SIZE));
+        assertThat(
+            "Converting back must restore the standard deck in order.",
+            set.toSet(),
+            contains(Cards.getStandardDeck().toArray())
+        );
+    }
+
+    /**
+     * Tests that {@link CardSet#nextCode(int)} visits every code in the set in ascending order.
+     */
+    @Theory
+    @SuppressWarnings({"checkstyle:methodname", "checkstyle:magicnumber"})
+    public void nextCode_visitsCodesInOrder() {
+        var set = CardSet.empty();
+        var expected = List.of(0, 7, 31, 32, 51);
+        expected.forEach(set::add);
+
+        var visited = new ArrayList<Integer>();
+        for (var code = set.nextCode(0); code >= 0; code = set.nextCode(code + 1)) {
+            visited.add(code);
+        }
+
+        assertThat("Iteration must visit every code in ascending order.", visited, is(equalTo(expected)));
+    }
+
+    /**
+     * Tests that passing an invalid code to a card set causes an exception to be thrown.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void add_withInvalidCode_throwsException() {
+        var set = CardSet.empty();
+
+        assertThrows("Negative codes must be rejected.", IllegalArgumentException.class, () -> set.add(-1));
+        assertThrows(
+            "Codes past the deck size must be rejected.",
+            IllegalArgumentException.class,
+            () -> set.add(CardCodes.DECK_SIZE)
+        );
+        assertThrows(
+            "Bits past the deck size must be rejected.",
+            IllegalArgumentException.class,
+            () -> CardSet.fromBits(-1L)
+        );
+    }
+}
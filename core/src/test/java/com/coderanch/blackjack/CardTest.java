@@ -26,6 +26,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasToString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assume.assumeThat;
@@ -73,102 +74,114 @@ public final class CardTest extends ConsistentComparableTest {
     public static final Card NULL_CARD = null;
 
     /**
-     * Tests that passing {@code null} for {@code rank} when constructing a new card causes an exception to be thrown.
+     * Tests that passing {@code null} for {@code rank} when getting a card causes an exception to be thrown.
      *
-     * @param suit the suit to construct the card with.
+     * @param suit the suit to get the card with.
      */
     @Theory(nullsAccepted = false)
     @SuppressWarnings("checkstyle:methodname")
-    public void newCard_withNullRank_throwsException(Suit suit) {
+    public void of_withNullRank_throwsException(Suit suit) {
         assertThrows(
-            "Constructing a new card with a null rank must throw an IllegalArgumentException.",
+            "Getting a card with a null rank must throw an IllegalArgumentException.",
             IllegalArgumentException.class,
-            () -> new Card(null, suit)
+            () -> Card.of(null, suit)
         );
     }
 
     /**
-     * Tests that passing {@code null} for {@code suit} when constructing a new card causes an exception to be thrown.
+     * Tests that passing {@code null} for {@code suit} when getting a card causes an exception to be thrown.
      *
-     * @param rank the rank to construct the card with.
+     * @param rank the rank to get the card with.
      */
     @Theory(nullsAccepted = false)
     @SuppressWarnings("checkstyle:methodname")
-    public void newCard_withNullSuit_throwsException(Rank rank) {
+    public void of_withNullSuit_throwsException(Rank rank) {
         assertThrows(
-            "Constructing a new card with a null suit must throw an IllegalArgumentException.",
+            "Getting a card with a null suit must throw an IllegalArgumentException.",
             IllegalArgumentException.class,
-            () -> new Card(rank, null)
+            () -> Card.of(rank, null)
         );
     }
 
     /**
-     * Tests that a newly constructed card has the same {@link Card#getRank() rank} and {@link Card#getSuit() suit} as
-     * the values it was constructed with.
+     * Tests that a card has the same {@link Card#rank() rank} and {@link Card#suit() suit} as
+     * the values it was obtained with.
      *
-     * @param rank the rank to construct the card with.
-     * @param suit the suit to construct the card with.
+     * @param rank the rank to get the card with.
+     * @param suit the suit to get the card with.
      */
     @Theory(nullsAccepted = false)
     @SuppressWarnings("checkstyle:methodname")
-    public void newCard_withRankAndSuit_isConsistent(Rank rank, Suit suit) {
-        var card = new Card(rank, suit);
+    public void of_withRankAndSuit_isConsistent(Rank rank, Suit suit) {
+        var card = Card.of(rank, suit);
 
-        assertThat("A new card must have the same rank it was constructed with.", card.rank(), is(rank));
-        assertThat("A new card must have the same suit is was constructed with.", card.suit(), is(suit));
+        assertThat("A card must have the same rank it was obtained with.", card.rank(), is(rank));
+        assertThat("A card must have the same suit it was obtained with.", card.suit(), is(suit));
     }
 
     /**
-     * Tests that two cards constructed with the same rank and suit are equal.
+     * Tests that two cards obtained with the same rank and suit are the same instance.
      *
-     * @param rank the rank to construct both cards with.
-     * @param suit the suit to construct both cards with.
+     * @param rank the rank to get both cards with.
+     * @param suit the suit to get both cards with.
      */
     @Theory(nullsAccepted = false)
     @SuppressWarnings("checkstyle:methodname")
     public void cards_withSameRankAndSuit_areEqual(Rank rank, Suit suit) {
-        var firstCard  = new Card(rank, suit);
-        var secondCard = new Card(rank, suit);
+        var firstCard  = Card.of(rank, suit);
+        var secondCard = Card.of(rank, suit);
 
         assertThat("Cards that have the same rank and suit must be equal.", firstCard, is(equalTo(secondCard)));
+        assertThat("Cards with the same rank and suit must be identical.", firstCard, is(sameInstance(secondCard)));
     }
 
     /**
-     * Tests that two cards constructed with different ranks are not equal.
+     * Tests that two cards obtained with different ranks are not equal.
      *
-     * @param firstRank  the rank to construct the first card with.
-     * @param secondRank the rank to construct the second card with.
-     * @param suit       the suit to construct both cards with.
+     * @param firstRank  the rank to get the first card with.
+     * @param secondRank the rank to get the second card with.
+     * @param suit       the suit to get both cards with.
      */
     @Theory(nullsAccepted = false)
     @SuppressWarnings("checkstyle:methodname")
     public void cards_withDifferentRanks_areNotEqual(Rank firstRank, Rank secondRank, Suit suit) {
         assumeThat(firstRank, is(not(equalTo(secondRank))));
 
-        var firstCard  = new Card(firstRank, suit);
-        var secondCard = new Card(secondRank, suit);
+        var firstCard  = Card.of(firstRank, suit);
+        var secondCard = Card.of(secondRank, suit);
 
         assertThat("Cards that have a different rank may not be equal.", firstCard, is(not(equalTo(secondCard))));
     }
 
     /**
-     * Tests that two cards constructed with different suits are not equal.
+     * Tests that two cards obtained with different suits are not equal.
      *
-     * @param rank       the rank to construct both cards with.
-     * @param firstSuit  the suit to construct the first card with.
-     * @param secondSuit the suit to construct the second card with.
+     * @param rank       the rank to get both cards with.
+     * @param firstSuit  the suit to get the first card with.
+     * @param secondSuit the suit to get the second card with.
      */
     @Theory(nullsAccepted = false)
     @SuppressWarnings("checkstyle:methodname")
     public void cards_withDifferentSuits_areNotEqual(Rank rank, Suit firstSuit, Suit secondSuit) {
         assumeThat(firstSuit, is(not(equalTo(secondSuit))));
 
-        var firstCard  = new Card(rank, firstSuit);
-        var secondCard = new Card(rank, secondSuit);
+        var firstCard  = Card.of(rank, firstSuit);
+        var secondCard = Card.of(rank, secondSuit);
 
         assertThat("Cards that have a different suit may not be equal.", firstCard, is(not(equalTo(secondCard))));
     }
 
+    /**
+     * Tests that a card can be retrieved by its {@linkplain Card#code() card code}.
+     *
+     * @param card the card to look up.
+     */
+    @Theory(nullsAccepted = false)
+    @SuppressWarnings("checkstyle:methodname")
+    public void fromCode_withCodeOfCard_returnsSameCard(Card card) {
+        assertThat("Looking up a card by its code must return it.", Card.fromCode(card.code()), is(sameInstance(card)));
+    }
+
     /**
      * Tests that the string representation of a card contains the string representations of its rank and suit.
      *
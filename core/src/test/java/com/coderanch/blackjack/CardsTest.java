@@ -14,8 +14,10 @@ import org.junit.experimental.theories.Theories;
 import org.junit.experimental.theories.Theory;
 import org.junit.runner.RunWith;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
@@ -113,7 +115,7 @@ public final class CardsTest {
     @SuppressWarnings("checkstyle:methodname")
     public void getStandardDeck_returnsUnmodifiableSet() {
         var standardDeck = Cards.getStandardDeck();
-        var cardToAdd = new Card(Rank.values()[0], Suit.values()[0]);
+        var cardToAdd = Card.of(Rank.values()[0], Suit.values()[0]);
 
         assertThrows("getStandardDeck() must be unmodifiable.", UnsupportedOperationException.class, () -> {
             standardDeck.add(cardToAdd);
@@ -149,6 +151,40 @@ public final class CardsTest {
         );
     }
 
+    /**
+     * Tests that {@link Cards#shuffle(byte[], RandomSource)} rearranges the card codes without changing them.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void shuffle_withStandardDeck_keepsAllCards() {
+        var codes = Cards.fillWithStandardDecks(new byte[CardCodes.DECK_SIZE * 2]);
+        var original = codes.clone();
+
+        Cards.shuffle(codes, RandomSource.of(new SplittableRandom(0L)));
+
+        assertThat("Shuffling must change the order of the cards.", Arrays.equals(codes, original), is(false));
+
+        Arrays.sort(codes);
+        Arrays.sort(original);
+        assertThat("Shuffling must keep the same cards.", Arrays.equals(codes, original), is(true));
+    }
+
+    /**
+     * Tests that passing {@code null} to {@link Cards#shuffle(byte[], RandomSource)} causes an exception to be thrown.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void shuffle_withNullArguments_throwsException() {
+        var generator = RandomSource.of(new SplittableRandom());
+
+        assertThrows("The codes may not be null.", IllegalArgumentException.class, () -> {
+            Cards.shuffle(null, generator);
+        });
+        assertThrows("The generator may not be null.", IllegalArgumentException.class, () -> {
+            Cards.shuffle(new byte[CardCodes.DECK_SIZE], null);
+        });
+    }
+
     private static class FixedRandom extends Random {
 
         /**
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import static org.junit.Assume.assumeThat;
+
+/**
+ * Tests the {@link CombinationIterator} class.
+ */
+@RunWith(Theories.class)
+public final class CombinationIteratorTest {
+
+    /**
+     * Sizes of subsets.
+     */
+    @DataPoints
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static final int[] SIZES = {1, 2, 3, 5, 50, CardCodes.DECK_SIZE};
+
+    /**
+     * The size of a poker hand, which has a well-known number of subsets.
+     */
+    private static final int POKER_HAND_SIZE = 5;
+
+    /**
+     * The number of distinct poker hands.
+     */
+    private static final long POKER_HANDS = 2_598_960L;
+
+    /**
+     * The largest number of bytes that iterating over all poker hands may allocate.
+     */
+    private static final long MAX_ALLOCATED_BYTES = 64 * 1024;
+
+    /**
+     * Tests that every subset is visited once, in colexicographic order.
+     *
+     * @param size the size of the subsets.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void next_visitsEverySubsetOnceInOrder(int size) {
+        var iterator = new CombinationIterator(size);
+        var visited = 0L;
+        var previousBits = 0L;
+
+        while (iterator.next()) {
+            var bits = iterator.bits();
+            assertThat("Subsets must have the requested size.", Long.bitCount(bits), is(size));
+            assertThat("Subsets must be in order.", Long.compareUnsigned(bits, previousBits), is(greaterThan(0)));
+            assertThat("The rank must be the position of the subset.", iterator.rank(), is(visited));
+            visited++;
+            previousBits = bits;
+        }
+
+        assertThat("Every subset must be visited.", visited, is(CombinationIterator.count(size)));
+        assertThat("An exhausted iterator must stay exhausted.", iterator.next(), is(false));
+    }
+
+    /**
+     * Tests that split iterators together visit the same subsets as the whole iterator.
+     *
+     * @param size the size of the subsets.
+     */
+    @Theory
+    @SuppressWarnings({"checkstyle:methodname", "checkstyle:magicnumber"})
+    public void split_visitsSameSubsetsAsWhole(int size) {
+        assumeThat(CombinationIterator.count(size), is(lessThan(100_000L)));
+
+        var expected = new ArrayList<Long>();
+        var whole = new CombinationIterator(size);
+        while (whole.next()) {
+            expected.add(whole.bits());
+        }
+
+        var actual = new ArrayList<Long>();
+        for (var part : new CombinationIterator(size).split(7)) {
+            while (part.next()) {
+                actual.add(part.bits());
+                assertThat("Ranks must be consistent.", CombinationIterator.rankOf(codesOf(part)), is(part.rank()));
+            }
+        }
+
+        assertThat("Parts must visit the same subsets.", actual, is(equalTo(expected)));
+    }
+
+    /**
+     * Tests that visiting every poker hand doesn't allocate.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void next_overEveryPokerHand_doesNotAllocate() {
+        var threads = ManagementFactory.getThreadMXBean();
+        assumeThat(threads instanceof com.sun.management.ThreadMXBean, is(true));
+        var allocations = (com.sun.management.ThreadMXBean) threads;
+        var threadId = Thread.currentThread().threadId();
+
+        var iterator = new CombinationIterator(POKER_HAND_SIZE);
+        var before = allocations.getThreadAllocatedBytes(threadId);
+        var visited = 0L;
+        var checksum = 0L;
+        while (iterator.next()) {
+            visited++;
+            checksum += iterator.code(POKER_HAND_SIZE - 1);
+        }
+        var allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat("Every poker hand must be visited.", visited, is(POKER_HANDS));
+        assertThat("The checksum must depend on the subsets.", checksum, is(greaterThan(0L)));
+        assertThat("Iterating must not allocate.", allocated, is(lessThan(MAX_ALLOCATED_BYTES)));
+    }
+
+    /**
+     * Gets the codes of the current subset of an iterator.
+     *
+     * @param iterator the iterator.
+     * @return a new array with the codes of the current subset.
+     */
+    private static int[] codesOf(CombinationIterator iterator) {
+        var codes = new int[iterator.size()];
+        for (var i = 0; i < codes.length; i++) {
+            codes[i] = iterator.code(i);
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import com.coderanch.blackjack.Card.Rank;
+import com.coderanch.blackjack.Card.Suit;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Tests the {@link Composition} class.
+ */
+@RunWith(Theories.class)
+public final class CompositionTest {
+
+    /**
+     * Numbers of decks.
+     */
+    @DataPoints
+    public static final int[] NUMBERS_OF_DECKS = {1, 2, Composition.MAX_DECKS};
+
+    /**
+     * Tests that a composition of full decks counts every card.
+     *
+     * @param numberOfDecks the number of decks.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void ofDecks_countsEveryCard(int numberOfDecks) {
+        var composition = Composition.ofDecks(numberOfDecks);
+
+        assertThat("Every card must be counted.", composition.total(), is(CardCodes.DECK_SIZE * numberOfDecks));
+        assertThat("Aces must be counted.", composition.count(0), is(CardCodes.SUIT_COUNT * numberOfDecks));
+        assertThat(
+            "Ten-valued cards must be counted in one slot.",
+            composition.count(Composition.TEN_SLOT),
+            is(CardCodes.SUIT_COUNT * numberOfDecks * (CardCodes.RANK_COUNT - Composition.TEN_SLOT))
+        );
+        assertThat("The key must be in range.", composition.key(), is(lessThan(Composition.KEY_RANGE)));
+    }
+
+    /**
+     * Tests that a composition of full decks that were counted by rank equals the composition of the decks.
+     *
+     * @param numberOfDecks the number of decks.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void ofRankCounts_withFullDecks_equalsOfDecks(int numberOfDecks) {
+        var rankCounts = new int[CardCodes.RANK_COUNT];
+        Arrays.fill(rankCounts, CardCodes.SUIT_COUNT * numberOfDecks);
+
+        assertThat(
+            "Counting full decks by rank must give the composition of the decks.",
+            Composition.ofRankCounts(rankCounts),
+            is(equalTo(Composition.ofDecks(numberOfDecks)))
+        );
+    }
+
+    /**
+     * Tests that a composition of more cards than {@link Composition#MAX_DECKS} decks contain can't be created.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void ofRankCounts_withTooManyCards_returnsNull() {
+        var rankCounts = new int[CardCodes.RANK_COUNT];
+        rankCounts[Rank.ACE.ordinal()] = CardCodes.SUIT_COUNT * (Composition.MAX_DECKS + 1);
+
+        assertThat("Too many cards must not fit.", Composition.ofRankCounts(rankCounts), is(nullValue()));
+    }
+
+    /**
+     * Tests that removing a card changes the key, and adding it back restores it.
+     *
+     * @param numberOfDecks the number of decks.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void remove_thenAdd_restoresKey(int numberOfDecks) {
+        var composition = Composition.ofDecks(numberOfDecks);
+        var original = composition.copy();
+        var king = CardCodes.encode(Rank.KING, Suit.HEARTS);
+        var ten = CardCodes.encode(Rank.TEN, Suit.SPADES);
+
+        composition.remove(king);
+        assertThat("Removing a card must change the key.", composition.key(), is(not(original.key())));
+        assertThat("Removing a card must change the composition.", composition, is(not(equalTo(original))));
+
+        composition.add(ten);
+        assertThat("Ten-valued cards must be interchangeable.", composition, is(equalTo(original)));
+        assertThat("Equal compositions must have equal hash codes.", composition.hashCode(), is(original.hashCode()));
+    }
+
+    /**
+     * Tests that every composition that differs by a single card has a different key.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void key_withSingleCardRemoved_isUnique() {
+        var keys = new HashSet<Long>();
+        var full = Composition.ofDecks(Composition.MAX_DECKS);
+        keys.add(full.key());
+
+        for (var slot = 0; slot < Composition.SLOT_COUNT; slot++) {
+            var composition = full.copy();
+            composition.removeFromSlot(slot);
+            assertThat("Keys must be unique.", keys.add(composition.key()), is(true));
+        }
+    }
+
+    /**
+     * Tests that a composition can't hold more cards than exist.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void addAndRemove_outOfRange_throwException() {
+        var ace = CardCodes.encode(Rank.ACE, Suit.CLUBS);
+
+        assertThrows(
+            "Removing a missing card must fail.",
+            IllegalStateException.class,
+            () -> Composition.empty().remove(ace)
+        );
+        assertThrows(
+            "Adding too many cards must fail.",
+            IllegalStateException.class,
+            () -> Composition.ofDecks(Composition.MAX_DECKS).add(ace)
+        );
+        assertThrows(
+            "Too many decks must be rejected.",
+            IllegalArgumentException.class,
+            () -> Composition.ofDecks(Composition.MAX_DECKS + 1)
+        );
+    }
+}
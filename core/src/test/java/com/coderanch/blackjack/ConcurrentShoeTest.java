@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static com.coderanch.blackjack.DeckAssertions.assertDealsEveryCardOncePerDeck;
+import static com.coderanch.blackjack.DeckAssertions.assertDealtEveryCardOncePerDeck;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Tests the {@link ConcurrentShoe} class.
+ */
+@RunWith(Theories.class)
+public final class ConcurrentShoeTest {
+
+    /**
+     * Numbers of decks to build shoes with.
+     */
+    @DataPoints
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static final int[] NUMBERS_OF_DECKS = {1, 2, 8};
+
+    /**
+     * The number of seats that draw from the shoe concurrently.
+     */
+    private static final int SEATS = 8;
+
+    /**
+     * The number of complete shuffles that every seat draws in the stress test.
+     */
+    private static final int SHUFFLES_PER_SEAT = 3;
+
+    /**
+     * The number of complete shuffles that the seats deal together in the stress test.
+     */
+    private static final int GENERATIONS = SEATS * SHUFFLES_PER_SEAT;
+
+    /**
+     * The number of times the stress test is repeated, to give races a chance to happen.
+     */
+    private static final int ROUNDS = 100;
+
+    /**
+     * Tests that dealing an entire shoe on a single thread deals every card once for every deck in the shoe.
+     *
+     * @param numberOfDecks the number of decks in the shoe.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void drawCode_untilCutCard_dealsEveryCardOncePerDeck(int numberOfDecks) {
+        var shoe = new ConcurrentShoe(numberOfDecks, 1.0, RandomSource.of(new SplittableRandom(numberOfDecks)));
+
+        assertDealsEveryCardOncePerDeck(shoe::drawCode, shoe.size(), numberOfDecks);
+        assertThat("The whole shoe must have been dealt.", shoe.remaining(), is(0));
+        assertThat("The shoe may not have been reshuffled yet.", shoe.shuffles(), is(0L));
+    }
+
+    /**
+     * Tests that the shoe is reshuffled once the cut card is reached.
+     *
+     * @param numberOfDecks the number of decks in the shoe.
+     */
+    @Theory
+    @SuppressWarnings({"checkstyle:methodname", "checkstyle:magicnumber"})
+    public void drawCode_atCutCard_reshufflesShoe(int numberOfDecks) {
+        var shoe = new ConcurrentShoe(numberOfDecks, 0.5, RandomSource.of(new SplittableRandom(numberOfDecks)));
+        var cardsBeforeCut = shoe.remaining();
+
+        assertThat("The cut card must be placed at the penetration.", cardsBeforeCut, is(shoe.size() / 2));
+
+        for (var i = 0; i < cardsBeforeCut; i++) {
+            shoe.draw();
+        }
+        assertThat("The cut card must have been reached.", shoe.remaining(), is(0));
+
+        shoe.draw();
+        assertThat("The shoe must have been reshuffled.", shoe.shuffles(), is(1L));
+        assertThat("The new shuffle must have dealt one card.", shoe.remaining(), is(cardsBeforeCut - 1));
+    }
+
+    /**
+     * Tests that seats drawing concurrently, across several reshuffles, never deal a card of a shuffle twice
+     * and never skip one.
+     *
+     * @param numberOfDecks the number of decks in the shoe.
+     * @throws Exception if a seat failed to draw its cards.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void drawCode_fromConcurrentSeats_dealsEveryCardOncePerDeck(int numberOfDecks) throws Exception {
+        var executor = Executors.newFixedThreadPool(SEATS);
+        try {
+            for (var round = 0; round < ROUNDS; round++) {
+                var shoe = new ConcurrentShoe(numberOfDecks, 1.0, RandomSource.of(new SplittableRandom(round)));
+                var drawsPerSeat = shoe.size() * SHUFFLES_PER_SEAT;
+                var start = new CountDownLatch(1);
+
+                var seats = new ArrayList<Future<int[]>>();
+                for (var seat = 0; seat < SEATS; seat++) {
+                    seats.add(executor.submit(() -> {
+                        var counts = new int[CardCodes.DECK_SIZE];
+                        start.await();
+                        for (var i = 0; i < drawsPerSeat; i++) {
+                            counts[shoe.drawCode()]++;
+                        }
+                        return counts;
+                    }));
+                }
+                start.countDown();
+
+                var counts = new int[CardCodes.DECK_SIZE];
+                for (var seat : seats) {
+                    var seatCounts = seat.get();
+                    for (var code = 0; code < counts.length; code++) {
+                        counts[code] += seatCounts[code];
+                    }
+                }
+
+                assertDealtEveryCardOncePerDeck(counts, numberOfDecks * GENERATIONS);
+                assertThat("Every shuffle must be dealt to the end.", shoe.remaining(), is(0));
+                assertThat("The shoe must be reshuffled once per shuffle.", shoe.shuffles(), is(GENERATIONS - 1L));
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that constructing a shoe with invalid arguments causes an exception to be thrown.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void newConcurrentShoe_withInvalidArguments_throwsException() {
+        var generator = RandomSource.of(new SplittableRandom());
+
+        assertThrows("A shoe must hold at least one deck.", IllegalArgumentException.class, () -> {
+            new ConcurrentShoe(0, 1.0, generator);
+        });
+        assertThrows("The penetration must be positive.", IllegalArgumentException.class, () -> {
+            new ConcurrentShoe(1, 0.0, generator);
+        });
+        assertThrows("The penetration may not exceed 1.", IllegalArgumentException.class, () -> {
+            new ConcurrentShoe(1, 2.0, generator);
+        });
+        assertThrows("The generator may not be null.", IllegalArgumentException.class, () -> {
+            new ConcurrentShoe(1, 1.0, null);
+        });
+    }
+}
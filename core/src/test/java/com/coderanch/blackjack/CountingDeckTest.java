@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.SplittableRandom;
+
+import com.coderanch.blackjack.Card.Rank;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Tests the {@link CountingDeck} class.
+ */
+@RunWith(Theories.class)
+public final class CountingDeckTest {
+
+    /**
+     * Seeds to shuffle with.
+     */
+    @DataPoints
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static final long[] SEEDS = {0L, 1L, 42L};
+
+    /**
+     * The number of cards to deal before checking the counts.
+     */
+    private static final int DEALT = 20;
+
+    /**
+     * The number of decks in a shoe.
+     */
+    private static final int SHOE_DECKS = 2;
+
+    /**
+     * The largest rounding error that is tolerated.
+     */
+    private static final double TOLERANCE = 1e-12;
+
+    /**
+     * Tests that the counts agree with the cards that weren't dealt.
+     *
+     * @param seed the seed to shuffle with.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void drawCode_keepsCountsInSync(long seed) {
+        var deck = CountingDeck.of(new LazyDeck(RandomSource.of(new SplittableRandom(seed))));
+        var undealt = CardSet.fullDeck();
+        for (var i = 0; i < DEALT; i++) {
+            undealt.remove(deck.drawCode());
+        }
+
+        var expected = Composition.empty();
+        for (var code = undealt.nextCode(0); code >= 0; code = undealt.nextCode(code + 1)) {
+            expected.add(code);
+        }
+
+        for (var rank : Rank.values()) {
+            var count = 0;
+            for (var code = undealt.nextCode(0); code >= 0; code = undealt.nextCode(code + 1)) {
+                count += CardCodes.rank(code) == rank ? 1 : 0;
+            }
+            assertThat("Every rank must be counted.", deck.count(rank), is(count));
+        }
+        assertThat("The composition must match.", deck.composition(), is(equalTo(expected)));
+        assertThat("The key must match.", deck.compositionKey(), is(expected.key()));
+        assertThat("The hash must match.", deck.compositionHash(), is(expected.hashCode()));
+        assertThat("Tens must be counted.", deck.tensLeft(), is(expected.count(Composition.TEN_SLOT)));
+        assertThat("Undealt cards must be counted.", deck.undealt(), is(undealt.size()));
+    }
+
+    /**
+     * Tests that the chance of going bust agrees with trying every undealt card.
+     *
+     * @param seed the seed to shuffle with.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void bustProbability_agreesWithUndealtCards(long seed) {
+        var deck = CountingDeck.of(new LazyDeck(RandomSource.of(new SplittableRandom(seed))));
+        var undealt = CardSet.fullDeck();
+        for (var i = 0; i < DEALT; i++) {
+            undealt.remove(deck.drawCode());
+        }
+
+        for (var state = 0; state < HandState.STATE_COUNT; state++) {
+            var busting = 0;
+            for (var code = undealt.nextCode(0); code >= 0; code = undealt.nextCode(code + 1)) {
+                busting += HandState.isBust(HandState.nextWithCode(state, code)) ? 1 : 0;
+            }
+            assertThat(
+                "The chance of going bust must be exact.",
+                deck.bustProbability(state),
+                is(closeTo((double) busting / undealt.size(), TOLERANCE))
+            );
+        }
+    }
+
+    /**
+     * Tests that all cards are counted as undealt again once the other deck is reset.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void drawCode_afterReset_countsAllCardsAgain() {
+        var lazyDeck = new LazyDeck(RandomSource.of(new SplittableRandom(0L)));
+        var deck = CountingDeck.of(lazyDeck);
+        for (var i = 0; i < DEALT; i++) {
+            deck.drawCode();
+        }
+
+        lazyDeck.reset();
+        deck.drawCode();
+
+        assertThat("A reset deck must count all but one card.", deck.undealt(), is(CardCodes.DECK_SIZE - 1));
+    }
+
+    /**
+     * Tests that the counts start out with the cards that a partly dealt shoe still holds,
+     * including the cards behind its cut card.
+     */
+    @Theory
+    @SuppressWarnings({"checkstyle:methodname", "checkstyle:magicnumber"})
+    public void of_withPartlyDealtShoe_countsCardsLeftInShoe() {
+        var shoe = new Shoe(SHOE_DECKS, 0.75, RandomSource.of(new SplittableRandom(0L)));
+        var expected = Composition.ofDecks(SHOE_DECKS);
+        for (var i = 0; i < DEALT; i++) {
+            expected.remove(shoe.drawCode());
+        }
+
+        var deck = CountingDeck.of(shoe);
+        assertThat("The cards left in the shoe must be counted.", deck.composition(), is(equalTo(expected)));
+
+        expected.remove(deck.drawCode());
+        assertThat("Dealt cards must be counted.", deck.composition(), is(equalTo(expected)));
+    }
+
+    /**
+     * Tests that cards that the other deck dealt directly are noticed.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void drawCode_afterOtherDeckDealt_countsCardsLeftInOtherDeck() {
+        var shoe = new Shoe(SHOE_DECKS, 1.0, RandomSource.of(new SplittableRandom(0L)));
+        var expected = Composition.ofDecks(SHOE_DECKS);
+        var deck = CountingDeck.of(shoe);
+        for (var i = 0; i < DEALT; i++) {
+            expected.remove(i % 2 == 0 ? shoe.drawCode() : deck.drawCode());
+        }
+        expected.remove(deck.drawCode());
+
+        assertThat("Every dealt card must be counted.", deck.composition(), is(equalTo(expected)));
+    }
+
+    /**
+     * Tests that all cards are counted once the cut card of the other deck is reached,
+     * because the next card is dealt from a reshuffled shoe.
+     */
+    @Theory
+    @SuppressWarnings({"checkstyle:methodname", "checkstyle:magicnumber"})
+    public void drawCode_atCutCard_countsAllCards() {
+        var shoe = new Shoe(SHOE_DECKS, 0.5, RandomSource.of(new SplittableRandom(0L)));
+        var deck = CountingDeck.of(shoe);
+        while (!shoe.isCutCardReached()) {
+            deck.drawCode();
+        }
+
+        assertThat("A shoe that will be reshuffled must be counted in full.",
+            deck.composition(), is(equalTo(Composition.ofDecks(SHOE_DECKS))));
+    }
+
+    /**
+     * Tests that decks that can't be counted are refused.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void of_withUncountableDeck_returnsNull() {
+        var generator = RandomSource.of(new SplittableRandom(0L));
+
+        assertThat("A deck that can't tell its cards must be refused.",
+            CountingDeck.of(new ConcurrentShoe(1, 1.0, generator)), is(nullValue()));
+        assertThat("A shoe with more decks than a composition can hold must be refused.",
+            CountingDeck.of(new Shoe(Composition.MAX_DECKS + 1, 1.0, generator)), is(nullValue()));
+    }
+}
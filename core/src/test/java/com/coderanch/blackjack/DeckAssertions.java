@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.*;
+import java.util.function.IntSupplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Assertions about the cards that decks deal, shared by the tests of the different decks.
+ */
+final class DeckAssertions {
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private DeckAssertions() {
+    }
+
+    /**
+     * Asserts that drawing the given number of card codes deals every card once for every deck.
+     *
+     * @param draw  draws the code of the next card.
+     * @param draws the number of cards to draw.
+     * @param decks the number of times every card must be dealt.
+     */
+    static void assertDealsEveryCardOncePerDeck(IntSupplier draw, int draws, int decks) {
+        var counts = new int[CardCodes.DECK_SIZE];
+        for (var i = 0; i < draws; i++) {
+            counts[draw.getAsInt()]++;
+        }
+
+        assertDealtEveryCardOncePerDeck(counts, decks);
+    }
+
+    /**
+     * Asserts that every card was dealt once for every deck.
+     *
+     * @param counts the number of times each card code was dealt.
+     * @param decks  the number of times every card must have been dealt.
+     */
+    static void assertDealtEveryCardOncePerDeck(int[] counts, int decks) {
+        var boxedCounts = Arrays.stream(counts).boxed().toList();
+        assertThat("Every card must be dealt once per deck.", boxedCounts, everyItem(is(decks)));
+    }
+}
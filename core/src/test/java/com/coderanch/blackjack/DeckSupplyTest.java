@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.BooleanSupplier;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static com.coderanch.blackjack.DeckAssertions.assertDealsEveryCardOncePerDeck;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Tests the {@link DeckSupply} class.
+ */
+@RunWith(Theories.class)
+public final class DeckSupplyTest {
+
+    /**
+     * Requested capacities of the supply.
+     */
+    @DataPoints
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static final int[] CAPACITIES = {1, 3, 16};
+
+    /**
+     * The number of threads that take shoes concurrently.
+     */
+    private static final int CONSUMERS = 4;
+
+    /**
+     * The number of shoes that every consumer takes.
+     */
+    private static final int TAKES_PER_CONSUMER = 200;
+
+    /**
+     * The longest time to wait for the producer to fill the ring, in milliseconds.
+     */
+    private static final long FILL_TIMEOUT_MILLIS = 10_000L;
+
+    /**
+     * Waits until a condition holds, or until the producer had plenty of time to fill the ring.
+     *
+     * @param condition the condition to wait for.
+     * @throws InterruptedException if the thread was interrupted while waiting.
+     */
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + FILL_TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1L);
+        }
+    }
+
+    /**
+     * Waits until the producer has filled the ring.
+     *
+     * @param supply the supply to wait for.
+     * @throws InterruptedException if the thread was interrupted while waiting.
+     */
+    private static void awaitFull(DeckSupply supply) throws InterruptedException {
+        await(() -> supply.depth() >= supply.capacity());
+    }
+
+    /**
+     * Tests that the capacity is rounded up to a power of two, and that the producer fills the ring and then stalls.
+     *
+     * @param capacity the requested capacity.
+     * @throws InterruptedException if the thread was interrupted while waiting for the producer.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void newDeckSupply_whenIdle_fillsRingAndStalls(int capacity) throws InterruptedException {
+        try (var supply = new DeckSupply(capacity, 1, 0L)) {
+            assertThat("The capacity must be a power of two.", Integer.bitCount(supply.capacity()), is(1));
+            assertThat("The capacity must be at least the requested one.", supply.capacity() >= capacity, is(true));
+
+            // The producer counts the stall only when it finds the ring full on its next pass.
+            await(() -> supply.depth() >= supply.capacity() && supply.stalls() > 0);
+
+            assertThat("The producer must fill the ring.", supply.depth(), is(supply.capacity()));
+            assertThat("The producer must stop on a full ring.", supply.produced(), is((long) supply.capacity()));
+            assertThat("The producer must stall on a full ring.", supply.stalls(), is(greaterThan(0L)));
+            assertThat("Nothing has been taken yet.", supply.misses(), is(0L));
+        }
+    }
+
+    /**
+     * Tests that a taken shoe is fully shuffled.
+     *
+     * @param capacity the requested capacity.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void take_fromSupply_returnsFullShoe(int capacity) {
+        var numberOfDecks = 2;
+        try (var supply = new DeckSupply(capacity, numberOfDecks, capacity)) {
+            var shoe = supply.take();
+
+            assertDealsEveryCardOncePerDeck(shoe::drawCode, shoe.size(), numberOfDecks);
+            assertThat("The cut card must have been reached.", shoe.isCutCardReached(), is(true));
+        }
+    }
+
+    /**
+     * Tests that shoes taken concurrently are never handed out twice, and that the producer refills the ring.
+     *
+     * @param capacity the requested capacity.
+     * @throws Exception if a consumer failed.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void take_fromConcurrentConsumers_handsOutEveryShoeOnce(int capacity) throws Exception {
+        var executor = Executors.newFixedThreadPool(CONSUMERS);
+        try (var supply = new DeckSupply(capacity, 1, capacity)) {
+            var start = new CountDownLatch(1);
+            var consumers = new ArrayList<Future<List<Shoe>>>();
+            for (var i = 0; i < CONSUMERS; i++) {
+                consumers.add(executor.submit(() -> {
+                    start.await();
+                    var shoes = new ArrayList<Shoe>();
+                    for (var j = 0; j < TAKES_PER_CONSUMER; j++) {
+                        shoes.add(supply.take());
+                    }
+                    return shoes;
+                }));
+            }
+            start.countDown();
+
+            var taken = Collections.newSetFromMap(new IdentityHashMap<Shoe, Boolean>());
+            for (var consumer : consumers) {
+                taken.addAll(consumer.get());
+            }
+            supply.close();
+
+            assertThat("Every shoe must be handed out once.", taken.size(), is(CONSUMERS * TAKES_PER_CONSUMER));
+            assertThat(
+                "Every shoe must have come from the ring or be a miss.",
+                supply.produced() - supply.depth() + supply.misses(),
+                is((long) CONSUMERS * TAKES_PER_CONSUMER)
+            );
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that a closed supply hands out the shoes that are left in the ring, and then shuffles new ones.
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting for the producer.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void take_afterClose_countsMisses() throws InterruptedException {
+        var supply = new DeckSupply(2, 1, 0L);
+        awaitFull(supply);
+        supply.close();
+
+        var left = supply.depth();
+        for (var i = 0; i <= left; i++) {
+            supply.take();
+        }
+
+        assertThat("Only the last shoe must be a miss.", supply.misses(), is(1L));
+        assertThat("The ring must be empty.", supply.depth(), is(0));
+    }
+
+    /**
+     * Tests that constructing a supply with invalid arguments causes an exception to be thrown.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void newDeckSupply_withInvalidArguments_throwsException() {
+        assertThrows("The capacity must be positive.", IllegalArgumentException.class, () -> {
+            new DeckSupply(0, 1, 0L);
+        });
+        assertThrows("The capacity may not be too large.", IllegalArgumentException.class, () -> {
+            new DeckSupply(Integer.MAX_VALUE, 1, 0L);
+        });
+        assertThrows("A shoe must hold at least one deck.", IllegalArgumentException.class, () -> {
+            new DeckSupply(1, 0, 0L);
+        });
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.coderanch.blackjack.Card.Rank;
+import com.coderanch.blackjack.Card.Suit;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Tests the {@link ExpectedValueCalculator} class.
+ */
+@RunWith(Theories.class)
+public final class ExpectedValueCalculatorTest {
+
+    /**
+     * States of hands to evaluate, including soft hands.
+     */
+    @DataPoints
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static final int[] HAND_STATES = {8, 12, 16, 20, HandState.of(2, 1), HandState.of(7, 2)};
+
+    /**
+     * The largest rounding error that is tolerated.
+     */
+    private static final double TOLERANCE = 1e-12;
+
+    /**
+     * Gets the codes of a small deck of cards, which can be evaluated by brute force.
+     *
+     * @return the codes of four aces, the two to six of spades, and three ten-valued cards.
+     */
+    private static List<Integer> smallDeck() {
+        var codes = new ArrayList<Integer>();
+        for (var suit : Suit.values()) {
+            codes.add(CardCodes.encode(Rank.ACE, suit));
+        }
+        for (var rank : List.of(Rank.TWO, Rank.THREE, Rank.FOUR, Rank.FIVE, Rank.SIX)) {
+            codes.add(CardCodes.encode(rank, Suit.SPADES));
+        }
+        for (var rank : List.of(Rank.TEN, Rank.JACK, Rank.KING)) {
+            codes.add(CardCodes.encode(rank, Suit.HEARTS));
+        }
+        return codes;
+    }
+
+    /**
+     * Computes the chances of winning and losing after hitting, by trying every card that can be dealt.
+     *
+     * @param deck      the codes of the remaining cards.
+     * @param handState the state of the hand.
+     * @return the chance of winning, followed by the chance of losing.
+     */
+    private static double[] bruteForceHit(List<Integer> deck, int handState) {
+        var result = new double[2];
+        for (var i = 0; i < deck.size(); i++) {
+            var probability = 1.0 / deck.size();
+            var next = HandState.nextWithCode(handState, deck.get(i));
+            if (HandState.isBlackjack(next)) {
+                result[0] += probability;
+            }
+            else if (HandState.isBust(next)) {
+                result[1] += probability;
+            }
+            else {
+                var rest = new ArrayList<>(deck);
+                rest.remove(i);
+                var optimal = rest.isEmpty() ? new double[2] : bruteForceHit(rest, next);
+                if (optimal[0] > optimal[1]) {
+                    result[0] += probability * optimal[0];
+                    result[1] += probability * optimal[1];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the composition of a list of cards.
+     *
+     * @param codes the codes of the cards.
+     * @return the composition of the cards.
+     */
+    private static Composition compositionOf(List<Integer> codes) {
+        var composition = Composition.empty();
+        codes.forEach(composition::add);
+        return composition;
+    }
+
+    /**
+     * Tests that the calculator agrees with trying every ordering of the remaining cards.
+     *
+     * @param handState the state of the hand.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void evaluate_agreesWithBruteForce(int handState) {
+        var deck = smallDeck();
+        var expected = bruteForceHit(deck, handState);
+
+        var evaluation = new ExpectedValueCalculator().evaluate(compositionOf(deck), handState);
+
+        assertThat("Wins must be exact.", evaluation.hitWinProbability(), is(closeTo(expected[0], TOLERANCE)));
+        assertThat("Losses must be exact.", evaluation.hitLossProbability(), is(closeTo(expected[1], TOLERANCE)));
+    }
+
+    /**
+     * Tests that a hard 20 only wins by drawing an ace.
+     */
+    @Theory
+    @SuppressWarnings({"checkstyle:methodname", "checkstyle:magicnumber"})
+    public void evaluate_withHardTwenty_shouldPass() {
+        var remaining = Composition.ofDecks(1);
+        remaining.remove(CardCodes.encode(Rank.TEN, Suit.SPADES));
+        remaining.remove(CardCodes.encode(Rank.KING, Suit.HEARTS));
+
+        var evaluation = new ExpectedValueCalculator().evaluate(remaining, HandState.of(20, 0));
+
+        assertThat("Only aces must win.", evaluation.hitWinProbability(), is(closeTo(4.0 / 50, TOLERANCE)));
+        assertThat("Every other card must lose.", evaluation.hitLossProbability(), is(closeTo(46.0 / 50, TOLERANCE)));
+        assertThat("The player must pass.", evaluation.shouldHit(), is(false));
+    }
+
+    /**
+     * Tests that a hard 11, which can't go bust, should hit, and then pass on any total other than 21.
+     */
+    @Theory
+    @SuppressWarnings({"checkstyle:methodname", "checkstyle:magicnumber"})
+    public void evaluate_withHardEleven_shouldHit() {
+        var remaining = Composition.ofDecks(1);
+        remaining.remove(CardCodes.encode(Rank.FIVE, Suit.SPADES));
+        remaining.remove(CardCodes.encode(Rank.SIX, Suit.HEARTS));
+
+        var evaluation = new ExpectedValueCalculator().evaluate(remaining, HandState.of(11, 0));
+
+        assertThat("Only tens must win.", evaluation.hitWinProbability(), is(closeTo(16.0 / 50, TOLERANCE)));
+        assertThat("Hitting must be worth more than passing.", evaluation.hitExpectedValue(), is(greaterThan(0.0)));
+        assertThat("The player must hit.", evaluation.shouldHit(), is(true));
+    }
+
+    /**
+     * Tests that every state of a hand dealt from many decks can be evaluated, and that repeated queries are cached.
+     *
+     * @param handState the state of the hand.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void evaluate_withManyDecks_reusesCache(int handState) {
+        var calculator = new ExpectedValueCalculator();
+        var remaining = Composition.ofDecks(Composition.MAX_DECKS);
+
+        var first = calculator.evaluate(remaining, handState);
+        var cacheSize = calculator.cacheSize();
+        var second = calculator.evaluate(remaining, handState);
+
+        assertThat(
+            "Probabilities can't add up to more than 1.",
+            first.hitWinProbability() + first.hitLossProbability(),
+            is(lessThanOrEqualTo(1.0 + TOLERANCE))
+        );
+        assertThat("Repeated queries must agree.", second.hitExpectedValue(), is(first.hitExpectedValue()));
+        assertThat("Repeated queries must be cached.", calculator.cacheSize(), is(cacheSize));
+    }
+}
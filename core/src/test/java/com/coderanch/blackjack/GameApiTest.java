@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.net.*;
+import java.net.http.*;
+import java.time.Duration;
+
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ * Tests the {@link GameApi} class over the loopback interface.
+ */
+@RunWith(Theories.class)
+public final class GameApiTest {
+
+    /**
+     * The master seed of a game that doesn't start with blackjack.
+     */
+    private static final long MASTER_SEED = 1L;
+
+    /**
+     * The maximum number of games of the APIs under test.
+     */
+    private static final int MAX_SESSIONS = 16;
+
+    /**
+     * The time to live of games that are abandoned in the eviction test, in milliseconds.
+     */
+    private static final long SHORT_TIME_TO_LIVE_MILLIS = 100L;
+
+    /**
+     * The HTTP status code of a successful request.
+     */
+    private static final int OK = 200;
+
+    /**
+     * The HTTP status code of a request that created a game.
+     */
+    private static final int CREATED = 201;
+
+    /**
+     * The HTTP status code of a request for a path that doesn't exist.
+     */
+    private static final int NOT_FOUND = 404;
+
+    /**
+     * The HTTP status code of a request with a method that the path doesn't support.
+     */
+    private static final int METHOD_NOT_ALLOWED = 405;
+
+    /**
+     * The HTTP status code of a decision for a game that is over.
+     */
+    private static final int CONFLICT = 409;
+
+    /**
+     * The client that sends the requests.
+     */
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * Starts a new API on a free port of the loopback interface.
+     *
+     * @param timeToLive the time after its last request that a game expires.
+     * @return the API.
+     * @throws Exception if the API could not be started.
+     */
+    private static GameApi newApi(Duration timeToLive) throws Exception {
+        return new GameApi(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), MASTER_SEED, MAX_SESSIONS,
+            timeToLive);
+    }
+
+    /**
+     * Sends a request.
+     *
+     * @param api    the API to send the request to.
+     * @param method the HTTP method.
+     * @param path   the path of the request.
+     * @return the response.
+     * @throws Exception if the request failed.
+     */
+    private HttpResponse<String> send(GameApi api, String method, String path) throws Exception {
+        var uri = URI.create("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + api.port() + path);
+        var request = HttpRequest.newBuilder(uri).method(method, HttpRequest.BodyPublishers.noBody()).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Tests that a game can be started, read, advanced and finished.
+     *
+     * @throws Exception if a request failed.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void post_playGame_respondsWithGameState() throws Exception {
+        try (var api = newApi(Duration.ofMinutes(1L))) {
+            var created = send(api, "POST", "/games");
+            assertThat("A game must be created.", created.statusCode(), is(CREATED));
+            var location = created.headers().firstValue("Location").orElse("");
+            assertThat("The game must be located.", location, is("/games/0"));
+            assertThat("The game must be JSON.", created.body(), startsWith("{\"id\":0,\"cards\":[\""));
+            assertThat("The cards must be dealt.", created.body(), containsString("\"kind\":\"HAND_DEALT\""));
+            assertThat("The game must be in progress.", created.body(), containsString("\"IN_PROGRESS\""));
+
+            var state = send(api, "GET", "/games/0");
+            assertThat("The game must be found.", state.statusCode(), is(OK));
+            assertThat("Reading the game must not cause events.", state.body(), containsString("\"events\":[]"));
+
+            var hint = send(api, "POST", "/games/0/hint");
+            assertThat("A hint must be given.", hint.statusCode(), is(OK));
+            assertThat("The hint must advise.", hint.body(), containsString("\"advice\":"));
+
+            var passed = send(api, "POST", "/games/0/pass");
+            assertThat("The player must pass.", passed.body(), containsString("\"status\":\"PASSED\""));
+
+            var tooLate = send(api, "POST", "/games/0/hit");
+            assertThat("A finished game must not accept decisions.", tooLate.statusCode(), is(CONFLICT));
+        }
+    }
+
+    /**
+     * Tests that invalid requests are rejected.
+     *
+     * @throws Exception if a request failed.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void send_invalidRequests_respondsWithError() throws Exception {
+        try (var api = newApi(Duration.ofMinutes(1L))) {
+            send(api, "POST", "/games");
+
+            assertThat("Games are only started with POST.", send(api, "GET", "/games").statusCode(),
+                is(METHOD_NOT_ALLOWED));
+            assertThat("Decisions are only made with POST.", send(api, "GET", "/games/0/hit").statusCode(),
+                is(METHOD_NOT_ALLOWED));
+            assertThat("Unknown games must not be found.", send(api, "GET", "/games/1").statusCode(), is(NOT_FOUND));
+            assertThat("Invalid ids must not be found.", send(api, "GET", "/games/x").statusCode(), is(NOT_FOUND));
+            assertThat("Unknown decisions must not be found.", send(api, "POST", "/games/0/stand").statusCode(),
+                is(NOT_FOUND));
+            assertThat("Unknown paths must not be found.", send(api, "GET", "/games/0/hit/x").statusCode(),
+                is(NOT_FOUND));
+        }
+    }
+
+    /**
+     * Tests that abandoned games expire, and that the number of games is bounded.
+     *
+     * @throws Exception if a request failed.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void post_manyAbandonedGames_evictsGames() throws Exception {
+        try (var api = newApi(Duration.ofMinutes(1L))) {
+            for (var i = 0; i < 2 * MAX_SESSIONS; i++) {
+                send(api, "POST", "/games");
+            }
+            assertThat("The number of games must be bounded.", api.sessions().size(), is(MAX_SESSIONS));
+            assertThat("The oldest games must be evicted.", api.sessions().overflows(), is((long) MAX_SESSIONS));
+            assertThat("Evicted games must not be found.", send(api, "GET", "/games/0").statusCode(), is(NOT_FOUND));
+        }
+
+        var timeToLive = Duration.ofMillis(SHORT_TIME_TO_LIVE_MILLIS);
+        try (var api = newApi(timeToLive)) {
+            send(api, "POST", "/games");
+            Thread.sleep(timeToLive.multipliedBy(2 * 2).toMillis());
+
+            assertThat("Abandoned games must be evicted.", api.sessions().size(), is(0));
+            assertThat("Expired games must not be found.", send(api, "GET", "/games/0").statusCode(), is(NOT_FOUND));
+        }
+    }
+}
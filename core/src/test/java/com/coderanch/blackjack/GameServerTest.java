@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ * Tests the {@link GameServer} class over the loopback interface.
+ */
+@RunWith(Theories.class)
+public final class GameServerTest {
+
+    /**
+     * The master seed of the servers under test.
+     */
+    private static final long MASTER_SEED = 20_181_031L;
+
+    /**
+     * The number of event loops of the servers under test.
+     */
+    private static final int EVENT_LOOPS = 2;
+
+    /**
+     * The number of players that are connected at the same time in the concurrency test.
+     */
+    private static final int PLAYERS = 500;
+
+    /**
+     * The number of lines that a player sends at once in the pipelining test.
+     * Their responses don't fit in the server's output buffer together.
+     */
+    private static final int PIPELINED_LINES = 200;
+
+    /**
+     * The longest time to wait for the server to notice closed connections, in milliseconds.
+     */
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000L;
+
+    /**
+     * The longest time that a client waits for a response, in milliseconds.
+     */
+    private static final int READ_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * A player that is connected to the server with a blocking socket.
+     */
+    private static final class Player implements Closeable {
+
+        /**
+         * The socket that is connected to the server.
+         */
+        private final Socket socket;
+
+        /**
+         * Reads the responses of the server.
+         */
+        private final BufferedReader reader;
+
+        /**
+         * Sends lines to the server.
+         */
+        private final Writer writer;
+
+        /**
+         * Connects a new player to a server.
+         *
+         * @param server the server to connect to.
+         * @throws IOException if the player could not connect.
+         */
+        private Player(GameServer server) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.port());
+            socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+            reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Sends a line to the server.
+         *
+         * @param line the line to send.
+         * @throws IOException if the line could not be sent.
+         */
+        private void send(String line) throws IOException {
+            writer.write(line + "\n");
+            writer.flush();
+        }
+
+        /**
+         * Reads a response, up to and including the prompt, or up to the end of the stream.
+         *
+         * @return the lines of the response, followed by {@code null} if the server closed the connection.
+         * @throws IOException if the response could not be read.
+         */
+        private List<String> receive() throws IOException {
+            var lines = new ArrayList<String>();
+            String line;
+            do {
+                line = reader.readLine();
+                lines.add(line);
+            }
+            while (line != null && !line.equals(MiniGame.PROMPT));
+            return lines;
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    /**
+     * Gets the last element of a list.
+     *
+     * @param list a list that isn't empty.
+     * @return the last element.
+     */
+    private static String last(List<String> list) {
+        return list.get(list.size() - 1);
+    }
+
+    /**
+     * Waits until the server has noticed that all players disconnected.
+     *
+     * @param server the server to wait for.
+     * @throws InterruptedException if the thread was interrupted while waiting.
+     */
+    private static void awaitNoConnections(GameServer server) throws InterruptedException {
+        var deadline = System.currentTimeMillis() + CLOSE_TIMEOUT_MILLIS;
+        while (server.activeConnections() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1L);
+        }
+    }
+
+    /**
+     * Tests that a player receives the same game as a session that is dealt from the same random stream,
+     * and that the server closes the connection once the game is over.
+     *
+     * @throws Exception if the game could not be played.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void connect_andPass_playsReproducibleGame() throws Exception {
+        try (var server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, MASTER_SEED)) {
+            var expected = new GameSession(new LazyDeck(new RandomStreams(MASTER_SEED).session(0)));
+            var expectedStart = expected.start();
+
+            try (var player = new Player(server)) {
+                var greeting = player.receive();
+                assertThat("The game must be identified.", greeting.get(0), is("Game " + MASTER_SEED + " 0"));
+                assertThat(
+                    "The player must be dealt the cards of the session's stream.",
+                    String.join("\n", greeting.subList(1, greeting.size())) + "\n",
+                    is(expectedStart)
+                );
+                if (expected.isOver()) {
+                    return;
+                }
+
+                player.send("pass");
+                var response = player.receive();
+                assertThat("Passing must end the game.", response, is(equalTo(Arrays.asList(
+                    "You passed. Game over.",
+                    null
+                ))));
+            }
+
+            awaitNoConnections(server);
+            assertThat("The game must be completed.", server.completedSessions(), is(1L));
+        }
+    }
+
+    /**
+     * Tests that invalid lines are answered with the prompt, and that long lines close the connection.
+     *
+     * @throws Exception if the game could not be played.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void send_invalidLines_repromptsOrDisconnects() throws Exception {
+        try (var server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, MASTER_SEED)) {
+            // Session 0 doesn't start with blackjack, as the previous test shows.
+            try (var player = new Player(server)) {
+                player.receive();
+
+                player.send("stand");
+                assertThat("Invalid input must be reported.", player.receive(), is(equalTo(List.of(
+                    "Invalid input.",
+                    MiniGame.PROMPT
+                ))));
+
+                // Line lengths are counted in characters, not in the bytes of their UTF-8 encoding.
+                player.send("\u00e9".repeat(GameServer.MAX_LINE_LENGTH));
+                assertThat("Non-ASCII input must be reported as invalid.", player.receive(), is(equalTo(List.of(
+                    "Invalid input.",
+                    MiniGame.PROMPT
+                ))));
+
+                player.send("x".repeat(GameServer.MAX_LINE_LENGTH + 1));
+                assertThat("A long line must close the connection.", last(player.receive()), is(nullValue()));
+            }
+
+            awaitNoConnections(server);
+            assertThat("The game may not be completed.", server.completedSessions(), is(0L));
+        }
+    }
+
+    /**
+     * Tests that a player who sends many lines without reading the responses gets every response.
+     *
+     * @throws Exception if the game could not be played.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void send_pipelinedLines_answersEveryLine() throws Exception {
+        try (var server = new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, MASTER_SEED)) {
+            // Session 0 doesn't start with blackjack, as the first test shows.
+            try (var player = new Player(server)) {
+                player.receive();
+
+                player.send(String.join("\n", Collections.nCopies(PIPELINED_LINES, "hint")) + "\npass");
+                for (var i = 0; i < PIPELINED_LINES; i++) {
+                    assertThat("Every line must be answered.", player.receive().get(0), startsWith("Hint: "));
+                }
+                assertThat("Passing must end the game.", player.receive(), is(equalTo(Arrays.asList(
+                    "You passed. Game over.",
+                    null
+                ))));
+            }
+
+            awaitNoConnections(server);
+            assertThat("The game must be completed.", server.completedSessions(), is(1L));
+        }
+    }
+
+    /**
+     * Tests that many players can play at the same time.
+     *
+     * @throws Exception if a game could not be played.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void connect_withManyPlayers_servesEveryPlayer() throws Exception {
+        var address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        try (var server = new GameServer(address, EVENT_LOOPS, MASTER_SEED)) {
+            var players = new ArrayList<Player>();
+            try {
+                var playing = new ArrayList<Player>();
+                for (var i = 0; i < PLAYERS; i++) {
+                    var player = new Player(server);
+                    players.add(player);
+                    if (last(player.receive()) != null) {
+                        playing.add(player);
+                    }
+                }
+
+                for (var player : playing) {
+                    player.send("hint");
+                }
+                for (var player : playing) {
+                    assertThat("Every player must get a hint.", player.receive().get(0), startsWith("Hint: "));
+                }
+
+                for (var player : playing) {
+                    player.send("pass");
+                }
+                for (var player : playing) {
+                    assertThat("Every game must end.", last(player.receive()), is(nullValue()));
+                }
+            }
+            finally {
+                for (var player : players) {
+                    player.close();
+                }
+            }
+
+            awaitNoConnections(server);
+            assertThat("Every game must be completed.", server.completedSessions(), is((long) PLAYERS));
+            assertThat("Every connection must be closed.", server.activeConnections(), is(0));
+            assertThat("The server may not have failed.", server.failure(), is(nullValue()));
+        }
+    }
+}
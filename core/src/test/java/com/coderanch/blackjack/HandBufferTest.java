@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.SplittableRandom;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Tests the {@link HandBuffer} class.
+ */
+@RunWith(Theories.class)
+public final class HandBufferTest {
+
+    /**
+     * Seeds to deal hands with.
+     */
+    @DataPoints
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static final long[] SEEDS = {0L, 1L, 2L, 3L};
+
+    /**
+     * The number of hands to deal into the same buffer.
+     */
+    private static final int HANDS = 1_000;
+
+    /**
+     * Tests that a reused buffer scores every hand exactly like {@link Hand} does.
+     *
+     * @param seed the seed to deal hands with.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void scoring_agreesWithHand(long seed) {
+        var deck = new LazyDeck(RandomSource.of(new SplittableRandom(seed)));
+        var buffer = new HandBuffer();
+
+        for (var i = 0; i < HANDS; i++) {
+            deck.reset();
+            buffer.reset();
+            buffer.add(deck.drawCode());
+            buffer.add(deck.drawCode());
+
+            var hand = buffer.toHand();
+            while (true) {
+                assertThat("The score must match the hand.", buffer.bestScore(), is(hand.bestScore()));
+                assertThat("Bust must match the hand.", buffer.isBust(), is(hand.isBust()));
+                assertThat("Soft must match the hand.", buffer.isSoft(), is(hand.isSoft()));
+                assertThat("Blackjack must match the hand.", buffer.isBlackjack(), is(hand.isBlackjack()));
+                assertThat("The state must match the hand.", buffer.state(), is(hand.state()));
+                assertThat("The snapshot must hold the same cards.", buffer.toHand().cards(), is(hand.cards()));
+
+                if (hand.isBust()) {
+                    break;
+                }
+                var code = deck.drawCode();
+                buffer.add(code);
+                hand = hand.withAdditionalCard(Card.fromCode(code));
+            }
+        }
+    }
+
+    /**
+     * Tests that adding a card to a full buffer causes an exception to be thrown.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void add_withFullBuffer_throwsException() {
+        var buffer = new HandBuffer(1);
+        buffer.add(0);
+
+        assertThrows("A full buffer must reject cards.", IllegalStateException.class, () -> buffer.add(1));
+    }
+
+    /**
+     * Tests that taking a snapshot of a buffer with fewer than two cards causes an exception to be thrown.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void toHand_withOneCard_throwsException() {
+        var buffer = new HandBuffer();
+        buffer.add(0);
+
+        assertThrows("A hand needs two cards.", IllegalStateException.class, buffer::toHand);
+    }
+}
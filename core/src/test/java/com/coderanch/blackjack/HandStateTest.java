@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.Set;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Tests the {@link HandState} class.
+ */
+@RunWith(Theories.class)
+public final class HandStateTest {
+
+    /**
+     * Cards to test.
+     */
+    @DataPoints
+    public static final Set<Card> CARDS = Cards.getStandardDeck();
+
+    /**
+     * The maximum number of cards to deal to a hand.
+     */
+    private static final int MAX_CARDS = 6;
+
+    /**
+     * Tests that advancing a state with the transition table agrees with {@link Hand}, for every hand
+     * that starts with the given pair of cards and continues with cards of a single rank.
+     *
+     * @param firstCard  the first card of the hand.
+     * @param secondCard the second card of the hand.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void next_agreesWithHand(Card firstCard, Card secondCard) {
+        for (var nextRank : Card.Rank.values()) {
+            var hand = new Hand(firstCard, secondCard);
+            var state = HandState.nextWithCode(HandState.EMPTY, firstCard.code());
+            state = HandState.nextWithCode(state, secondCard.code());
+
+            for (var cards = 2; cards <= MAX_CARDS; cards++) {
+                assertThat("The state must match the hand.", state, is(hand.state()));
+                assertThat("The state must be valid.", state, is(lessThan(HandState.STATE_COUNT)));
+                assertThat("Bust must agree with the hand.", HandState.isBust(state), is(hand.isBust()));
+                assertThat("Soft must agree with the hand.", HandState.isSoft(state), is(hand.isSoft()));
+                assertThat("Blackjack must agree with the hand.", HandState.isBlackjack(state), is(hand.isBlackjack()));
+                if (!hand.isBust()) {
+                    assertThat("The score must match the hand.", HandState.bestScore(state), is(hand.bestScore()));
+                }
+
+                var card = Card.of(nextRank, Card.Suit.SPADES);
+                hand = hand.withAdditionalCard(card);
+                state = HandState.next(state, nextRank.ordinal());
+            }
+        }
+    }
+}
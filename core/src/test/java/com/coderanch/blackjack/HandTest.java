@@ -7,6 +7,7 @@
  */
 package com.coderanch.blackjack;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -42,48 +43,48 @@ public final class HandTest {
     public static final List<BestScoreTestArgument> HAND_TEST_ARGUMENTS =
         List.of(
             new BestScoreTestArgument(
-                List.of(new Card(Rank.ACE, Suit.CLUBS),
-                    new Card(Rank.ACE, Suit.CLUBS),
-                    new Card(Rank.KING, Suit.CLUBS),
-                    new Card(Rank.EIGHT, Suit.CLUBS),
-                    new Card(Rank.ACE, Suit.CLUBS)),
+                List.of(Card.of(Rank.ACE, Suit.CLUBS),
+                    Card.of(Rank.ACE, Suit.CLUBS),
+                    Card.of(Rank.KING, Suit.CLUBS),
+                    Card.of(Rank.EIGHT, Suit.CLUBS),
+                    Card.of(Rank.ACE, Suit.CLUBS)),
                 21
             ),
 
             new BestScoreTestArgument(
-                List.of(new Card(Rank.QUEEN, Suit.CLUBS),
-                    new Card(Rank.EIGHT, Suit.CLUBS)),
+                List.of(Card.of(Rank.QUEEN, Suit.CLUBS),
+                    Card.of(Rank.EIGHT, Suit.CLUBS)),
                 18
             ),
 
             new BestScoreTestArgument(
-                List.of(new Card(Rank.QUEEN, Suit.CLUBS),
-                    new Card(Rank.ACE, Suit.CLUBS)),
+                List.of(Card.of(Rank.QUEEN, Suit.CLUBS),
+                    Card.of(Rank.ACE, Suit.CLUBS)),
                 21
             ),
 
             new BestScoreTestArgument(
-                List.of(new Card(Rank.KING, Suit.CLUBS),
-                    new Card(Rank.KING, Suit.CLUBS),
-                    new Card(Rank.KING, Suit.CLUBS),
-                    new Card(Rank.KING, Suit.CLUBS),
-                    new Card(Rank.KING, Suit.CLUBS)),
+                List.of(Card.of(Rank.KING, Suit.CLUBS),
+                    Card.of(Rank.KING, Suit.CLUBS),
+                    Card.of(Rank.KING, Suit.CLUBS),
+                    Card.of(Rank.KING, Suit.CLUBS),
+                    Card.of(Rank.KING, Suit.CLUBS)),
                 50
             ),
 
             new BestScoreTestArgument(
-                List.of(new Card(Rank.ACE, Suit.CLUBS),
-                    new Card(Rank.ACE, Suit.CLUBS),
-                    new Card(Rank.ACE, Suit.CLUBS),
-                    new Card(Rank.KING, Suit.CLUBS),
-                    new Card(Rank.KING, Suit.CLUBS)),
+                List.of(Card.of(Rank.ACE, Suit.CLUBS),
+                    Card.of(Rank.ACE, Suit.CLUBS),
+                    Card.of(Rank.ACE, Suit.CLUBS),
+                    Card.of(Rank.KING, Suit.CLUBS),
+                    Card.of(Rank.KING, Suit.CLUBS)),
                 23
             ),
 
             new BestScoreTestArgument(
-                List.of(new Card(Rank.ACE, Suit.CLUBS),
-                    new Card(Rank.ACE, Suit.CLUBS),
-                    new Card(Rank.NINE, Suit.CLUBS)),
+                List.of(Card.of(Rank.ACE, Suit.CLUBS),
+                    Card.of(Rank.ACE, Suit.CLUBS),
+                    Card.of(Rank.NINE, Suit.CLUBS)),
                 21
             )
         );
@@ -94,27 +95,27 @@ public final class HandTest {
     @DataPoints("Bust Hands")
     public static final List<Hand> BUST_HANDS = List.of(
         createHand(List.of(
-            new Card(Rank.ACE, Suit.CLUBS),
-            new Card(Rank.ACE, Suit.CLUBS),
-            new Card(Rank.KING, Suit.CLUBS),
-            new Card(Rank.KING, Suit.CLUBS)
+            Card.of(Rank.ACE, Suit.CLUBS),
+            Card.of(Rank.ACE, Suit.CLUBS),
+            Card.of(Rank.KING, Suit.CLUBS),
+            Card.of(Rank.KING, Suit.CLUBS)
         )),
         createHand(List.of(
-            new Card(Rank.QUEEN, Suit.CLUBS),
-            new Card(Rank.EIGHT, Suit.CLUBS),
-            new Card(Rank.FOUR, Suit.CLUBS)
+            Card.of(Rank.QUEEN, Suit.CLUBS),
+            Card.of(Rank.EIGHT, Suit.CLUBS),
+            Card.of(Rank.FOUR, Suit.CLUBS)
         )),
         createHand(List.of(
-            new Card(Rank.FIVE, Suit.CLUBS),
-            new Card(Rank.FIVE, Suit.CLUBS),
-            new Card(Rank.FIVE, Suit.CLUBS),
-            new Card(Rank.FIVE, Suit.CLUBS),
-            new Card(Rank.THREE, Suit.CLUBS)
+            Card.of(Rank.FIVE, Suit.CLUBS),
+            Card.of(Rank.FIVE, Suit.CLUBS),
+            Card.of(Rank.FIVE, Suit.CLUBS),
+            Card.of(Rank.FIVE, Suit.CLUBS),
+            Card.of(Rank.THREE, Suit.CLUBS)
         )),
         createHand(List.of(
-            new Card(Rank.JACK, Suit.CLUBS),
-            new Card(Rank.QUEEN, Suit.CLUBS),
-            new Card(Rank.KING, Suit.CLUBS)
+            Card.of(Rank.JACK, Suit.CLUBS),
+            Card.of(Rank.QUEEN, Suit.CLUBS),
+            Card.of(Rank.KING, Suit.CLUBS)
         ))
     );
 
@@ -124,22 +125,64 @@ public final class HandTest {
     @DataPoints("Non Bust Hands")
     public static final List<Hand> NON_BUST_HANDS = List.of(
         createHand(List.of(
-            new Card(Rank.ACE, Suit.CLUBS),
-            new Card(Rank.KING, Suit.CLUBS),
-            new Card(Rank.KING, Suit.CLUBS)
+            Card.of(Rank.ACE, Suit.CLUBS),
+            Card.of(Rank.KING, Suit.CLUBS),
+            Card.of(Rank.KING, Suit.CLUBS)
         )),
         createHand(List.of(
-            new Card(Rank.QUEEN, Suit.CLUBS),
-            new Card(Rank.EIGHT, Suit.CLUBS),
-            new Card(Rank.THREE, Suit.CLUBS)
+            Card.of(Rank.QUEEN, Suit.CLUBS),
+            Card.of(Rank.EIGHT, Suit.CLUBS),
+            Card.of(Rank.THREE, Suit.CLUBS)
         )),
         createHand(List.of(
-            new Card(Rank.FIVE, Suit.CLUBS),
-            new Card(Rank.FIVE, Suit.CLUBS)
+            Card.of(Rank.FIVE, Suit.CLUBS),
+            Card.of(Rank.FIVE, Suit.CLUBS)
         )),
         createHand(List.of(
-            new Card(Rank.JACK, Suit.CLUBS),
-            new Card(Rank.QUEEN, Suit.CLUBS)
+            Card.of(Rank.JACK, Suit.CLUBS),
+            Card.of(Rank.QUEEN, Suit.CLUBS)
+        ))
+    );
+
+    /**
+     * Soft hands to check.
+     */
+    @DataPoints("Soft Hands")
+    public static final List<Hand> SOFT_HANDS = List.of(
+        createHand(List.of(
+            Card.of(Rank.ACE, Suit.CLUBS),
+            Card.of(Rank.SIX, Suit.CLUBS)
+        )),
+        createHand(List.of(
+            Card.of(Rank.ACE, Suit.CLUBS),
+            Card.of(Rank.KING, Suit.CLUBS)
+        )),
+        createHand(List.of(
+            Card.of(Rank.ACE, Suit.CLUBS),
+            Card.of(Rank.ACE, Suit.SPADES),
+            Card.of(Rank.NINE, Suit.CLUBS)
+        ))
+    );
+
+    /**
+     * Hard hands to check.
+     */
+    @DataPoints("Hard Hands")
+    public static final List<Hand> HARD_HANDS = List.of(
+        createHand(List.of(
+            Card.of(Rank.TEN, Suit.CLUBS),
+            Card.of(Rank.SIX, Suit.CLUBS)
+        )),
+        createHand(List.of(
+            Card.of(Rank.ACE, Suit.CLUBS),
+            Card.of(Rank.KING, Suit.CLUBS),
+            Card.of(Rank.FIVE, Suit.CLUBS)
+        )),
+        createHand(List.of(
+            Card.of(Rank.ACE, Suit.CLUBS),
+            Card.of(Rank.ACE, Suit.SPADES),
+            Card.of(Rank.KING, Suit.CLUBS),
+            Card.of(Rank.KING, Suit.SPADES)
         ))
     );
 
@@ -149,21 +192,21 @@ public final class HandTest {
     @DataPoints("Add card hands")
     public static final List<Hand> HANDS = List.of(
         createHand(List.of(
-            new Card(Rank.KING, Suit.CLUBS),
-            new Card(Rank.KING, Suit.CLUBS)
+            Card.of(Rank.KING, Suit.CLUBS),
+            Card.of(Rank.KING, Suit.CLUBS)
         )),
         createHand(List.of(
-            new Card(Rank.QUEEN, Suit.CLUBS),
-            new Card(Rank.EIGHT, Suit.CLUBS),
-            new Card(Rank.THREE, Suit.CLUBS)
+            Card.of(Rank.QUEEN, Suit.CLUBS),
+            Card.of(Rank.EIGHT, Suit.CLUBS),
+            Card.of(Rank.THREE, Suit.CLUBS)
         )),
         createHand(List.of(
-            new Card(Rank.FIVE, Suit.CLUBS),
-            new Card(Rank.FIVE, Suit.CLUBS)
+            Card.of(Rank.FIVE, Suit.CLUBS),
+            Card.of(Rank.FIVE, Suit.CLUBS)
         )),
         createHand(List.of(
-            new Card(Rank.JACK, Suit.CLUBS),
-            new Card(Rank.QUEEN, Suit.CLUBS)
+            Card.of(Rank.JACK, Suit.CLUBS),
+            Card.of(Rank.QUEEN, Suit.CLUBS)
         ))
     );
 
@@ -221,6 +264,26 @@ public final class HandTest {
         );
     }
 
+    /**
+     * Tests that {@link Hand#withAdditionalCard(Card)} appends the card without modifying the original hand.
+     *
+     * @param hand the hand to add to.
+     * @param card the card to add to the hand.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void withAdditionalCard_keepsOriginalHand(@FromDataPoints("Add card hands") Hand hand, Card card) {
+        var originalCards = List.copyOf(hand.cards());
+        var newHand = hand.withAdditionalCard(card);
+
+        var expectedCards = new ArrayList<>(originalCards);
+        expectedCards.add(card);
+
+        assertThat("The new hand must have the card appended.", newHand.cards(), is(equalTo(expectedCards)));
+        assertThat("The new hand must have one more card.", newHand.size(), is(hand.size() + 1));
+        assertThat("The original hand must not change.", hand.cards(), is(equalTo(originalCards)));
+    }
+
     /**
      * Tests that passing {@code null} for the first card
      * when constructing a new hand causes an exception to be thrown.
@@ -255,7 +318,7 @@ public final class HandTest {
     @Theory
     @SuppressWarnings("checkstyle:methodname")
     public void addCard_withNullCard_throwsException() {
-        var hand = new Hand(new Card(Rank.ACE, Suit.CLUBS), new Card(Rank.ACE, Suit.CLUBS));
+        var hand = new Hand(Card.of(Rank.ACE, Suit.CLUBS), Card.of(Rank.ACE, Suit.CLUBS));
         assertThrows("Hand must throw an exception.", IllegalArgumentException.class, () -> {
             hand.withAdditionalCard(null);
         });
@@ -291,6 +354,27 @@ public final class HandTest {
         );
     }
 
+    /**
+     * Tests that {@link Hand#isSoft()} returns {@code true} for hands that count an ace as big.
+     *
+     * @param hand the soft hand to check.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void isSoft_withSoftHand_returnsTrue(@FromDataPoints("Soft Hands") Hand hand) {
+        assertThat("The hand must be soft.", hand.isSoft(), is(true));
+    }
+
+    /**
+     * Tests that {@link Hand#isSoft()} returns {@code false} for hands that can't count an ace as big.
+     *
+     * @param hand the hard hand to check.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void isSoft_withHardHand_returnsFalse(@FromDataPoints("Hard Hands") Hand hand) {
+        assertThat("The hand must not be soft.", hand.isSoft(), is(false));
+    }
 
     /**
      * Helper class for testing hand scores.
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.*;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests the {@link LazyDeck} class.
+ */
+@RunWith(Theories.class)
+public final class LazyDeckTest {
+
+    /**
+     * Seeds to shuffle with.
+     */
+    @DataPoints
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static final long[] SEEDS = {0L, 1L, 42L, 8_675_309L};
+
+    /**
+     * The number of cards dealt in {@link #drawCode_withEveryRandomSequence_dealsEveryOrderedHandOnce()}.
+     */
+    private static final int HAND_SIZE = 3;
+
+    /**
+     * Tests that the deck deals the same cards as a full shuffle that is driven by the same random numbers.
+     *
+     * @param seed the seed of both random number generators.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void drawCode_withSameRandomNumbers_dealsFullShuffleInReverse(long seed) {
+        var shuffled = Cards.fillWithStandardDecks(new byte[CardCodes.DECK_SIZE]);
+        Cards.shuffle(shuffled, RandomSource.of(new SplittableRandom(seed)));
+
+        var deck = new LazyDeck(RandomSource.of(new SplittableRandom(seed)));
+        var dealt = new byte[CardCodes.DECK_SIZE];
+        for (var i = dealt.length - 1; i >= 0; i--) {
+            dealt[i] = (byte) deck.drawCode();
+        }
+
+        assertThat("The deck must deal the full shuffle in reverse.", Arrays.equals(dealt, shuffled), is(true));
+        assertThat("The deck must be empty.", deck.remaining(), is(0));
+    }
+
+    /**
+     * Tests that every ordered sequence of distinct cards is dealt by exactly one sequence of random numbers.
+     * Because every sequence of random numbers is equally likely, so is every hand, just like with a full shuffle.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void drawCode_withEveryRandomSequence_dealsEveryOrderedHandOnce() {
+        var deckSize = CardCodes.DECK_SIZE;
+        var seen = new BitSet(deckSize * deckSize * deckSize);
+        var sequences = 0;
+
+        var choices = new int[HAND_SIZE];
+        for (choices[0] = 0; choices[0] < deckSize; choices[0]++) {
+            for (choices[1] = 0; choices[1] < deckSize - 1; choices[1]++) {
+                for (choices[2] = 0; choices[2] < deckSize - 2; choices[2]++) {
+                    var next = new int[1];
+                    var deck = new LazyDeck(bound -> choices[next[0]++]);
+
+                    var first = deck.drawCode();
+                    var second = deck.drawCode();
+                    var third = deck.drawCode();
+
+                    assertThat("Cards may not be dealt twice.", first != second && second != third, is(true));
+                    assertThat("Cards may not be dealt twice.", first != third, is(true));
+
+                    seen.set((first * deckSize + second) * deckSize + third);
+                    sequences++;
+                }
+            }
+        }
+
+        assertThat("Every random sequence must deal a different hand.", seen.cardinality(), is(equalTo(sequences)));
+    }
+
+    /**
+     * Tests that a deck deals all cards again after being reset.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void reset_afterDealing_returnsAllCards() {
+        var deck = new LazyDeck(RandomSource.of(new SplittableRandom(0L)));
+        deck.drawCode();
+        deck.drawCode();
+
+        deck.reset();
+
+        var dealt = CardSet.empty();
+        while (deck.remaining() > 0) {
+            dealt.add(deck.drawCode());
+        }
+        assertThat("A reset deck must deal every card.", dealt, is(equalTo(CardSet.fullDeck())));
+    }
+}
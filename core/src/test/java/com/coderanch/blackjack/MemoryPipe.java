@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An unbounded in-memory pipe, for connecting a test client to a {@link SessionHost}.
+ *
+ * Unlike {@link java.io.PipedInputStream}, which waits on a monitor and pins the carrier of a virtual thread,
+ * readers of this pipe wait on a {@link Condition}, so a blocked virtual thread releases its carrier.
+ */
+final class MemoryPipe {
+
+    /**
+     * The initial capacity of the buffer, which is enough for a few lines of text.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The lock that guards the state of the pipe.
+     */
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Signalled when data is written or the pipe is closed.
+     */
+    private final Condition readable = lock.newCondition();
+
+    /**
+     * The bytes that were written, but not read yet, between {@link #start} and {@link #end}.
+     */
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+
+    /**
+     * The index of the first unread byte.
+     */
+    private int start;
+
+    /**
+     * The index after the last unread byte.
+     */
+    private int end;
+
+    /**
+     * Whether the writing end of the pipe has been closed.
+     */
+    private boolean closed;
+
+    /**
+     * The reading end of the pipe.
+     */
+    private final InputStream source = new InputStream() {
+
+        @Override
+        public int read() throws IOException {
+            var bytes = new byte[1];
+            return read(bytes, 0, 1) < 0 ? -1 : Byte.toUnsignedInt(bytes[0]);
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            lock.lock();
+            try {
+                while (start == end && !closed) {
+                    readable.await();
+                }
+                if (start == end) {
+                    return -1;
+                }
+
+                var count = Math.min(length, end - start);
+                System.arraycopy(buffer, start, bytes, offset, count);
+                start += count;
+                return count;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for data.");
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int available() {
+            lock.lock();
+            try {
+                return end - start;
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            closeWriter();
+        }
+    };
+
+    /**
+     * The writing end of the pipe.
+     */
+    private final OutputStream sink = new OutputStream() {
+
+        @Override
+        public void write(int value) throws IOException {
+            write(new byte[] {(byte) value}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            lock.lock();
+            try {
+                if (closed) {
+                    throw new IOException("The pipe is closed.");
+                }
+                ensureCapacity(length);
+                System.arraycopy(bytes, offset, buffer, end, length);
+                end += length;
+                readable.signalAll();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            closeWriter();
+        }
+    };
+
+    /**
+     * Gets the reading end of the pipe.
+     *
+     * @return a stream that blocks until data is written or the pipe is closed.
+     */
+    InputStream source() {
+        return source;
+    }
+
+    /**
+     * Gets the writing end of the pipe.
+     *
+     * @return a stream that never blocks.
+     */
+    OutputStream sink() {
+        return sink;
+    }
+
+    /**
+     * Makes room for more bytes at the end of the buffer. Must be called while holding the lock.
+     *
+     * @param length the number of bytes to make room for.
+     */
+    private void ensureCapacity(int length) {
+        var unread = end - start;
+        if (end + length <= buffer.length) {
+            return;
+        }
+
+        var target = buffer;
+        if (unread + length > buffer.length) {
+            target = new byte[Math.max(buffer.length * 2, unread + length)];
+        }
+        System.arraycopy(buffer, start, target, 0, unread);
+        buffer = target;
+        start = 0;
+        end = unread;
+    }
+
+    /**
+     * Closes the pipe, so that readers see the end of the stream once all data has been read.
+     */
+    private void closeWriter() {
+        lock.lock();
+        try {
+            closed = true;
+            readable.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+}
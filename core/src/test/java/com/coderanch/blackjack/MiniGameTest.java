@@ -12,12 +12,16 @@ import org.junit.Test;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
 
 
 /**
@@ -31,6 +35,26 @@ public class MiniGameTest {
      */
     private static final int HIT_TO_FAILURE = 20;
 
+    /**
+     * The master seed of a game that doesn't start with blackjack, so the player gets to make a decision.
+     */
+    private static final long HINT_SEED = 1L;
+
+    /**
+     * The number of games that are advanced on a single thread.
+     */
+    private static final int GAMES = 1_000;
+
+    /**
+     * Gets the kinds of events.
+     *
+     * @param events the events.
+     * @return the kind of every event.
+     */
+    private static List<MiniGame.Event.Kind> kinds(List<MiniGame.Event> events) {
+        return events.stream().map(MiniGame.Event::kind).collect(Collectors.toList());
+    }
+
     /**
      * Pass in the game.
      */
@@ -45,13 +69,61 @@ public class MiniGameTest {
             var miniGame = new MiniGame(
                 inputUtility,
                 new PrintWriter(output, true, StandardCharsets.UTF_8),
-                new Random());
+                new LazyDeck(new RandomStreams(HINT_SEED).session(0)));
             miniGame.run();
             var result = output.toString();
             assertThat("Must say the user passed.", result, containsString("You passed."));
         }
     }
 
+    /**
+     * Ask for a hint, and pass.
+     */
+    @Test
+    public void testHint() throws IOException {
+        var input = "hint" + System.lineSeparator() + "pass";
+        try (
+            var stream = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+            var inputUtility = new InputUtility(stream, StandardCharsets.UTF_8);
+            var output = new ByteArrayOutputStream()
+        ) {
+            var miniGame = new MiniGame(
+                inputUtility,
+                new PrintWriter(output, true, StandardCharsets.UTF_8),
+                new LazyDeck(new RandomStreams(HINT_SEED).session(0)));
+            miniGame.run();
+            var result = output.toString();
+            assertThat("Must give a hint.", result, containsString("Hint: "));
+            assertThat("Must say the user passed.", result, containsString("You passed."));
+        }
+    }
+
+    /**
+     * Ask for hints while dealing across the cut card of a shoe that was partly dealt before the game started.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void testHintFromPartlyDealtShoe() throws IOException {
+        var shoe = new Shoe(2, 0.5, RandomSource.of(new Random(HINT_SEED)));
+        while (shoe.remaining() > 3) {
+            shoe.draw();
+        }
+
+        var hintAndHit = "hint" + System.lineSeparator() + "hit";
+        var input = String.join(System.lineSeparator(), Collections.nCopies(HIT_TO_FAILURE, hintAndHit));
+        try (
+            var stream = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+            var inputUtility = new InputUtility(stream, StandardCharsets.UTF_8);
+            var output = new ByteArrayOutputStream()
+        ) {
+            var miniGame = new MiniGame(inputUtility, new PrintWriter(output, true, StandardCharsets.UTF_8), shoe);
+            miniGame.run();
+            var result = output.toString();
+            assertThat("Must end the game.", result, containsString("Game over."));
+            assertThat("Must not run out of hints.", result, not(containsString("No hint")));
+        }
+    }
+
     /**
      * Hit until game over.
      */
@@ -74,4 +146,116 @@ public class MiniGameTest {
             assertThat("Must say the user lost or won.", result, containsString("Game over."));
         }
     }
+
+    /**
+     * Start a game without a console, ask for a hint, and pass.
+     */
+    @Test
+    public void testOnDecisionHintAndPass() {
+        var miniGame = new MiniGame(new LazyDeck(new RandomStreams(HINT_SEED).session(0)));
+        assertThat("A new game must not be over.", miniGame.isOver(), is(false));
+
+        var dealt = miniGame.start();
+        assertThat("Must deal the first cards.", kinds(dealt), contains(MiniGame.Event.Kind.HAND_DEALT));
+        assertThat("Must deal two cards.", dealt.get(0).hand().cards(), hasSize(2));
+
+        var hint = miniGame.onDecision(MiniGame.Choice.HINT);
+        assertThat("Must give a hint.", kinds(hint), contains(MiniGame.Event.Kind.HINT));
+        assertThat("Must describe the hint.", hint.get(0).toString(), startsWith("Hint: "));
+        assertThat("A hint must not end the game.", miniGame.isOver(), is(false));
+
+        var passed = miniGame.onDecision(MiniGame.Choice.PASS);
+        assertThat("Must say the user passed.", kinds(passed), contains(MiniGame.Event.Kind.PASSED));
+        assertThat("Passing must end the game.", miniGame.isOver(), is(true));
+
+        assertThrows("A finished game must not accept decisions.", IllegalStateException.class, () -> {
+            miniGame.onDecision(MiniGame.Choice.HIT);
+        });
+    }
+
+    /**
+     * Hit until game over without a console.
+     */
+    @Test
+    public void testOnDecisionHit() {
+        var miniGame = new MiniGame(new LazyDeck(RandomSource.of(new Random())));
+        var events = new ArrayList<>(miniGame.start());
+        while (!miniGame.isOver()) {
+            var hit = miniGame.onDecision(MiniGame.Choice.HIT);
+            assertThat("Must deal a card.", hit.get(0).kind(), is(MiniGame.Event.Kind.CARD_DEALT));
+            assertThat("Must deal the card to the hand.", hit.get(0).hand().cards(), hasItem(hit.get(0).card()));
+            events.addAll(hit);
+        }
+
+        var last = events.get(events.size() - 1);
+        assertThat("Must say the user lost or won.", last.kind(), is(isOneOf(
+            MiniGame.Event.Kind.WON,
+            MiniGame.Event.Kind.LOST
+        )));
+        assertThat("Must say the game is over.", last.toString(), containsString("Game over."));
+    }
+
+    /**
+     * Decide before the game has started, or start twice.
+     */
+    @Test
+    public void testOnDecisionOutOfOrder() {
+        var miniGame = new MiniGame(new LazyDeck(RandomSource.of(new Random())));
+        assertThrows("A game must be started first.", IllegalStateException.class, () -> {
+            miniGame.onDecision(MiniGame.Choice.PASS);
+        });
+        assertThrows("A game without a console can't be run.", IllegalStateException.class, miniGame::run);
+
+        miniGame.start();
+        assertThrows("A game can only be started once.", IllegalStateException.class, miniGame::start);
+    }
+
+    /**
+     * Play with a shoe that holds more decks than hints can be calculated for.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:magicnumber")
+    public void testHintWithTooManyDecks() {
+        var shoe = new Shoe(Composition.MAX_DECKS + 1, 1.0, new RandomStreams(HINT_SEED).session(0));
+        var miniGame = new MiniGame(shoe);
+        miniGame.start();
+        while (miniGame.isOver()) {
+            miniGame = new MiniGame(shoe);
+            miniGame.start();
+        }
+
+        var events = miniGame.onDecision(MiniGame.Choice.HINT);
+        assertThat("Must not calculate a hint.", events.get(0).hint(), is(nullValue()));
+        assertThat("Must say that no hint is available.", events.get(0).toString(), containsString("No hint"));
+
+        miniGame.onDecision(MiniGame.Choice.HIT);
+        assertThat("Must still deal from the shoe.", miniGame.hand().size(), is(3));
+    }
+
+    /**
+     * Advance many games on a single thread, one decision at a time.
+     */
+    @Test
+    public void testManyGamesOnOneThread() {
+        var streams = new RandomStreams(HINT_SEED);
+        var games = new ArrayList<MiniGame>();
+        for (var i = 0; i < GAMES; i++) {
+            var miniGame = new MiniGame(new LazyDeck(streams.session(i)));
+            miniGame.start();
+            games.add(miniGame);
+        }
+
+        var playing = true;
+        while (playing) {
+            playing = false;
+            for (var miniGame : games) {
+                if (!miniGame.isOver()) {
+                    miniGame.onDecision(MiniGame.Choice.HIT);
+                    playing = true;
+                }
+            }
+        }
+
+        assertThat("Every game must be over.", games.stream().allMatch(MiniGame::isOver), is(true));
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.SplittableRandom;
+
+import com.coderanch.blackjack.Card.Rank;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests the {@link OutcomeEnumerator} class.
+ */
+@RunWith(Theories.class)
+public final class OutcomeEnumeratorTest {
+
+    /**
+     * Scores to pass on.
+     */
+    @DataPoints
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static final int[] PASS_SCORES = {12, 17, 20};
+
+    /**
+     * The number of distinct pairs of slots.
+     */
+    private static final int PAIRS = Composition.SLOT_COUNT * (Composition.SLOT_COUNT + 1) / 2;
+
+    /**
+     * The number of distinct two-card hands from a standard deck.
+     */
+    private static final long STARTING_HANDS = CardCodes.DECK_SIZE * (CardCodes.DECK_SIZE - 1) / 2;
+
+    /**
+     * The number of games to simulate when comparing against the simulator.
+     */
+    private static final long GAMES = 400_000L;
+
+    /**
+     * The largest difference from the simulator that is tolerated, which is many standard errors.
+     */
+    private static final double SIMULATION_TOLERANCE = 0.005;
+
+    /**
+     * The largest rounding error that is tolerated.
+     */
+    private static final double TOLERANCE = 1e-9;
+
+    /**
+     * Tests that the table covers every starting hand, and that the outcomes of every pair add up.
+     *
+     * @param passScore the score to pass on.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void enumerate_coversEveryStartingHand(int passScore) {
+        var outcomes = new OutcomeEnumerator(Strategy.passOn(passScore)).enumerate();
+
+        assertThat("Every pair of slots must be enumerated.", outcomes.size(), is(PAIRS));
+        assertThat(
+            "Every starting hand must be weighed.",
+            outcomes.stream().mapToLong(StartingHandOutcome::weight).sum(),
+            is(STARTING_HANDS)
+        );
+        for (var outcome : outcomes) {
+            assertThat(
+                "Every game must end.",
+                outcome.winProbability() + outcome.bustProbability() + outcome.passProbability(),
+                is(closeTo(1.0, TOLERANCE))
+            );
+            if (outcome.first() == Rank.ACE && outcome.second() == Rank.TEN) {
+                assertThat("Blackjack must win.", outcome.winProbability(), is(1.0));
+            }
+        }
+    }
+
+    /**
+     * Tests that the weighted table agrees with the simulator.
+     *
+     * @param passScore the score to pass on.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void enumerate_agreesWithSimulator(int passScore) {
+        var strategy = Strategy.passOn(passScore);
+        var outcomes = new OutcomeEnumerator(strategy).enumerate();
+        var statistics = new Simulator(strategy, RandomSource.of(new SplittableRandom(passScore))).run(GAMES);
+
+        var win = 0.0;
+        var bust = 0.0;
+        var score = 0.0;
+        for (var outcome : outcomes) {
+            var share = (double) outcome.weight() / STARTING_HANDS;
+            win += share * outcome.winProbability();
+            bust += share * outcome.bustProbability();
+            score += share * outcome.expectedFinalScore();
+        }
+
+        assertThat(
+            "Wins must agree.",
+            (double) statistics.wins() / GAMES,
+            is(closeTo(win, SIMULATION_TOLERANCE))
+        );
+        assertThat(
+            "Busts must agree.",
+            (double) statistics.busts() / GAMES,
+            is(closeTo(bust, SIMULATION_TOLERANCE))
+        );
+        assertThat(
+            "Final scores must agree.",
+            statistics.averageFinalScore(),
+            is(closeTo(score, SIMULATION_TOLERANCE * Hand.MAX_LEGAL_SCORE))
+        );
+    }
+}
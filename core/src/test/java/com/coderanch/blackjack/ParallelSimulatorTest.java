@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests the {@link ParallelSimulator} class.
+ */
+@RunWith(Theories.class)
+public final class ParallelSimulatorTest {
+
+    /**
+     * Numbers of games to simulate, including partial and empty blocks.
+     */
+    @DataPoints
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static final long[] GAMES = {
+        0L,
+        1L,
+        ParallelSimulator.BLOCK_SIZE,
+        ParallelSimulator.BLOCK_SIZE * 5L + 17L
+    };
+
+    /**
+     * The number of threads to simulate on.
+     */
+    private static final int THREADS = 4;
+
+    /**
+     * The master seed to simulate with.
+     */
+    private static final long MASTER_SEED = 20_181_031L;
+
+    /**
+     * The score to pass on.
+     */
+    private static final int PASS_SCORE = 17;
+
+    /**
+     * Tests that a parallel simulation records the same outcomes as a sequential one.
+     *
+     * @param games the number of games to simulate.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void run_onMultipleThreads_recordsSameOutcomesAsSequentially(long games) {
+        var simulator = new ParallelSimulator(Strategy.passOn(PASS_SCORE), MASTER_SEED);
+        var sequential = simulator.runSequentially(games);
+
+        var pool = new ForkJoinPool(THREADS);
+        try {
+            var parallel = simulator.run(games, pool);
+
+            assertThat("Every game must be recorded.", parallel.games(), is(games));
+            assertThat("Parallel outcomes must equal sequential ones.", parallel, is(equalTo(sequential)));
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Tests the {@link RandomStreams} class.
+ */
+@RunWith(Theories.class)
+public final class RandomStreamsTest {
+
+    /**
+     * Master seeds to derive streams from.
+     */
+    @DataPoints
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static final long[] MASTER_SEEDS = {0L, -1L, 20_181_031L};
+
+    /**
+     * The number of sessions to deal concurrently.
+     */
+    private static final int SESSIONS = 64;
+
+    /**
+     * The number of threads to deal sessions on.
+     */
+    private static final int THREADS = 4;
+
+    /**
+     * Deals a few cards from a session's stream.
+     *
+     * @param streams      the streams to take the session from.
+     * @param sessionIndex the index of the session.
+     * @return the codes of the dealt cards.
+     */
+    private static List<Integer> deal(RandomStreams streams, long sessionIndex) {
+        var deck = new LazyDeck(streams.session(sessionIndex));
+        return IntStream.range(0, CardCodes.SUIT_COUNT).mapToObj(i -> deck.drawCode()).collect(Collectors.toList());
+    }
+
+    /**
+     * Tests that a session can be replayed from its master seed and session index.
+     *
+     * @param masterSeed the master seed.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void session_withSameSeedAndIndex_dealsSameCards(long masterSeed) {
+        assertThat(
+            "Replaying a session must deal the same cards.",
+            deal(new RandomStreams(masterSeed), SESSIONS),
+            is(equalTo(deal(new RandomStreams(masterSeed), SESSIONS)))
+        );
+    }
+
+    /**
+     * Tests that different sessions and workers get different streams.
+     *
+     * @param masterSeed the master seed.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void session_withDifferentIndex_dealsDifferentCards(long masterSeed) {
+        var streams = new RandomStreams(masterSeed);
+
+        assertThat("Sessions must have different seeds.", streams.sessionSeed(0), is(not(streams.sessionSeed(1))));
+        assertThat("Sessions must deal different cards.", deal(streams, 0), is(not(equalTo(deal(streams, 1)))));
+        assertThat(
+            "Workers must have different master seeds.",
+            streams.worker(0).masterSeed(),
+            is(not(streams.worker(1).masterSeed()))
+        );
+    }
+
+    /**
+     * Tests that sessions dealt concurrently deal the same cards as sessions dealt sequentially.
+     *
+     * @param masterSeed the master seed.
+     * @throws Exception if a session could not be dealt.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void session_dealtConcurrently_dealsSameCardsAsSequentially(long masterSeed) throws Exception {
+        var streams = new RandomStreams(masterSeed);
+        var sequential = LongStream.range(0, SESSIONS)
+            .mapToObj(index -> deal(streams, index))
+            .collect(Collectors.toList());
+
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            var futures = new ArrayList<Future<List<Integer>>>();
+            for (var index = SESSIONS - 1; index >= 0; index--) {
+                long sessionIndex = index;
+                futures.add(0, executor.submit(() -> deal(streams, sessionIndex)));
+            }
+
+            var concurrent = new ArrayList<List<Integer>>();
+            for (var future : futures) {
+                concurrent.add(future.get());
+            }
+            assertThat("Concurrent sessions must deal like sequential ones.", concurrent, is(equalTo(sequential)));
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+}
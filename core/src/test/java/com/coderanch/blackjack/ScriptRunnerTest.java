@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Tests the {@link ScriptRunner} class.
+ */
+public class ScriptRunnerTest {
+
+    /**
+     * The number of games in a generated script.
+     */
+    private static final int GAMES = 500;
+
+    /**
+     * The score at or above which a generated game passes.
+     */
+    private static final int STAND_SCORE = 17;
+
+    /**
+     * Runs a script.
+     *
+     * @param script the records.
+     * @return the result lines.
+     */
+    private static String run(String script) throws IOException {
+        var results = new StringWriter();
+        new ScriptRunner().run(new BufferedReader(new StringReader(script)), results);
+        return results.toString();
+    }
+
+    /**
+     * Plays games directly, hitting until a score of {@value #STAND_SCORE}, and records them as a script.
+     *
+     * @param expected receives the expected result line of every game.
+     * @return the script.
+     */
+    private static String generate(StringBuilder expected) {
+        var script = new StringBuilder();
+        for (var seed = 0L; seed < GAMES; seed++) {
+            var game = new MiniGame(new LazyDeck(new RandomStreams(seed).session(0)));
+            game.start();
+            script.append(seed);
+            while (!game.isOver()) {
+                var choice = game.hand().bestScore() < STAND_SCORE ? MiniGame.Choice.HIT : MiniGame.Choice.PASS;
+                game.onDecision(choice);
+                script.append(' ').append(choice.name().toLowerCase());
+            }
+            script.append('\n');
+
+            expected.append(seed).append(' ').append(game.status()).append(' ').append(game.hand().bestScore());
+            var separator = ' ';
+            for (var card : game.hand().cards()) {
+                expected.append(separator)
+                        .append("A23456789TJQK".charAt(card.rank().ordinal()))
+                        .append("SHCD".charAt(card.suit().ordinal()));
+                separator = ',';
+            }
+            expected.append('\n');
+        }
+        return script.toString();
+    }
+
+    /**
+     * Replaying a recorded script yields the same results as playing the games directly.
+     */
+    @Test
+    public void testRunMatchesMiniGame() throws IOException {
+        var expected = new StringBuilder();
+        var script = generate(expected);
+
+        var results = new StringWriter();
+        var games = new ScriptRunner().run(new BufferedReader(new StringReader(script)), results);
+
+        assertThat("Must play every record.", games, is((long) GAMES));
+        assertThat("Must write the results of the games.", results.toString(), is(expected.toString()));
+    }
+
+    /**
+     * Blank lines and comments are skipped, and decisions ignore case.
+     */
+    @Test
+    public void testRunSkipsCommentsAndBlankLines() throws IOException {
+        var plain = run("1 hint PASS\n");
+        var commented = run("# seed decisions\n\n  \n1\tHint   pass  \n# done\n");
+
+        assertThat("Must only play the record.", commented, is(plain));
+        assertThat("Must pass the game.", plain, startsWith("1 PASSED "));
+    }
+
+    /**
+     * A game without decisions is still in progress.
+     */
+    @Test
+    public void testRunWithoutDecisions() throws IOException {
+        assertThat("Must leave the game in progress.", run("1\n"), startsWith("1 IN_PROGRESS "));
+    }
+
+    /**
+     * Runs of the same script write the same results.
+     */
+    @Test
+    public void testRunIsDeterministic() throws IOException {
+        var script = generate(new StringBuilder());
+
+        assertThat("Must replay the same games.", run(script), is(run(script)));
+    }
+
+    /**
+     * Invalid records are rejected, naming their line.
+     */
+    @Test
+    public void testRunRejectsInvalidRecords() {
+        var badSeed = assertThrows(IllegalArgumentException.class, () -> run("1 pass\nseven hit\n"));
+        var badDecision = assertThrows(IllegalArgumentException.class, () -> run("# comment\n1 stand\n"));
+        var tooLong = assertThrows(IllegalArgumentException.class, () -> run("1 pass hit\n"));
+
+        assertThat("Must name the line of the seed.", badSeed.getMessage(), startsWith("Line 2:"));
+        assertThat("Must name the line of the decision.", badDecision.getMessage(), startsWith("Line 2:"));
+        assertThat("Must reject decisions after the game.", tooLong.getMessage(), containsString("over"));
+    }
+
+    /**
+     * Null arguments are rejected.
+     */
+    @Test
+    public void testRunRejectsNull() {
+        var runner = new ScriptRunner();
+
+        assertThrows(IllegalArgumentException.class, () -> runner.run(null, new StringWriter()));
+        assertThrows(IllegalArgumentException.class,
+            () -> runner.run(new BufferedReader(new StringReader("")), null));
+    }
+}
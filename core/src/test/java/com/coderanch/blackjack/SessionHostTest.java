@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Tests the {@link SessionHost} class, including a load test with many idle sessions.
+ */
+public final class SessionHostTest {
+
+    /**
+     * The number of concurrent sessions in the load test.
+     */
+    private static final int SESSIONS = 10_000;
+
+    /**
+     * The most heap that an idle session may retain, in bytes.
+     */
+    private static final long MAX_SESSION_BYTES = 64 * 1024;
+
+    /**
+     * The master seed of the hosts.
+     */
+    private static final long MASTER_SEED = 20_181_031L;
+
+    /**
+     * The text a session shows when its game is over.
+     */
+    private static final String GAME_OVER = "Game over.";
+
+    /**
+     * Reads from a stream until it has displayed a prompt, or the game is over.
+     *
+     * @param stream the stream to read from.
+     * @return the text that was read.
+     * @throws IOException if the stream could not be read.
+     */
+    private static String readUntilPromptOrGameOver(InputStream stream) throws IOException {
+        var text = new StringBuilder();
+        while (text.indexOf(MiniGame.PROMPT) < 0 && text.indexOf(GAME_OVER) < 0) {
+            var value = stream.read();
+            if (value < 0) {
+                break;
+            }
+            text.append((char) value);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Sends a line of text to a session.
+     *
+     * @param stream the stream to send the text to.
+     * @param line   the text to send.
+     * @throws IOException if the stream could not be written.
+     */
+    private static void send(OutputStream stream, String line) throws IOException {
+        stream.write((line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Gets the number of bytes of heap that are in use after a garbage collection.
+     *
+     * @return the number of used bytes.
+     */
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Plays a single session that passes right away.
+     *
+     * @param sessionIndex the index of the session to play.
+     * @return everything the session displayed.
+     * @throws IOException if the session could not be played.
+     */
+    private static String playPassingSession(int sessionIndex) throws IOException {
+        try (var host = new SessionHost(MASTER_SEED)) {
+            for (var i = 0; i < sessionIndex; i++) {
+                host.start(InputStream.nullInputStream(), OutputStream.nullOutputStream());
+            }
+
+            var input = new MemoryPipe();
+            var output = new MemoryPipe();
+            host.start(input.source(), output.sink());
+            send(input.sink(), "pass");
+            input.sink().close();
+            return new String(output.source().readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Tests that a session can be replayed from the master seed of its host and its session index.
+     *
+     * @throws IOException if a session could not be played.
+     */
+    @Test
+    @SuppressWarnings({"checkstyle:methodname", "checkstyle:magicnumber"})
+    public void start_withSameSessionIndex_dealsSameCards() throws IOException {
+        assertThat("A session must be replayable.", playPassingSession(3), is(equalTo(playPassingSession(3))));
+    }
+
+    /**
+     * Tests that many idle sessions can wait for decisions at the same time, in a bounded amount of heap,
+     * and that all of them finish once they receive their decisions.
+     *
+     * @throws IOException if a session could not be played.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:methodname")
+    public void start_withManyIdleSessions_holdsAllSessionsInBoundedHeap() throws IOException {
+        var heapBefore = usedHeapAfterGc();
+        var inputs = new ArrayList<MemoryPipe>();
+        var outputs = new ArrayList<MemoryPipe>();
+        var host = new SessionHost(MASTER_SEED);
+
+        int waiting;
+        int activeSessions;
+        long bytesPerSession;
+        try {
+            for (var i = 0; i < SESSIONS; i++) {
+                inputs.add(new MemoryPipe());
+                outputs.add(new MemoryPipe());
+                host.start(inputs.get(i).source(), outputs.get(i).sink());
+            }
+
+            waiting = 0;
+            for (var i = 0; i < SESSIONS; i++) {
+                if (readUntilPromptOrGameOver(outputs.get(i).source()).contains(MiniGame.PROMPT)) {
+                    waiting++;
+                }
+                else {
+                    inputs.set(i, null);
+                }
+            }
+            activeSessions = host.activeSessions();
+            bytesPerSession = (usedHeapAfterGc() - heapBefore) / SESSIONS;
+
+            for (var input : inputs) {
+                if (input != null) {
+                    send(input.sink(), "pass");
+                }
+            }
+        }
+        finally {
+            for (var input : inputs) {
+                if (input != null) {
+                    input.sink().close();
+                }
+            }
+            host.close();
+        }
+
+        assertThat("Every waiting session must be active.", activeSessions, is(waiting));
+        assertThat("Idle sessions must fit in a bounded heap.", bytesPerSession, is(lessThan(MAX_SESSION_BYTES)));
+        assertThat("Every session must complete.", host.completedSessions(), is((long) SESSIONS));
+    }
+
+    /**
+     * Tests that the host counts the sessions that finish and that fail.
+     *
+     * @throws IOException if a session could not be played.
+     */
+    @Test
+    @SuppressWarnings("checkstyle:methodname")
+    public void close_afterSessionsEnd_countsCompletedAndFailedSessions() throws IOException {
+        var host = new SessionHost(MASTER_SEED);
+        var passing = new MemoryPipe();
+        var disconnecting = new MemoryPipe();
+        var sink = new MemoryPipe();
+        var disconnectingSink = new MemoryPipe();
+
+        host.start(passing.source(), sink.sink());
+        host.start(disconnecting.source(), disconnectingSink.sink());
+        var disconnectingOutput = readUntilPromptOrGameOver(disconnectingSink.source());
+        send(passing.sink(), "pass");
+        passing.sink().close();
+        disconnecting.sink().close();
+        host.close();
+
+        assertThat(
+            "The disconnecting player must be asked to decide.",
+            disconnectingOutput,
+            containsString(MiniGame.PROMPT)
+        );
+        assertThat("No sessions may be active.", host.activeSessions(), is(0));
+        assertThat("Disconnected sessions must fail.", host.failedSessions(), is(1L));
+        assertThat("Other sessions must complete.", host.completedSessions(), is(1L));
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Tests the {@link SessionStore} class.
+ */
+@RunWith(Theories.class)
+public final class SessionStoreTest {
+
+    /**
+     * The time to live of the stores under test, in nanoseconds.
+     */
+    private static final long TIME_TO_LIVE_NANOS = 1_000L;
+
+    /**
+     * The maximum number of games in the stores under test.
+     */
+    private static final int MAX_SESSIONS = 4;
+
+    /**
+     * The number of games that every thread adds in the concurrent test.
+     */
+    private static final int GAMES_PER_THREAD = 10_000;
+
+    /**
+     * The time of the fake clock, in nanoseconds.
+     */
+    private long now;
+
+    /**
+     * Creates a new game.
+     *
+     * @return a game that hasn't started.
+     */
+    private static MiniGame newGame() {
+        return new MiniGame(new LazyDeck(RandomSource.of(new SplittableRandom(0L))));
+    }
+
+    /**
+     * Creates a new store that reads the fake clock.
+     *
+     * @return an empty store.
+     */
+    private SessionStore newStore() {
+        return new SessionStore(MAX_SESSIONS, Duration.ofNanos(TIME_TO_LIVE_NANOS), () -> now);
+    }
+
+    /**
+     * Tests that a game expires once it hasn't been accessed for the time to live, and that accessing it
+     * postpones its expiry.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void get_afterTimeToLive_returnsNull() {
+        var store = newStore();
+        var game = newGame();
+        store.add(0L, game);
+
+        now += TIME_TO_LIVE_NANOS - 1;
+        assertThat("A game must live until its time to live.", store.get(0L), is(sameInstance(game)));
+
+        now += TIME_TO_LIVE_NANOS - 1;
+        assertThat("Accessing a game must postpone its expiry.", store.get(0L), is(sameInstance(game)));
+
+        now += TIME_TO_LIVE_NANOS;
+        assertThat("An expired game must not be returned.", store.get(0L), is(nullValue()));
+        assertThat("An expired game must be removed.", store.size(), is(0));
+        assertThat("The expiry must be counted.", store.expirations(), is(1L));
+    }
+
+    /**
+     * Tests that expired games are evicted in bulk, and that other games are kept.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void evictExpired_withSomeExpiredGames_removesOnlyExpiredGames() {
+        var store = newStore();
+        store.add(0L, newGame());
+        store.add(1L, newGame());
+        now += TIME_TO_LIVE_NANOS / 2;
+        store.add(2L, newGame());
+
+        now += TIME_TO_LIVE_NANOS / 2;
+        assertThat("Two games must be evicted.", store.evictExpired(), is(2));
+        assertThat("The younger game must be kept.", store.size(), is(1));
+        assertThat("The evictions must be counted.", store.expirations(), is(2L));
+    }
+
+    /**
+     * Tests that the oldest games are evicted when the store is full.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void add_toFullStore_evictsOldestGames() {
+        var store = newStore();
+        for (var i = 0L; i < MAX_SESSIONS + 2; i++) {
+            store.add(i, newGame());
+        }
+
+        assertThat("The store must stay within its bound.", store.size(), is(MAX_SESSIONS));
+        assertThat("The oldest game must be evicted.", store.get(0L), is(nullValue()));
+        assertThat("The second oldest game must be evicted.", store.get(1L), is(nullValue()));
+        assertThat("The newest game must be kept.", store.get(MAX_SESSIONS + 1L), is(notNullValue()));
+        assertThat("The evictions must be counted.", store.overflows(), is(2L));
+    }
+
+    /**
+     * Tests that games added concurrently to a full store evict exactly as many games as were added.
+     *
+     * @throws Exception if a thread failed to add its games.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void add_concurrentlyToFullStore_evictsOneGamePerAddedGame() throws Exception {
+        var store = newStore();
+        var threads = Runtime.getRuntime().availableProcessors() + 1;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var start = new CountDownLatch(1);
+            var adders = new ArrayList<Future<?>>();
+            for (var thread = 0; thread < threads; thread++) {
+                var firstIndex = (long) thread * GAMES_PER_THREAD;
+                adders.add(executor.submit(() -> {
+                    start.await();
+                    for (var i = 0L; i < GAMES_PER_THREAD; i++) {
+                        store.add(firstIndex + i, newGame());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (var adder : adders) {
+                adder.get();
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        assertThat("The store must be exactly full.", store.size(), is(MAX_SESSIONS));
+        assertThat(
+            "Every game beyond the bound must be evicted once.",
+            store.overflows(),
+            is((long) threads * GAMES_PER_THREAD - MAX_SESSIONS)
+        );
+    }
+
+    /**
+     * Tests that a session can only be added once, and that invalid arguments cause an exception to be thrown.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void add_withInvalidArguments_throwsException() {
+        var store = newStore();
+        store.add(0L, newGame());
+
+        assertThrows("A session may only be added once.", IllegalStateException.class, () -> {
+            store.add(0L, newGame());
+        });
+        assertThrows("The game may not be null.", IllegalArgumentException.class, () -> {
+            store.add(1L, null);
+        });
+        assertThrows("The store must hold at least one game.", IllegalArgumentException.class, () -> {
+            new SessionStore(0, Duration.ofSeconds(1L));
+        });
+        assertThrows("The time to live must be positive.", IllegalArgumentException.class, () -> {
+            new SessionStore(1, Duration.ZERO);
+        });
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.*;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static com.coderanch.blackjack.DeckAssertions.assertDealsEveryCardOncePerDeck;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import static org.junit.Assert.assertThrows;
+
+/**
+ * Tests the {@link Shoe} class.
+ */
+@RunWith(Theories.class)
+public final class ShoeTest {
+
+    /**
+     * Numbers of decks to build shoes with.
+     */
+    @DataPoints
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static final int[] NUMBERS_OF_DECKS = {1, 2, 6, 8};
+
+    /**
+     * Tests that dealing an entire shoe deals every card once for every deck in the shoe.
+     *
+     * @param numberOfDecks the number of decks in the shoe.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void drawCode_untilCutCard_dealsEveryCardOncePerDeck(int numberOfDecks) {
+        var shoe = new Shoe(numberOfDecks, 1.0, RandomSource.of(new SplittableRandom(numberOfDecks)));
+
+        assertDealsEveryCardOncePerDeck(shoe::drawCode, shoe.size(), numberOfDecks);
+        assertThat("The cut card must have been reached.", shoe.isCutCardReached(), is(true));
+    }
+
+    /**
+     * Tests that the shoe is reshuffled once the cut card is reached.
+     *
+     * @param numberOfDecks the number of decks in the shoe.
+     */
+    @Theory
+    @SuppressWarnings({"checkstyle:methodname", "checkstyle:magicnumber"})
+    public void drawCode_atCutCard_reshufflesShoe(int numberOfDecks) {
+        var shoe = new Shoe(numberOfDecks, 0.5, RandomSource.of(new SplittableRandom(numberOfDecks)));
+        var cardsBeforeCut = shoe.remaining();
+
+        assertThat("The cut card must be placed at the penetration.", cardsBeforeCut, is(shoe.size() / 2));
+
+        for (var i = 0; i < cardsBeforeCut; i++) {
+            shoe.draw();
+        }
+        assertThat("The cut card must have been reached.", shoe.isCutCardReached(), is(true));
+
+        shoe.draw();
+        assertThat("The shoe must have been reshuffled.", shoe.remaining(), is(cardsBeforeCut - 1));
+    }
+
+    /**
+     * Tests that a shoe counts the cards it hasn't dealt, including the cards behind the cut card,
+     * and all of its cards once the cut card has been reached.
+     *
+     * @param numberOfDecks the number of decks in the shoe.
+     */
+    @Theory
+    @SuppressWarnings({"checkstyle:methodname", "checkstyle:magicnumber"})
+    public void countUndealt_afterDealing_countsCardsLeftInShoe(int numberOfDecks) {
+        var shoe = new Shoe(numberOfDecks, 0.5, RandomSource.of(new SplittableRandom(numberOfDecks)));
+        var expected = new int[CardCodes.RANK_COUNT];
+        Arrays.fill(expected, CardCodes.SUIT_COUNT * numberOfDecks);
+        var actual = new int[CardCodes.RANK_COUNT];
+
+        while (!shoe.isCutCardReached()) {
+            expected[CardCodes.rankOrdinal(shoe.drawCode())]--;
+            assertThat("The shoe must know which cards it holds.", shoe.countUndealt(actual), is(true));
+            if (!shoe.isCutCardReached()) {
+                assertThat("The undealt cards must be counted.", actual, is(expected));
+            }
+        }
+
+        Arrays.fill(expected, CardCodes.SUIT_COUNT * numberOfDecks);
+        assertThat("The shoe must know which cards it holds.", shoe.countUndealt(actual), is(true));
+        assertThat("A shoe that will be reshuffled must count all cards.", actual, is(expected));
+    }
+
+    /**
+     * Tests that constructing a shoe with invalid arguments causes an exception to be thrown.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void newShoe_withInvalidArguments_throwsException() {
+        var generator = RandomSource.of(new SplittableRandom());
+
+        assertThrows("A shoe must hold at least one deck.", IllegalArgumentException.class, () -> {
+            new Shoe(0, 1.0, generator);
+        });
+        assertThrows("The penetration must be positive.", IllegalArgumentException.class, () -> {
+            new Shoe(1, 0.0, generator);
+        });
+        assertThrows("The penetration may not exceed 1.", IllegalArgumentException.class, () -> {
+            new Shoe(1, 2.0, generator);
+        });
+        assertThrows("The generator may not be null.", IllegalArgumentException.class, () -> {
+            new Shoe(1, 1.0, null);
+        });
+    }
+}
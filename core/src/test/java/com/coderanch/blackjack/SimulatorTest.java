@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2018 Coderanch.
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.coderanch.blackjack;
+
+import java.util.SplittableRandom;
+
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Tests the {@link Simulator} class.
+ */
+@RunWith(Theories.class)
+public final class SimulatorTest {
+
+    /**
+     * Seeds to simulate with.
+     */
+    @DataPoints
+    @SuppressWarnings("checkstyle:magicnumber")
+    public static final long[] SEEDS = {0L, 1L, 8_675_309L};
+
+    /**
+     * The number of games to simulate.
+     */
+    private static final long GAMES = 10_000L;
+
+    /**
+     * Creates a simulator.
+     *
+     * @param strategy the strategy to simulate.
+     * @param seed     the seed of the random number generator.
+     * @return a new simulator.
+     */
+    private static Simulator simulator(Strategy strategy, long seed) {
+        return new Simulator(strategy, RandomSource.of(new SplittableRandom(seed)));
+    }
+
+    /**
+     * Tests that every game is recorded with exactly one outcome.
+     *
+     * @param seed the seed of the random number generator.
+     */
+    @Theory
+    @SuppressWarnings({"checkstyle:methodname", "checkstyle:magicnumber"})
+    public void run_withAnyStrategy_recordsEveryGame(long seed) {
+        var statistics = simulator(Strategy.passOn(17), seed).run(GAMES);
+
+        assertThat("Every game must be recorded.", statistics.games(), is(GAMES));
+        assertThat(
+            "Every game must be won, lost or passed.",
+            statistics.wins() + statistics.losses() + statistics.passes(),
+            is(GAMES)
+        );
+        assertThat("Losses must be busts.", statistics.losses(), is(statistics.busts()));
+        assertThat(
+            "The average final score must be a valid score.",
+            statistics.averageFinalScore(),
+            is(both(greaterThan(17.0)).and(lessThan(26.0)))
+        );
+    }
+
+    /**
+     * Tests that a player who never hits only wins with a natural blackjack, and never goes bust.
+     *
+     * @param seed the seed of the random number generator.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void run_withPlayerWhoNeverHits_neverGoesBust(long seed) {
+        var statistics = simulator(handState -> false, seed).run(GAMES);
+
+        assertThat("A player who never hits can't go bust.", statistics.busts(), is(0L));
+        assertThat("Some games must start with blackjack.", statistics.wins(), is(greaterThan(0L)));
+        assertThat("Most games must be passed.", statistics.passes(), is(greaterThan(statistics.wins())));
+    }
+
+    /**
+     * Tests that a player who always hits never passes.
+     *
+     * @param seed the seed of the random number generator.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void run_withPlayerWhoAlwaysHits_neverPasses(long seed) {
+        var statistics = simulator(handState -> true, seed).run(GAMES);
+
+        assertThat("A player who always hits can't pass.", statistics.passes(), is(0L));
+        assertThat("Most games must go bust.", statistics.busts(), is(greaterThan(statistics.wins())));
+    }
+
+    /**
+     * Tests that a simulation can be reproduced from its seed.
+     *
+     * @param seed the seed of the random number generator.
+     */
+    @Theory
+    @SuppressWarnings({"checkstyle:methodname", "checkstyle:magicnumber"})
+    public void run_withSameSeed_recordsSameOutcomes(long seed) {
+        var first = simulator(Strategy.passOn(15), seed).run(GAMES);
+        var second = simulator(Strategy.passOn(15), seed).run(GAMES);
+
+        assertThat("Simulations must be reproducible.", first.toString(), is(equalTo(second.toString())));
+    }
+}
@@ -40,6 +40,11 @@ public final class InputUtility implements Closeable {
      */
     private final BufferedReader reader;
 
+    /**
+     * The writer to display prompts with.
+     */
+    private final PrintWriter promptWriter;
+
     /**
      * Constructs a new input utility that reads from {@link System#in} using the UTF-8 encoding.
      * Data from the underlying stream will be buffered.
@@ -54,32 +59,75 @@ public final class InputUtility implements Closeable {
      * Data from the underlying stream will be buffered.
      * Do not use the same stream in a different utility.
      *
+     * Prompts will be displayed on {@link System#out}.
+     *
      * @param inputStream input stream to be used.
      * @param charset     charset to be used.
      */
     public InputUtility(InputStream inputStream, Charset charset) {
+        this(inputStream, charset, new PrintWriter(System.out, true));
+    }
+
+    /**
+     * Constructor that takes an input stream to be used, and a writer to display prompts with.
+     * Data from the underlying stream will be buffered.
+     * Do not use the same stream in a different utility.
+     * Closing the utility does not close the prompt writer.
+     *
+     * @param inputStream  input stream to be used.
+     * @param charset      charset to be used.
+     * @param promptWriter writer to display prompts with. Is flushed after every prompt.
+     */
+    public InputUtility(InputStream inputStream, Charset charset, PrintWriter promptWriter) {
         requireThat("inputStream", inputStream, is(notNullValue()));
         requireThat("charset", charset, is(notNullValue()));
+        this.promptWriter = requireThat("promptWriter", promptWriter, is(notNullValue()));
         reader = new BufferedReader(new InputStreamReader(inputStream, charset));
     }
 
+    /**
+     * Reads the next line of user input.
+     *
+     * @return the next line, without line terminators.
+     * @throws EOFException if the end of the underlying stream was reached.
+     * @throws IOException  if there's a problem while reading from the underlying stream.
+     */
+    private String readLine() throws IOException {
+        var line = reader.readLine();
+        if (line == null) {
+            throw new EOFException("The end of the input stream was reached.");
+        }
+        return line;
+    }
+
+    /**
+     * Displays a line of text to the user.
+     *
+     * @param text the text to display.
+     */
+    private void display(String text) {
+        promptWriter.println(text);
+        promptWriter.flush();
+    }
+
     /**
      * Displays the prompt and reads the input stream, returning a validated String.
      *
      * @param prompt          the prompt to display to the user.
      * @param stringPredicate the predicate to use for validation.
      * @return a string that's valid according to {@code stringPredicate}.
-     * @throws IOException if there's a problem while reading from the underlying stream.
+     * @throws EOFException if the end of the underlying stream was reached before a valid string was read.
+     * @throws IOException  if there's a problem while reading from the underlying stream.
      */
     public String nextString(String prompt, Predicate<? super String> stringPredicate) throws IOException {
-        System.out.println(prompt);
+        display(prompt);
         String line;
         for (
-            line = reader.readLine();
+            line = readLine();
             !stringPredicate.test(line);
-            line = reader.readLine()
+            line = readLine()
         ) {
-            System.out.println("Invalid input.");
+            display("Invalid input.");
         }
         return line;
     }
@@ -90,18 +138,19 @@ public final class InputUtility implements Closeable {
      * @param prompt       the prompt to display to the user.
      * @param intPredicate the predicate to use for validation.
      * @return an integer that's valid according to {@code intPredicate}.
-     * @throws IOException if there's a problem while reading from the underlying stream.
+     * @throws EOFException if the end of the underlying stream was reached before a valid integer was read.
+     * @throws IOException  if there's a problem while reading from the underlying stream.
      */
     public int nextInt(String prompt, IntPredicate intPredicate) throws IOException {
-        System.out.println(prompt);
+        display(prompt);
         String line;
         OptionalInt num;
         for (
-            line = reader.readLine(), num = tryIntParse(line, intPredicate);
+            line = readLine(), num = tryIntParse(line, intPredicate);
             num.isEmpty();
-            line = reader.readLine(), num = tryIntParse(line, intPredicate)
+            line = readLine(), num = tryIntParse(line, intPredicate)
         ) {
-            System.out.println("Invalid input.");
+            display("Invalid input.");
         }
         return num.getAsInt();
     }
@@ -130,18 +179,19 @@ public final class InputUtility implements Closeable {
      * @param prompt          the prompt to display to the user.
      * @param doublePredicate the predicate to use for validation.
      * @return a validated floating point number.
-     * @throws IOException if there's a problem while reading from the underlying stream.
+     * @throws EOFException if the end of the underlying stream was reached before a valid number was read.
+     * @throws IOException  if there's a problem while reading from the underlying stream.
      */
     public double nextDouble(String prompt, DoublePredicate doublePredicate) throws IOException {
-        System.out.println(prompt);
+        display(prompt);
         String line;
         OptionalDouble num;
         for (
-            line = reader.readLine(), num = tryDoubleParse(line, doublePredicate);
+            line = readLine(), num = tryDoubleParse(line, doublePredicate);
             num.isEmpty();
-            line = reader.readLine(), num = tryDoubleParse(line, doublePredicate)
+            line = readLine(), num = tryDoubleParse(line, doublePredicate)
         ) {
-            System.out.println("Invalid input.");
+            display("Invalid input.");
         }
         return num.getAsDouble();
     }
@@ -18,6 +18,9 @@ import org.junit.runner.RunWith;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+import static org.junit.Assert.assertThrows;
 
 /**
  * Tests the {@link InputUtility} class.
@@ -64,6 +67,40 @@ public class InputUtilityTest {
         });
     }
 
+    /**
+     * Tests that {@link InputUtility#nextString(String, Predicate)} displays prompts on the given prompt writer.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void nextString_withPromptWriter_displaysPromptsOnWriter() throws IOException {
+        var input = "invalid" + System.lineSeparator() + "input";
+        var prompts = new StringWriter();
+        try (
+            var stream = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+            var inputUtility = new InputUtility(stream, StandardCharsets.UTF_8, new PrintWriter(prompts));
+        ) {
+            inputUtility.nextString("prompt", "input"::equals);
+        }
+
+        var expected = "prompt" + System.lineSeparator() + "Invalid input." + System.lineSeparator();
+        assertThat("Prompts must be displayed on the prompt writer.", prompts.toString(), is(expected));
+    }
+
+    /**
+     * Tests that {@link InputUtility#nextString(String, Predicate)} fails when the input ends without a valid string.
+     */
+    @Theory
+    @SuppressWarnings("checkstyle:methodname")
+    public void nextString_atEndOfInput_throwsEofException() throws IOException {
+        withInput("invalid", inputUtility -> {
+            var exception = assertThrows(
+                "Reading past the end of the input must fail.",
+                EOFException.class,
+                () -> inputUtility.nextString("prompt", "input"::equals));
+            assertThat("The exception must have a message.", exception.getMessage(), is(notNullValue()));
+        });
+    }
+
     /**
      * Tests that {@link InputUtility#nextInt(String, Predicate)} returns the expected value.
      */